@@ -1,13 +1,19 @@
 package academy.devdojo;
 
+import academy.devdojo.config.AdmissionControlConfigurationProperties;
 import academy.devdojo.config.ConnectionConfigurationProperties;
+import academy.devdojo.config.IdGeneratorConfigurationProperties;
+import academy.devdojo.config.LookupCacheConfigurationProperties;
+import academy.devdojo.config.RequestLoggingConfigurationProperties;
+import academy.devdojo.config.WalConfigurationProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
 @SpringBootApplication
-
-@EnableConfigurationProperties({ConnectionConfigurationProperties.class})
+@EnableConfigurationProperties({AdmissionControlConfigurationProperties.class, ConnectionConfigurationProperties.class,
+        IdGeneratorConfigurationProperties.class, LookupCacheConfigurationProperties.class,
+        RequestLoggingConfigurationProperties.class, WalConfigurationProperties.class})
 public class AnimeServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(AnimeServiceApplication.class, args);
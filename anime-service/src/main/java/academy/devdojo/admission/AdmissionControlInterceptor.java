@@ -0,0 +1,76 @@
+package academy.devdojo.admission;
+
+import academy.devdojo.config.AdmissionControlConfigurationProperties;
+import academy.devdojo.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Admits at most the current {@link GradientLimit} of concurrent requests per handler method and turns the rest away
+ * at once with a {@link ServiceOverloadedException}, rather than letting them queue on the stores.
+ * <p>
+ * A request holds its permit until its last dispatch completes, so streamed responses count for as long as they
+ * stream. Per endpoint it publishes {@value #LIMIT_GAUGE}, {@value #INFLIGHT_GAUGE} and {@value #REJECTED_COUNTER},
+ * tagged with {@code endpoint=<Controller>.<method>}.
+ */
+@RequiredArgsConstructor
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+    public static final String LIMIT_GAUGE = "admission.limit";
+    public static final String INFLIGHT_GAUGE = "admission.inflight";
+    public static final String REJECTED_COUNTER = "admission.rejected";
+    private static final String PERMIT_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".permit";
+
+    private final AdmissionControlConfigurationProperties configurationProperties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Map<Method, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod) || request.getAttribute(PERMIT_ATTRIBUTE) != null) return true;
+
+        var endpoint = endpoints.computeIfAbsent(handlerMethod.getMethod(), method -> newEndpoint(handlerMethod));
+        if (!endpoint.limiter().tryAcquire()) {
+            if (endpoint.rejections() != null) endpoint.rejections().increment();
+            throw new ServiceOverloadedException(configurationProperties.retryAfter());
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, new Permit(endpoint.limiter(), System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(PERMIT_ATTRIBUTE) instanceof Permit permit)) return;
+        request.removeAttribute(PERMIT_ATTRIBUTE);
+        permit.limiter().release(System.nanoTime() - permit.startedAt(), ex == null);
+    }
+
+    private Endpoint newEndpoint(HandlerMethod handlerMethod) {
+        var limiter = new EndpointLimiter(new GradientLimit(configurationProperties.initialLimit(),
+                configurationProperties.minLimit(), configurationProperties.maxLimit(),
+                configurationProperties.tolerance(), configurationProperties.smoothing()));
+        var registry = meterRegistry.getIfAvailable();
+        if (registry == null) return new Endpoint(limiter, null);
+
+        var name = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        Gauge.builder(LIMIT_GAUGE, limiter, EndpointLimiter::limit).tag("endpoint", name).register(registry);
+        Gauge.builder(INFLIGHT_GAUGE, limiter, EndpointLimiter::inflight).tag("endpoint", name).register(registry);
+        return new Endpoint(limiter, Counter.builder(REJECTED_COUNTER).tag("endpoint", name).register(registry));
+    }
+
+    private record Endpoint(EndpointLimiter limiter, Counter rejections) {
+    }
+
+    private record Permit(EndpointLimiter limiter, long startedAt) {
+    }
+}
@@ -0,0 +1,36 @@
+package academy.devdojo.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+class EndpointLimiter {
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final GradientLimit limit;
+
+    EndpointLimiter(GradientLimit limit) {
+        this.limit = limit;
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            var current = inflight.get();
+            if (current >= limit.limit()) return false;
+            if (inflight.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+    /**
+     * Only requests that completed normally feed the limit; failures would teach it the latency of the failure path.
+     */
+    void release(long rttNanos, boolean completed) {
+        if (completed) limit.onSample(rttNanos, inflight.get());
+        inflight.decrementAndGet();
+    }
+
+    int inflight() {
+        return inflight.get();
+    }
+
+    int limit() {
+        return limit.limit();
+    }
+}
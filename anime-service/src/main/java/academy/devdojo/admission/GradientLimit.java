@@ -0,0 +1,64 @@
+package academy.devdojo.admission;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A concurrency limit that follows latency, after the gradient algorithm of Netflix's concurrency-limits.
+ * <p>
+ * Each sample compares a request's round trip with a slow moving average of past round trips. While requests take
+ * no longer than {@code tolerance} times that average, the limit grows by a queue allowance of {@code sqrt(limit)};
+ * beyond it the limit shrinks in proportion, by at most half per sample before smoothing. Every sample applies the
+ * gradient, but those taken while less than half the limit is in use leave out the queue allowance, so an idle
+ * endpoint does not grow its limit yet still backs off when it slows down. The average is pulled down when latency
+ * has dropped for good so an old spike does not keep the limit high.
+ * <p>
+ * Samples are folded into an immutable {@link State} swapped in by compare-and-set, so callers never block each
+ * other; a sample that loses the race is recomputed against the state that won.
+ */
+class GradientLimit {
+    private static final int WARMUP_SAMPLES = 10;
+    private static final double LONG_WINDOW_ALPHA = 2.0 / (600 + 1);
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final AtomicReference<State> state;
+
+    GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.state = new AtomicReference<>(new State(initialLimit, 0, 0));
+    }
+
+    int limit() {
+        return (int) state.get().estimatedLimit();
+    }
+
+    void onSample(long rttNanos, int inflight) {
+        var rtt = Math.max(1, rttNanos);
+        while (true) {
+            var current = state.get();
+            if (state.compareAndSet(current, next(current, rtt, inflight))) return;
+        }
+    }
+
+    private State next(State current, long rtt, int inflight) {
+        var samples = current.samples() + 1;
+        var window = samples <= WARMUP_SAMPLES ? samples : 1 / LONG_WINDOW_ALPHA;
+        var longRtt = current.longRtt() + (rtt - current.longRtt()) / window;
+        if (longRtt / rtt > 2) longRtt *= 0.95;
+
+        var estimatedLimit = current.estimatedLimit();
+        var gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / rtt));
+        var queueSize = inflight < estimatedLimit / 2 ? 0 : Math.sqrt(estimatedLimit);
+        var newLimit = estimatedLimit * gradient + queueSize;
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        return new State(Math.max(minLimit, Math.min(maxLimit, newLimit)), longRtt, samples);
+    }
+
+    private record State(double estimatedLimit, double longRtt, long samples) {
+    }
+}
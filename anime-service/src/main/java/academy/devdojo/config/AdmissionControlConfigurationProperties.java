@@ -0,0 +1,15 @@
+package academy.devdojo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Each endpoint starts at {@code initialLimit} concurrent requests and moves between {@code minLimit} and
+ * {@code maxLimit}. The limit shrinks once requests take longer than {@code tolerance} times their usual latency,
+ * and each sample moves it by {@code smoothing} of the computed change.
+ */
+@ConfigurationProperties(prefix = "admission-control")
+public record AdmissionControlConfigurationProperties(boolean enabled, int initialLimit, int minLimit, int maxLimit,
+                                                      double tolerance, double smoothing, Duration retryAfter) {
+}
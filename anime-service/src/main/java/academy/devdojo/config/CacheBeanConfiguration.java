@@ -0,0 +1,25 @@
+package academy.devdojo.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching(proxyTargetClass = true)
+@RequiredArgsConstructor
+public class CacheBeanConfiguration {
+    public static final String ANIMES_CACHE = "animes";
+    public static final String PRODUCERS_CACHE = "producers";
+
+    private final LookupCacheConfigurationProperties configurationProperties;
+
+    @Bean
+    public Caffeine<Object, Object> caffeine() {
+        return Caffeine.newBuilder()
+                .maximumSize(configurationProperties.maximumSize())
+                .expireAfter(new LookupCacheExpiry(configurationProperties.ttl(), configurationProperties.notFoundTtl()))
+                .recordStats();
+    }
+}
@@ -1,24 +1,45 @@
 package academy.devdojo.config;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 
+import java.time.Duration;
+import java.util.stream.Stream;
+
+/**
+ * Each JDBC bean is a Hikari pool; Spring Boot binds its gauges and the {@value #ACQUIRE_TIMER} timer to the meter
+ * registry, tagged with {@code pool=<name>}. The primary pool is the application's {@code DataSource} and only exists
+ * under the {@code jdbc} profile; the in-memory repositories never open a connection.
+ */
 @Configuration
 @RequiredArgsConstructor
 public class ConnectionBeanConfiguration {
+    public static final String ACQUIRE_TIMER = "hikaricp.connections.acquire";
+    public static final double[] ACQUIRE_PERCENTILES = {0.5, 0.95, 0.99};
+    public static final Duration[] ACQUIRE_BUCKETS = Stream.of(1, 5, 10, 50, 100, 500, 1000)
+            .map(Duration::ofMillis)
+            .toArray(Duration[]::new);
+
     private final ConnectionConfigurationProperties configurationProperties;
 
     @Bean
     @Primary
-    public Connection connectionMySql() {
-        return new Connection(configurationProperties.url(),
-                configurationProperties.username(),
-                configurationProperties.password());
+    @Profile("jdbc")
+    public HikariDataSource connectionMySql() {
+        return newPool("mysql");
     }
 
+    /**
+     * MongoDB is not a JDBC data source, so it gets the plain connection settings rather than a Hikari pool.
+     */
     @Bean
     @Profile("mongo")
     public Connection connectionMongoDB() {
@@ -26,4 +47,36 @@ public class ConnectionBeanConfiguration {
                 configurationProperties.username(),
                 configurationProperties.password());
     }
+
+    @Bean
+    public static MeterFilter connectionAcquireDistribution() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!ACQUIRE_TIMER.equals(id.getName())) return config;
+                return DistributionStatisticConfig.builder()
+                        .percentiles(ACQUIRE_PERCENTILES)
+                        .serviceLevelObjectives(Stream.of(ACQUIRE_BUCKETS).mapToDouble(Duration::toNanos).toArray())
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+
+    private HikariDataSource newPool(String name) {
+        var pool = configurationProperties.pool();
+        var hikariConfig = new HikariConfig();
+        hikariConfig.setPoolName(name);
+        hikariConfig.setJdbcUrl(configurationProperties.url());
+        hikariConfig.setUsername(configurationProperties.username());
+        hikariConfig.setPassword(configurationProperties.password());
+        hikariConfig.setMinimumIdle(pool.minimumIdle());
+        hikariConfig.setMaximumPoolSize(pool.maximumSize());
+        hikariConfig.setConnectionTimeout(pool.acquisitionTimeout().toMillis());
+        hikariConfig.setIdleTimeout(pool.idleTimeout().toMillis());
+        if (configurationProperties.dataSourceProperties() != null) {
+            configurationProperties.dataSourceProperties().forEach(hikariConfig::addDataSourceProperty);
+        }
+        return new HikariDataSource(hikariConfig);
+    }
 }
@@ -2,6 +2,21 @@ package academy.devdojo.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * {@code dataSourceProperties} are handed to the JDBC driver as they are, e.g. {@code cachePrepStmts} and
+ * {@code rewriteBatchedStatements} for MySQL.
+ */
 @ConfigurationProperties(prefix = "database")
-public record ConnectionConfigurationProperties(String url, String username, String password) {
+public record ConnectionConfigurationProperties(String url, String username, String password,
+                                                Map<String, String> dataSourceProperties, Pool pool) {
+
+    /**
+     * Connections above {@code minimumIdle} are closed once idle for {@code idleTimeout}; when all
+     * {@code maximumSize} connections are in use, callers wait at most {@code acquisitionTimeout} for one.
+     */
+    public record Pool(int minimumIdle, int maximumSize, Duration acquisitionTimeout, Duration idleTimeout) {
+    }
 }
@@ -0,0 +1,9 @@
+package academy.devdojo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "lookup-cache")
+public record LookupCacheConfigurationProperties(long maximumSize, Duration ttl, Duration notFoundTtl) {
+}
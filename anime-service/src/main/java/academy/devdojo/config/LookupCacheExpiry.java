@@ -0,0 +1,34 @@
+package academy.devdojo.config;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.cache.support.NullValue;
+
+import java.time.Duration;
+
+/**
+ * Keeps found rows for the full TTL and cached misses, which Spring stores as {@link NullValue}, only briefly.
+ */
+class LookupCacheExpiry implements Expiry<Object, Object> {
+    private final long ttlNanos;
+    private final long notFoundTtlNanos;
+
+    LookupCacheExpiry(Duration ttl, Duration notFoundTtl) {
+        this.ttlNanos = ttl.toNanos();
+        this.notFoundTtlNanos = notFoundTtl.toNanos();
+    }
+
+    @Override
+    public long expireAfterCreate(Object key, Object value, long currentTime) {
+        return value instanceof NullValue ? notFoundTtlNanos : ttlNanos;
+    }
+
+    @Override
+    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+        return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+}
@@ -0,0 +1,22 @@
+package academy.devdojo.config;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+@Profile("reactive")
+public class ReactiveBeanConfiguration {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public ReactiveSchedulers reactiveSchedulers() {
+        return new ReactiveSchedulers(Schedulers.boundedElastic(), Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,10 @@
+package academy.devdojo.config;
+
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Where the reactive controllers run repository calls. Both stay off the event loop: reads may rebuild a whole
+ * serialized list view or block on JDBC, and writes wait on the write-ahead log.
+ */
+public record ReactiveSchedulers(Scheduler reads, Scheduler writes) {
+}
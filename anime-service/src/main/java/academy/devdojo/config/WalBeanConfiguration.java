@@ -0,0 +1,38 @@
+package academy.devdojo.config;
+
+import academy.devdojo.domain.Anime;
+import academy.devdojo.domain.Producer;
+import academy.devdojo.repository.AnimeData;
+import academy.devdojo.repository.AnimeRowCodec;
+import academy.devdojo.repository.DurableStore;
+import academy.devdojo.repository.ProducerData;
+import academy.devdojo.repository.ProducerRowCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Rebuilds the in-memory stores from their snapshots and write-ahead logs on startup and journals every write
+ * after that. Each store writes a last snapshot and closes its log when the context shuts down.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "wal", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class WalBeanConfiguration {
+    private final WalConfigurationProperties configurationProperties;
+    private final ObjectMapper objectMapper;
+
+    @Bean(initMethod = "open")
+    public DurableStore<Anime> animeDurableStore(AnimeData animeData) {
+        return new DurableStore<>("animes", animeData.getAnimeStore(), Anime.class, new AnimeRowCodec(), objectMapper,
+                configurationProperties);
+    }
+
+    @Bean(initMethod = "open")
+    public DurableStore<Producer> producerDurableStore(ProducerData producerData) {
+        return new DurableStore<>("producers", producerData.getProducerStore(), Producer.class, new ProducerRowCodec(),
+                objectMapper, configurationProperties);
+    }
+}
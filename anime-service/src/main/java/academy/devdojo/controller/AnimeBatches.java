@@ -0,0 +1,64 @@
+package academy.devdojo.controller;
+
+import academy.devdojo.domain.Anime;
+import academy.devdojo.mapper.AnimeMapper;
+import academy.devdojo.request.AnimePostRequest;
+import academy.devdojo.response.AnimeBatchPostResponse;
+import academy.devdojo.service.AnimeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Saves a chunk of a batch request in one repository write and reports every item by its index in the whole
+ * request, so the servlet and the reactive controllers answer batches the same way.
+ */
+@Component
+@RequiredArgsConstructor
+class AnimeBatches {
+    static final int CHUNK_SIZE = 1000;
+
+    private final AnimeMapper mapper;
+    private final AnimeService service;
+
+    List<AnimeBatchPostResponse> save(List<AnimePostRequest> requests, int offset) {
+        List<AnimeBatchPostResponse> response = new ArrayList<>(requests.size());
+        List<AnimePostRequest> validRequests = new ArrayList<>(requests.size());
+        List<Integer> validIndexes = new ArrayList<>(requests.size());
+
+        for (int i = 0; i < requests.size(); i++) {
+            var request = requests.get(i);
+            if (request == null || request.getName() == null || request.getName().isBlank()) {
+                response.add(AnimeBatchPostResponse.builder()
+                        .index(offset + i)
+                        .status(AnimeBatchPostResponse.Status.REJECTED)
+                        .error("name must not be blank")
+                        .build());
+                continue;
+            }
+            validRequests.add(request);
+            validIndexes.add(offset + i);
+        }
+
+        List<Anime> savedAnimes = service.saveAll(mapper.toAnimeList(validRequests));
+
+        for (int i = 0; i < savedAnimes.size(); i++) {
+            var created = mapper.toAnimeBatchPostResponse(savedAnimes.get(i));
+            created.setIndex(validIndexes.get(i));
+            response.add(created);
+        }
+
+        response.sort(Comparator.comparingInt(AnimeBatchPostResponse::getIndex));
+        return response;
+    }
+
+    ResponseEntity<List<AnimeBatchPostResponse>> toResponse(List<AnimeBatchPostResponse> response) {
+        boolean allCreated = response.stream().allMatch(item -> item.getStatus() == AnimeBatchPostResponse.Status.CREATED);
+        return ResponseEntity.status(allCreated ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS).body(response);
+    }
+}
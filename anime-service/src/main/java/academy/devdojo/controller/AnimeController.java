@@ -4,45 +4,132 @@ import academy.devdojo.domain.Anime;
 import academy.devdojo.mapper.AnimeMapper;
 import academy.devdojo.request.AnimePostRequest;
 import academy.devdojo.request.AnimePutRequest;
+import academy.devdojo.response.AnimeBatchPostResponse;
 import academy.devdojo.response.AnimeGetResponse;
 import academy.devdojo.response.AnimePostResponse;
 import academy.devdojo.service.AnimeService;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
 @RequestMapping("v1/animes")
+@Profile("!reactive")
 @Slf4j
 @RequiredArgsConstructor
 public class AnimeController {
-
     private final AnimeMapper mapper;
     private final AnimeService service;
+    private final NdjsonStreamer ndjsonStreamer;
+    private final JsonListBodies jsonListBodies;
+    private final AnimeBatches animeBatches;
+
+    @GetMapping(params = {"!name", "!after", "!limit"}, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> listAllUnfiltered(WebRequest webRequest) {
+        log.debug("Request received to list all animes without filters");
+
+        String eTag = jsonListBodies.eTag(service.version(), webRequest);
+
+        if (webRequest.checkNotModified(eTag)) return null;
+
+        JsonListBodies.Body body = service.findAllView(JsonListBodies.VIEW_NAME,
+                animes -> jsonListBodies.serialize(mapper.toAnimeGetResponseList(animes)));
+
+        return jsonListBodies.toResponse(body, eTag, webRequest);
+    }
 
     @GetMapping
-    public ResponseEntity<List<AnimeGetResponse>> listAll(@RequestParam(required = false) String name) {
-        log.debug("Request received to list all animes, param name {}", name);
+    public ResponseEntity<List<AnimeGetResponse>> listAll(@RequestParam(required = false) String name,
+                                                          @RequestParam(required = false) Long after,
+                                                          @RequestParam(required = false) Integer limit,
+                                                          WebRequest webRequest) {
+        log.debug("Request received to list all animes, param name {}, after {}, limit {}", name, after, limit);
+
+        String eTag = ETags.of(service.version());
+
+        if (webRequest.checkNotModified(eTag)) return null;
 
-        List<Anime> animes = service.findAll(name);
+        if (after == null && limit == null) {
+            List<Anime> animes = service.findAll(name);
 
-        List<AnimeGetResponse> response = mapper.toAnimeGetResponseList(animes);
+            List<AnimeGetResponse> response = mapper.toAnimeGetResponseList(animes);
 
-        return ResponseEntity.ok(response);
+            return ResponseEntity.ok().eTag(eTag).body(response);
+        }
+
+        int pageSize = Math.clamp(limit == null ? AnimeService.DEFAULT_PAGE_SIZE : limit, 1, AnimeService.MAX_PAGE_SIZE);
+
+        List<Anime> animes = service.findPage(name, after, pageSize + 1);
+
+        boolean hasNextPage = animes.size() > pageSize;
+
+        List<AnimeGetResponse> response = mapper.toAnimeGetResponseList(hasNextPage ? animes.subList(0, pageSize) : animes);
+
+        if (!hasNextPage) return ResponseEntity.ok().eTag(eTag).body(response);
+
+        String nextPage = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("after", response.getLast().getId())
+                .replaceQueryParam("limit", pageSize)
+                .toUriString();
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .header(HttpHeaders.LINK, "<%s>; rel=\"next\"".formatted(nextPage))
+                .body(response);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll(@RequestParam(required = false) String name) {
+        log.debug("Request received to stream all animes, param name {}", name);
+
+        StreamingResponseBody body = ndjsonStreamer.stream(() -> service.stream(name), mapper::toAnimeGetResponse);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("search")
+    public ResponseEntity<List<AnimeGetResponse>> search(@RequestParam String q,
+                                                         @RequestParam(required = false) Integer limit,
+                                                         WebRequest webRequest) {
+        log.debug("Request received to search animes, query {}, limit {}", q, limit);
+
+        String eTag = ETags.of(service.version());
+
+        if (webRequest.checkNotModified(eTag)) return null;
+
+        List<AnimeGetResponse> response = mapper.toAnimeGetResponseList(service.search(q, limit));
+
+        return ResponseEntity.ok().eTag(eTag).body(response);
     }
 
     @GetMapping("{id}")
-    public ResponseEntity<AnimeGetResponse> findById(@PathVariable Long id) {
+    public ResponseEntity<AnimeGetResponse> findById(@PathVariable Long id, WebRequest webRequest) {
+        String eTag = service.findVersion(id).map(ETags::of).orElse(null);
+
+        if (eTag != null && webRequest.checkNotModified(eTag)) return null;
+
         Anime foundAnime = service.findByIdOrThrowNotFound(id);
 
         AnimeGetResponse response = mapper.toAnimeGetResponse(foundAnime);
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(eTag).body(response);
     }
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
@@ -58,6 +145,31 @@ public class AnimeController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping(path = "batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<AnimeBatchPostResponse>> saveAll(@RequestBody List<AnimePostRequest> requests) {
+        log.debug("Request received to create {} animes", requests.size());
+
+        List<AnimeBatchPostResponse> response = animeBatches.save(requests, 0);
+
+        return animeBatches.toResponse(response);
+    }
+
+    @PostMapping(path = "batch", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<AnimeBatchPostResponse>> saveAllNdjson(InputStream body) throws IOException {
+        log.debug("Request received to create animes from a NDJSON stream");
+
+        List<AnimeBatchPostResponse> response = new ArrayList<>();
+
+        try {
+            ndjsonStreamer.read(body, AnimePostRequest.class, AnimeBatches.CHUNK_SIZE,
+                    chunk -> response.addAll(animeBatches.save(chunk, response.size())));
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed NDJSON after %d animes".formatted(response.size()));
+        }
+
+        return animeBatches.toResponse(response);
+    }
+
     @DeleteMapping("{id}")
     public ResponseEntity<Void> deleteById(@PathVariable Long id) {
         log.debug("Request to delete anime by id: {}", id);
@@ -77,5 +189,4 @@ public class AnimeController {
 
         return ResponseEntity.noContent().build();
     }
-
 }
@@ -1,22 +1,73 @@
 package academy.devdojo.controller;
 
-import academy.devdojo.config.Connection;
+import academy.devdojo.config.ConnectionBeanConfiguration;
+import academy.devdojo.response.ConnectionAcquireLatencyResponse;
+import academy.devdojo.response.ConnectionPoolGetResponse;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 @RestController
 @RequestMapping("v1/connections")
 @Slf4j
 @RequiredArgsConstructor
 public class ConnectionController {
-    private final Connection connection;
+    private final ObjectProvider<HikariDataSource> pools;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
 
     @GetMapping
-    public ResponseEntity<Connection> getConnection() {
-        return ResponseEntity.ok(connection);
+    public ResponseEntity<List<ConnectionPoolGetResponse>> getConnections() {
+        return ResponseEntity.ok(pools.orderedStream().map(this::toResponse).toList());
+    }
+
+    private ConnectionPoolGetResponse toResponse(HikariDataSource pool) {
+        var poolBean = pool.getHikariPoolMXBean();
+        return ConnectionPoolGetResponse.builder()
+                .name(pool.getPoolName())
+                .minimumIdle(pool.getMinimumIdle())
+                .maximumSize(pool.getMaximumPoolSize())
+                .active(poolBean.getActiveConnections())
+                .idle(poolBean.getIdleConnections())
+                .pending(poolBean.getThreadsAwaitingConnection())
+                .total(poolBean.getTotalConnections())
+                .acquireLatency(toResponse(acquireTimer(pool)))
+                .build();
+    }
+
+    private Timer acquireTimer(HikariDataSource pool) {
+        var registry = meterRegistry.getIfAvailable();
+        if (registry == null) return null;
+        return registry.find(ConnectionBeanConfiguration.ACQUIRE_TIMER).tag("pool", pool.getPoolName()).timer();
+    }
+
+    private static ConnectionAcquireLatencyResponse toResponse(Timer timer) {
+        if (timer == null) return null;
+        var snapshot = timer.takeSnapshot();
+        var percentiles = new LinkedHashMap<Double, Double>();
+        for (var value : snapshot.percentileValues()) {
+            percentiles.put(value.percentile(), value.value(TimeUnit.MILLISECONDS));
+        }
+        var histogram = new LinkedHashMap<Double, Double>();
+        for (var bucket : snapshot.histogramCounts()) {
+            histogram.put(bucket.bucket(TimeUnit.MILLISECONDS), bucket.count());
+        }
+        return ConnectionAcquireLatencyResponse.builder()
+                .count(snapshot.count())
+                .meanMillis(snapshot.mean(TimeUnit.MILLISECONDS))
+                .maxMillis(snapshot.max(TimeUnit.MILLISECONDS))
+                .percentiles(percentiles)
+                .histogram(histogram)
+                .build();
     }
 }
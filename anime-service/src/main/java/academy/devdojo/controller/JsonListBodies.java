@@ -0,0 +1,106 @@
+package academy.devdojo.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serializes whole list responses once, as plain and gzipped JSON, so they can be kept next to the store snapshot
+ * they were built from and written straight to the response until the next write. The two bodies carry different
+ * strong ETags, picked from {@code Accept-Encoding} before the conditional request is checked.
+ */
+@Component
+@RequiredArgsConstructor
+class JsonListBodies {
+    static final String VIEW_NAME = "json-list-body";
+    private static final String GZIP = "gzip";
+
+    private final ObjectMapper objectMapper;
+
+    Body serialize(List<?> responses) {
+        try {
+            var json = objectMapper.writeValueAsBytes(responses);
+            return new Body(json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize list body", e);
+        }
+    }
+
+    String eTag(long version, WebRequest webRequest) {
+        return eTag(version, webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    String eTag(long version, String acceptEncoding) {
+        return acceptsGzip(acceptEncoding) ? ETags.of(version, GZIP) : ETags.of(version);
+    }
+
+    ResponseEntity<byte[]> toResponse(Body body, String eTag, WebRequest webRequest) {
+        return toResponse(body, eTag, webRequest.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    }
+
+    ResponseEntity<byte[]> toResponse(Body body, String eTag, String acceptEncoding) {
+        var response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(eTag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (!acceptsGzip(acceptEncoding)) return response.body(body.json());
+
+        return response.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(body.gzip());
+    }
+
+    /**
+     * True when {@code gzip}, or failing that {@code *}, is listed with a non-zero q-value.
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        Double gzip = null;
+        Double any = null;
+        for (var coding : acceptEncoding.split(",")) {
+            var parameters = coding.split(";");
+            var name = parameters[0].trim().toLowerCase(Locale.ROOT);
+            if (name.equals(GZIP) || name.equals("x-gzip")) gzip = quality(parameters);
+            else if (name.equals("*")) any = quality(parameters);
+        }
+        if (gzip != null) return gzip > 0;
+        return any != null && any > 0;
+    }
+
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            var parameter = parameters[i].trim();
+            if (!parameter.regionMatches(true, 0, "q=", 0, 2)) continue;
+            try {
+                return Double.parseDouble(parameter.substring(2).trim());
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+        return 1;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        var bytes = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (var gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    record Body(byte[] json, byte[] gzip) {
+    }
+}
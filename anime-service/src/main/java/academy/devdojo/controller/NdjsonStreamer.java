@@ -0,0 +1,85 @@
+package academy.devdojo.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes rows as newline-delimited JSON while they are read, through one reused generator,
+ * so memory stays flat no matter how many rows there are. Reads newline-delimited JSON bodies
+ * back in fixed-size chunks the same way.
+ * <p>
+ * On WebFlux every element of a streaming body is flushed on its own, so rows are serialized
+ * into chunks of {@link #FLUX_CHUNK_ROWS} lines and each chunk is one element of the {@link Flux}.
+ */
+@Component
+@RequiredArgsConstructor
+class NdjsonStreamer {
+    static final int FLUX_CHUNK_ROWS = 256;
+
+    private final ObjectMapper objectMapper;
+
+    <T, R> StreamingResponseBody stream(Supplier<Stream<T>> rows, Function<T, R> toResponse) {
+        var writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return outputStream -> {
+            try (var rowStream = rows.get();
+                 var generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                for (var iterator = rowStream.iterator(); iterator.hasNext(); ) {
+                    writer.writeValue(generator, toResponse.apply(iterator.next()));
+                    generator.writeRaw('\n');
+                }
+            }
+        };
+    }
+
+    <T, R> Flux<byte[]> flux(Supplier<Stream<T>> rows, Function<T, R> toResponse) {
+        var writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return Flux.<T>fromStream(rows::get)
+                .buffer(FLUX_CHUNK_ROWS)
+                .map(chunk -> {
+                    var bytes = new ByteArrayOutputStream();
+                    try (var generator = objectMapper.getFactory().createGenerator(bytes)) {
+                        generator.setRootValueSeparator(null);
+                        for (var row : chunk) {
+                            writer.writeValue(generator, toResponse.apply(row));
+                            generator.writeRaw('\n');
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return bytes.toByteArray();
+                });
+    }
+
+    <T> void read(InputStream inputStream, Class<T> type, int chunkSize, Consumer<List<T>> chunkConsumer) throws IOException {
+        try (MappingIterator<T> iterator = objectMapper.readerFor(type).readValues(inputStream)) {
+            var chunk = new ArrayList<T>(chunkSize);
+            while (iterator.hasNextValue()) {
+                chunk.add(iterator.nextValue());
+                if (chunk.size() == chunkSize) {
+                    chunkConsumer.accept(chunk);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+            if (!chunk.isEmpty()) chunkConsumer.accept(chunk);
+        }
+    }
+}
@@ -9,42 +9,96 @@ import academy.devdojo.response.ProducerPostResponse;
 import academy.devdojo.service.ProducerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
 @RestController
 @RequestMapping("v1/producers")
+@Profile("!reactive")
 @Slf4j
 @RequiredArgsConstructor
 public class ProducerController {
     private final ProducerMapper mapper;
     private final ProducerService service;
+    private final NdjsonStreamer ndjsonStreamer;
+    private final JsonListBodies jsonListBodies;
+
+    @GetMapping(params = "!name", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> findAllUnfiltered(WebRequest webRequest) {
+        log.debug("Request received to list all producers without filters");
+
+        var eTag = jsonListBodies.eTag(service.version(), webRequest);
+
+        if (webRequest.checkNotModified(eTag)) return null;
+
+        var body = service.findAllView(JsonListBodies.VIEW_NAME,
+                producers -> jsonListBodies.serialize(mapper.toProducerGetResponseList(producers)));
+
+        return jsonListBodies.toResponse(body, eTag, webRequest);
+    }
 
     @GetMapping
-    public ResponseEntity<List<ProducerGetResponse>> findAll(@RequestParam(required = false) String name) {
+    public ResponseEntity<List<ProducerGetResponse>> findAll(@RequestParam(required = false) String name, WebRequest webRequest) {
         log.debug("Request received to list all producers, param name {}", name);
 
+        var eTag = ETags.of(service.version());
+
+        if (webRequest.checkNotModified(eTag)) return null;
+
         var producers = service.findAll(name);
 
         var producerGetResponses = mapper.toProducerGetResponseList(producers);
 
-        return ResponseEntity.ok(producerGetResponses);
+        return ResponseEntity.ok().eTag(eTag).body(producerGetResponses);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAll(@RequestParam(required = false) String name) {
+        log.debug("Request received to export all producers, param name {}", name);
+
+        var body = ndjsonStreamer.stream(() -> service.stream(name), mapper::toProducerGetResponse);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("suggest")
+    public ResponseEntity<List<ProducerGetResponse>> suggest(@RequestParam String prefix,
+                                                             @RequestParam(required = false) Integer limit,
+                                                             WebRequest webRequest) {
+        log.debug("Request received to suggest producers, prefix {}, limit {}", prefix, limit);
+
+        var eTag = ETags.of(service.version());
+
+        if (webRequest.checkNotModified(eTag)) return null;
+
+        var response = mapper.toProducerGetResponseList(service.suggest(prefix, limit));
+
+        return ResponseEntity.ok().eTag(eTag).body(response);
     }
 
     @GetMapping("{id}")
-    public ResponseEntity<ProducerGetResponse> findById(@PathVariable Long id) {
+    public ResponseEntity<ProducerGetResponse> findById(@PathVariable Long id, WebRequest webRequest) {
         log.debug("Request to find producer by id {}", id);
 
+        var eTag = service.findVersion(id).map(ETags::of).orElse(null);
+
+        if (eTag != null && webRequest.checkNotModified(eTag)) return null;
+
         var producer = service.findByIdOrThrowNotFound(id);
 
         var response = mapper.toProducerGetResponse(producer);
 
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(eTag).body(response);
     }
 
     @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE,
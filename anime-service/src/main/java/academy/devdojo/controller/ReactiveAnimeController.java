@@ -0,0 +1,204 @@
+package academy.devdojo.controller;
+
+import academy.devdojo.config.ReactiveSchedulers;
+import academy.devdojo.domain.Anime;
+import academy.devdojo.mapper.AnimeMapper;
+import academy.devdojo.request.AnimePostRequest;
+import academy.devdojo.request.AnimePutRequest;
+import academy.devdojo.response.AnimeBatchPostResponse;
+import academy.devdojo.response.AnimeGetResponse;
+import academy.devdojo.response.AnimePostResponse;
+import academy.devdojo.service.AnimeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves the same contract as {@link AnimeController} on WebFlux. Lists are emitted element by element as the
+ * client reads them instead of being mapped into one list first.
+ */
+@RestController
+@RequestMapping("v1/animes")
+@Profile("reactive")
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveAnimeController {
+    private final AnimeMapper mapper;
+    private final AnimeService service;
+    private final NdjsonStreamer ndjsonStreamer;
+    private final JsonListBodies jsonListBodies;
+    private final AnimeBatches animeBatches;
+    private final ReactiveSchedulers schedulers;
+
+    @GetMapping(params = {"!name", "!after", "!limit"}, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<byte[]>> listAllUnfiltered(ServerWebExchange exchange) {
+        log.debug("Request received to list all animes without filters");
+
+        return Mono.fromCallable(() -> {
+            String acceptEncoding = exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING);
+            String eTag = jsonListBodies.eTag(service.version(), acceptEncoding);
+
+            if (exchange.checkNotModified(eTag)) return null;
+
+            JsonListBodies.Body body = service.findAllView(JsonListBodies.VIEW_NAME,
+                    animes -> jsonListBodies.serialize(mapper.toAnimeGetResponseList(animes)));
+
+            return jsonListBodies.toResponse(body, eTag, acceptEncoding);
+        }).subscribeOn(schedulers.reads());
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<AnimeGetResponse>>> listAll(@RequestParam(required = false) String name,
+                                                                @RequestParam(required = false) Long after,
+                                                                @RequestParam(required = false) Integer limit,
+                                                                ServerWebExchange exchange) {
+        log.debug("Request received to list all animes, param name {}, after {}, limit {}", name, after, limit);
+
+        return Mono.fromCallable(() -> {
+            String eTag = ETags.of(service.version());
+
+            if (exchange.checkNotModified(eTag)) return null;
+
+            if (after == null && limit == null) {
+                List<Anime> animes = service.findAll(name);
+
+                return ResponseEntity.ok().eTag(eTag).body(Flux.fromIterable(animes).map(mapper::toAnimeGetResponse));
+            }
+
+            int pageSize = Math.clamp(limit == null ? AnimeService.DEFAULT_PAGE_SIZE : limit, 1, AnimeService.MAX_PAGE_SIZE);
+
+            List<Anime> animes = service.findPage(name, after, pageSize + 1);
+
+            boolean hasNextPage = animes.size() > pageSize;
+
+            List<Anime> page = hasNextPage ? animes.subList(0, pageSize) : animes;
+
+            Flux<AnimeGetResponse> response = Flux.fromIterable(page).map(mapper::toAnimeGetResponse);
+
+            if (!hasNextPage) return ResponseEntity.ok().eTag(eTag).body(response);
+
+            String nextPage = UriComponentsBuilder.fromUri(exchange.getRequest().getURI())
+                    .replaceQueryParam("after", page.getLast().getId())
+                    .replaceQueryParam("limit", pageSize)
+                    .toUriString();
+
+            return ResponseEntity.ok()
+                    .eTag(eTag)
+                    .header(HttpHeaders.LINK, "<%s>; rel=\"next\"".formatted(nextPage))
+                    .body(response);
+        }).subscribeOn(schedulers.reads());
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<byte[]>> streamAll(@RequestParam(required = false) String name) {
+        log.debug("Request received to stream all animes, param name {}", name);
+
+        Flux<byte[]> body = ndjsonStreamer.flux(() -> service.stream(name), mapper::toAnimeGetResponse)
+                .subscribeOn(schedulers.reads());
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("search")
+    public Mono<ResponseEntity<Flux<AnimeGetResponse>>> search(@RequestParam String q,
+                                                               @RequestParam(required = false) Integer limit,
+                                                               ServerWebExchange exchange) {
+        log.debug("Request received to search animes, query {}, limit {}", q, limit);
+
+        return Mono.fromCallable(() -> {
+            String eTag = ETags.of(service.version());
+
+            if (exchange.checkNotModified(eTag)) return null;
+
+            List<Anime> animes = service.search(q, limit);
+
+            return ResponseEntity.ok().eTag(eTag).body(Flux.fromIterable(animes).map(mapper::toAnimeGetResponse));
+        }).subscribeOn(schedulers.reads());
+    }
+
+    @GetMapping("{id}")
+    public Mono<ResponseEntity<AnimeGetResponse>> findById(@PathVariable Long id, ServerWebExchange exchange) {
+        return Mono.fromCallable(() -> {
+            String eTag = service.findVersion(id).map(ETags::of).orElse(null);
+
+            if (eTag != null && exchange.checkNotModified(eTag)) return null;
+
+            Anime foundAnime = service.findByIdOrThrowNotFound(id);
+
+            AnimeGetResponse response = mapper.toAnimeGetResponse(foundAnime);
+
+            return ResponseEntity.ok().eTag(eTag).body(response);
+        }).subscribeOn(schedulers.reads());
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<AnimePostResponse>> save(@RequestBody Mono<AnimePostRequest> request) {
+        return request.publishOn(schedulers.writes()).map(animePostRequest -> {
+            log.debug("Request received to create a new Anime, anime: {}", animePostRequest);
+
+            Anime savedAnime = service.save(mapper.toAnime(animePostRequest));
+
+            AnimePostResponse response = mapper.toAnimePostResponse(savedAnime);
+
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        });
+    }
+
+    @PostMapping(path = "batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<AnimeBatchPostResponse>>> saveAll(@RequestBody Mono<List<AnimePostRequest>> requests) {
+        return requests.publishOn(schedulers.writes()).map(animePostRequests -> {
+            log.debug("Request received to create {} animes", animePostRequests.size());
+
+            return animeBatches.toResponse(animeBatches.save(animePostRequests, 0));
+        });
+    }
+
+    @PostMapping(path = "batch", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<AnimeBatchPostResponse>>> saveAllNdjson(@RequestBody Flux<AnimePostRequest> requests) {
+        log.debug("Request received to create animes from a NDJSON stream");
+
+        AtomicInteger offset = new AtomicInteger();
+
+        return requests.buffer(AnimeBatches.CHUNK_SIZE)
+                .publishOn(schedulers.writes())
+                .concatMapIterable(chunk -> animeBatches.save(chunk, offset.getAndAdd(chunk.size())))
+                .collectList()
+                .map(animeBatches::toResponse);
+    }
+
+    @DeleteMapping("{id}")
+    public Mono<ResponseEntity<Void>> deleteById(@PathVariable Long id) {
+        log.debug("Request to delete anime by id: {}", id);
+
+        return Mono.fromCallable(() -> {
+            service.delete(id);
+
+            return ResponseEntity.noContent().<Void>build();
+        }).subscribeOn(schedulers.writes());
+    }
+
+    @PutMapping
+    public Mono<ResponseEntity<Void>> update(@RequestBody Mono<AnimePutRequest> request) {
+        return request.publishOn(schedulers.writes()).map(animePutRequest -> {
+            log.debug("Request to update anime: {}", animePutRequest);
+
+            service.update(mapper.toAnime(animePutRequest));
+
+            return ResponseEntity.noContent().build();
+        });
+    }
+}
@@ -0,0 +1,151 @@
+package academy.devdojo.controller;
+
+import academy.devdojo.config.ReactiveSchedulers;
+import academy.devdojo.mapper.ProducerMapper;
+import academy.devdojo.request.ProducerPostRequest;
+import academy.devdojo.request.ProducerPutRequest;
+import academy.devdojo.response.ProducerGetResponse;
+import academy.devdojo.response.ProducerPostResponse;
+import academy.devdojo.service.ProducerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Serves the same contract as {@link ProducerController} on WebFlux.
+ */
+@RestController
+@RequestMapping("v1/producers")
+@Profile("reactive")
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveProducerController {
+    private final ProducerMapper mapper;
+    private final ProducerService service;
+    private final NdjsonStreamer ndjsonStreamer;
+    private final JsonListBodies jsonListBodies;
+    private final ReactiveSchedulers schedulers;
+
+    @GetMapping(params = "!name", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<byte[]>> findAllUnfiltered(ServerWebExchange exchange) {
+        log.debug("Request received to list all producers without filters");
+
+        return Mono.fromCallable(() -> {
+            var acceptEncoding = exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING);
+            var eTag = jsonListBodies.eTag(service.version(), acceptEncoding);
+
+            if (exchange.checkNotModified(eTag)) return null;
+
+            var body = service.findAllView(JsonListBodies.VIEW_NAME,
+                    producers -> jsonListBodies.serialize(mapper.toProducerGetResponseList(producers)));
+
+            return jsonListBodies.toResponse(body, eTag, acceptEncoding);
+        }).subscribeOn(schedulers.reads());
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<ProducerGetResponse>>> findAll(@RequestParam(required = false) String name,
+                                                                   ServerWebExchange exchange) {
+        log.debug("Request received to list all producers, param name {}", name);
+
+        return Mono.fromCallable(() -> {
+            var eTag = ETags.of(service.version());
+
+            if (exchange.checkNotModified(eTag)) return null;
+
+            var producers = service.findAll(name);
+
+            return ResponseEntity.ok().eTag(eTag).body(Flux.fromIterable(producers).map(mapper::toProducerGetResponse));
+        }).subscribeOn(schedulers.reads());
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<byte[]>> exportAll(@RequestParam(required = false) String name) {
+        log.debug("Request received to export all producers, param name {}", name);
+
+        var body = ndjsonStreamer.flux(() -> service.stream(name), mapper::toProducerGetResponse)
+                .subscribeOn(schedulers.reads());
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("suggest")
+    public Mono<ResponseEntity<Flux<ProducerGetResponse>>> suggest(@RequestParam String prefix,
+                                                                   @RequestParam(required = false) Integer limit,
+                                                                   ServerWebExchange exchange) {
+        log.debug("Request received to suggest producers, prefix {}, limit {}", prefix, limit);
+
+        return Mono.fromCallable(() -> {
+            var eTag = ETags.of(service.version());
+
+            if (exchange.checkNotModified(eTag)) return null;
+
+            var producers = service.suggest(prefix, limit);
+
+            return ResponseEntity.ok().eTag(eTag).body(Flux.fromIterable(producers).map(mapper::toProducerGetResponse));
+        }).subscribeOn(schedulers.reads());
+    }
+
+    @GetMapping("{id}")
+    public Mono<ResponseEntity<ProducerGetResponse>> findById(@PathVariable Long id, ServerWebExchange exchange) {
+        log.debug("Request to find producer by id {}", id);
+
+        return Mono.fromCallable(() -> {
+            var eTag = service.findVersion(id).map(ETags::of).orElse(null);
+
+            if (eTag != null && exchange.checkNotModified(eTag)) return null;
+
+            var producer = service.findByIdOrThrowNotFound(id);
+
+            var response = mapper.toProducerGetResponse(producer);
+
+            return ResponseEntity.ok().eTag(eTag).body(response);
+        }).subscribeOn(schedulers.reads());
+    }
+
+    @PostMapping(produces = MediaType.APPLICATION_JSON_VALUE, consumes = MediaType.APPLICATION_JSON_VALUE,
+            headers = "x-api-key")
+    public Mono<ResponseEntity<ProducerPostResponse>> save(@RequestBody Mono<ProducerPostRequest> request) {
+        return request.publishOn(schedulers.writes()).map(producerPostRequest -> {
+            log.debug("Request received to create a new producer, producer: {}", producerPostRequest);
+
+            var producerSaved = service.save(mapper.toProducer(producerPostRequest));
+
+            var response = mapper.toProducerPostResponse(producerSaved);
+
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        });
+    }
+
+    @DeleteMapping("{id}")
+    public Mono<ResponseEntity<Void>> deleteById(@PathVariable Long id) {
+        log.debug("Request to delete producer by id: {}", id);
+
+        return Mono.fromCallable(() -> {
+            service.delete(id);
+
+            return ResponseEntity.noContent().<Void>build();
+        }).subscribeOn(schedulers.writes());
+    }
+
+    @PutMapping
+    public Mono<ResponseEntity<Void>> update(@RequestBody Mono<ProducerPutRequest> request) {
+        return request.publishOn(schedulers.writes()).map(producerPutRequest -> {
+            log.debug("Request to update a producer: {}", producerPutRequest);
+
+            service.update(mapper.toProducer(producerPutRequest));
+
+            return ResponseEntity.noContent().build();
+        });
+    }
+}
@@ -1,10 +1,12 @@
 package academy.devdojo.domain;
 
 import lombok.*;
+import lombok.extern.jackson.Jacksonized;
 
 @Getter
 @Setter
 @Builder
+@Jacksonized
 @AllArgsConstructor
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Anime {
@@ -3,6 +3,7 @@ package academy.devdojo.domain;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
@@ -10,6 +11,7 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Builder
+@Jacksonized
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Producer {
     @EqualsAndHashCode.Include
@@ -0,0 +1,10 @@
+package academy.devdojo.exception;
+
+import java.util.Date;
+
+/**
+ * The body Spring Boot's {@code DefaultErrorAttributes} renders. The timestamp stays a {@link Date}, as it is there,
+ * so it serializes to the same millisecond precision, UTC offset form as the /error responses.
+ */
+public record DefaultErrorMessage(Date timestamp, int status, String error, String path) {
+}
@@ -0,0 +1,25 @@
+package academy.devdojo.exception;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Date;
+
+/**
+ * Renders 404s on WebFlux with the same body {@link GlobalExceptionHandler} writes on the servlet stack.
+ */
+@RestControllerAdvice
+@Profile("reactive")
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(NotFoundException.class)
+    public ResponseEntity<DefaultErrorMessage> handleNotFoundException(NotFoundException e, ServerHttpRequest request) {
+        var status = HttpStatus.NOT_FOUND;
+        var errorMessage = new DefaultErrorMessage(new Date(), status.value(), status.getReasonPhrase(), request.getPath().value());
+        return ResponseEntity.status(status).body(errorMessage);
+    }
+}
@@ -0,0 +1,26 @@
+package academy.devdojo.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+/**
+ * A 503 for requests turned away by admission control, also without a stack trace: rejections come in bursts, right
+ * when the service has the least time to spare.
+ */
+@Getter
+public class ServiceOverloadedException extends ResponseStatusException {
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(Duration retryAfter) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Too many concurrent requests");
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
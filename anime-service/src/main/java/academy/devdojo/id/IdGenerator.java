@@ -0,0 +1,5 @@
+package academy.devdojo.id;
+
+public interface IdGenerator {
+    long nextId();
+}
@@ -0,0 +1,23 @@
+package academy.devdojo.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Lets the application's debug events through, whatever the configured level, on threads serving a request that
+ * asked for them with the debug header. Anything else is left to the logger levels, after a single level check.
+ */
+public class DebugHeaderTurboFilter extends TurboFilter {
+    public static final String MDC_KEY = "debug";
+    private static final String APPLICATION_LOGGERS = "academy.devdojo";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level != Level.DEBUG || MDC.get(MDC_KEY) == null) return FilterReply.NEUTRAL;
+        return logger.getName().startsWith(APPLICATION_LOGGERS) ? FilterReply.ACCEPT : FilterReply.NEUTRAL;
+    }
+}
@@ -0,0 +1,130 @@
+package academy.devdojo.logging;
+
+import academy.devdojo.config.RequestLoggingConfigurationProperties;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logs one structured event per request for a sample of each endpoint's traffic. Server errors and requests
+ * carrying the debug header are always logged; the header also turns on debug logging for the rest of that request
+ * through {@link DebugHeaderTurboFilter}.
+ * <p>
+ * Requests left out of the sample cost a map lookup and a random number; nothing is formatted for them. Async
+ * requests are logged when they complete, so their duration and status cover the streamed body.
+ */
+@Slf4j(topic = "academy.devdojo.request")
+@Component
+public class RequestLoggingFilter extends OncePerRequestFilter {
+    private final String debugHeader;
+    private final double sampleRate;
+    private final Map<String, Map<String, Double>> sampleRatesByRoute = new HashMap<>();
+
+    public RequestLoggingFilter(RequestLoggingConfigurationProperties configurationProperties) {
+        this.debugHeader = configurationProperties.debugHeader();
+        this.sampleRate = configurationProperties.sampleRate();
+        if (configurationProperties.sampleRates() == null) return;
+        configurationProperties.sampleRates().forEach((endpoint, rate) -> {
+            var separator = endpoint.indexOf(' ');
+            if (separator < 0) throw new IllegalArgumentException("Expected '<METHOD> <route>' but got '%s'".formatted(endpoint));
+            sampleRatesByRoute.computeIfAbsent(endpoint.substring(separator + 1).trim(), route -> new HashMap<>())
+                    .put(endpoint.substring(0, separator), rate);
+        });
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var debug = Boolean.parseBoolean(request.getHeader(debugHeader));
+        if (debug) MDC.put(DebugHeaderTurboFilter.MDC_KEY, "true");
+        var start = System.nanoTime();
+        var failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new CompletionListener(request, response, start, debug));
+            } else {
+                var status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+                logCompleted(request, status, start, debug);
+            }
+            if (debug) MDC.remove(DebugHeaderTurboFilter.MDC_KEY);
+        }
+    }
+
+    private void logCompleted(HttpServletRequest request, int status, long start, boolean debug) {
+        var route = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        var rate = sampleRate(request.getMethod(), route);
+        if (!debug && status < HttpServletResponse.SC_INTERNAL_SERVER_ERROR && !sampled(rate)) return;
+        log.atInfo()
+                .addKeyValue("http.request.method", request.getMethod())
+                .addKeyValue("http.route", route)
+                .addKeyValue("url.path", request.getRequestURI())
+                .addKeyValue("http.response.status_code", status)
+                .addKeyValue("event.duration", System.nanoTime() - start)
+                .addKeyValue("sample.rate", rate)
+                .log("Request completed");
+    }
+
+    private double sampleRate(String method, String route) {
+        if (route == null) return sampleRate;
+        var rates = sampleRatesByRoute.get(route);
+        if (rates == null) return sampleRate;
+        return rates.getOrDefault(method, sampleRate);
+    }
+
+    private static boolean sampled(double rate) {
+        return rate >= 1 || rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    /**
+     * Logs an async request, such as a {@code StreamingResponseBody} export, once its body has been written rather
+     * than when the handler returned. The container calls {@code onComplete} after a timeout or error too, by which
+     * point the error status has been set.
+     */
+    private final class CompletionListener implements AsyncListener {
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final long start;
+        private final boolean debug;
+
+        private CompletionListener(HttpServletRequest request, HttpServletResponse response, long start, boolean debug) {
+            this.request = request;
+            this.response = response;
+            this.start = start;
+            this.debug = debug;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            logCompleted(request, response.getStatus(), start, debug);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
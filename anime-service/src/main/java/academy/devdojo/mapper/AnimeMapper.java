@@ -1,26 +1,39 @@
 package academy.devdojo.mapper;
 
 import academy.devdojo.domain.Anime;
+import academy.devdojo.id.IdGenerator;
 import academy.devdojo.request.AnimePostRequest;
 import academy.devdojo.request.AnimePutRequest;
+import academy.devdojo.response.AnimeBatchPostResponse;
 import academy.devdojo.response.AnimeGetResponse;
 import academy.devdojo.response.AnimePostResponse;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.List;
 
 @Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
-public interface AnimeMapper {
-    @Mapping(target = "id", expression = "java(java.util.concurrent.ThreadLocalRandom.current().nextLong(100_000))")
-    Anime toAnime(AnimePostRequest animePostRequest);
+public abstract class AnimeMapper {
+    @Autowired
+    protected IdGenerator idGenerator;
 
-    Anime toAnime(AnimePutRequest request);
+    @Mapping(target = "id", expression = "java(idGenerator.nextId())")
+    public abstract Anime toAnime(AnimePostRequest animePostRequest);
 
-    AnimeGetResponse toAnimeGetResponse(Anime anime);
+    public abstract Anime toAnime(AnimePutRequest request);
 
-    AnimePostResponse toAnimePostResponse(Anime anime);
+    public abstract List<Anime> toAnimeList(List<AnimePostRequest> animePostRequests);
 
-    List<AnimeGetResponse> toAnimeGetResponseList(List<Anime> animes);
+    public abstract AnimeGetResponse toAnimeGetResponse(Anime anime);
+
+    public abstract AnimePostResponse toAnimePostResponse(Anime anime);
+
+    public abstract List<AnimeGetResponse> toAnimeGetResponseList(List<Anime> animes);
+
+    @Mapping(target = "status", constant = "CREATED")
+    @Mapping(target = "index", ignore = true)
+    @Mapping(target = "error", ignore = true)
+    public abstract AnimeBatchPostResponse toAnimeBatchPostResponse(Anime anime);
 }
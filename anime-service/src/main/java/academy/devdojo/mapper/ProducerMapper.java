@@ -1,6 +1,7 @@
 package academy.devdojo.mapper;
 
 import academy.devdojo.domain.Producer;
+import academy.devdojo.id.IdGenerator;
 import academy.devdojo.request.ProducerPostRequest;
 import academy.devdojo.request.ProducerPutRequest;
 import academy.devdojo.response.ProducerGetResponse;
@@ -8,20 +9,24 @@ import academy.devdojo.response.ProducerPostResponse;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.List;
 
 @Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
-public interface ProducerMapper {
+public abstract class ProducerMapper {
+    @Autowired
+    protected IdGenerator idGenerator;
+
     @Mapping(target = "createdAt", expression = "java(java.time.LocalDateTime.now())")
-    @Mapping(target = "id", expression = "java(java.util.concurrent.ThreadLocalRandom.current().nextLong(100_000))")
-    Producer toProducer(ProducerPostRequest postRequest);
+    @Mapping(target = "id", expression = "java(idGenerator.nextId())")
+    public abstract Producer toProducer(ProducerPostRequest postRequest);
 
-    Producer toProducer(ProducerPutRequest putRequest);
+    public abstract Producer toProducer(ProducerPutRequest putRequest);
 
-    ProducerGetResponse toProducerGetResponse(Producer producer);
+    public abstract ProducerGetResponse toProducerGetResponse(Producer producer);
 
-    List<ProducerGetResponse> toProducerGetResponseList(List<Producer> producers);
+    public abstract List<ProducerGetResponse> toProducerGetResponseList(List<Producer> producers);
 
-    ProducerPostResponse toProducerPostResponse(Producer producer);
+    public abstract ProducerPostResponse toProducerPostResponse(Producer producer);
 }
@@ -4,11 +4,18 @@ import academy.devdojo.domain.Anime;
 import lombok.Getter;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.List;
-
 @Component
 public class AnimeData {
+    public static final String NAME_INDEX = "name";
+    public static final String NAME_SEARCH_INDEX = "name-search";
+
     @Getter
-    private final List<Anime> animeList = new ArrayList<>();
+    private final IndexedStore<Anime> animeStore = newAnimeStore();
+
+    public static IndexedStore<Anime> newAnimeStore() {
+        var animeStore = new IndexedStore<>(Anime::getId);
+        animeStore.addIndex(NAME_INDEX, Anime::getName);
+        animeStore.addSearchIndex(NAME_SEARCH_INDEX, new InvertedIndex<>(Anime::getName));
+        return animeStore;
+    }
 }
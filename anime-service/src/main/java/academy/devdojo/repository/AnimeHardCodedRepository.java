@@ -1,42 +1,88 @@
 package academy.devdojo.repository;
 
+import academy.devdojo.config.CacheBeanConfiguration;
 import academy.devdojo.domain.Anime;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
 @Repository
+@Profile("!jdbc")
 @RequiredArgsConstructor
-public class AnimeHardCodedRepository {
+public class AnimeHardCodedRepository implements AnimeRepository {
 
     private final AnimeData animeData;
 
+    @Override
     public List<Anime> findAll() {
-        return animeData.getAnimeList();
+        return animeData.getAnimeStore().findAll();
+    }
+
+    @Override
+    public List<Anime> findPage(Long after, int limit) {
+        return animeData.getAnimeStore().findPage(after, limit);
+    }
+
+    @Override
+    public <R> R findAllView(String viewName, Function<List<Anime>, R> view) {
+        return animeData.getAnimeStore().findAllView(viewName, view);
+    }
+
+    @Override
+    public Stream<Anime> stream() {
+        return animeData.getAnimeStore().stream();
     }
 
+    @Override
+    @Cacheable(cacheNames = CacheBeanConfiguration.ANIMES_CACHE, sync = true)
     public Optional<Anime> findById(Long id) {
-        return animeData.getAnimeList().stream().filter(anime -> anime.getId().equals(id)).findFirst();
+        return animeData.getAnimeStore().findById(id);
     }
 
+    @Override
     public List<Anime> findByName(String name) {
-        return animeData.getAnimeList().stream().filter(anime -> anime.getName().equalsIgnoreCase(name)).toList();
+        return animeData.getAnimeStore().findByIndex(AnimeData.NAME_INDEX, name);
+    }
+
+    @Override
+    public List<Anime> search(String query, int limit) {
+        return animeData.getAnimeStore().search(AnimeData.NAME_SEARCH_INDEX, query, limit);
+    }
+
+    @Override
+    public Optional<Long> findVersion(Long id) {
+        return animeData.getAnimeStore().findVersion(id);
+    }
+
+    @Override
+    public long version() {
+        return animeData.getAnimeStore().version();
     }
 
+    @Override
     public Anime save(Anime anime) {
-        animeData.getAnimeList().add(anime);
-        return anime;
+        return animeData.getAnimeStore().save(anime);
+    }
+
+    @Override
+    public List<Anime> saveAll(List<Anime> animes) {
+        return animeData.getAnimeStore().saveAll(animes);
     }
 
+    @Override
     public void delete(Anime anime) {
-        animeData.getAnimeList().remove(anime);
+        animeData.getAnimeStore().delete(anime);
     }
 
+    @Override
     public void update(Anime anime) {
-        delete(anime);
-        save(anime);
+        animeData.getAnimeStore().update(anime);
     }
 
 }
-
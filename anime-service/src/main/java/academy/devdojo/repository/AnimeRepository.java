@@ -0,0 +1,43 @@
+package academy.devdojo.repository;
+
+import academy.devdojo.domain.Anime;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+public interface AnimeRepository {
+
+    List<Anime> findAll();
+
+    /**
+     * Computes {@code view} over every anime at most once per {@link #version()}.
+     */
+    <R> R findAllView(String viewName, Function<List<Anime>, R> view);
+
+    List<Anime> findPage(Long after, int limit);
+
+    Stream<Anime> stream();
+
+    Optional<Anime> findById(Long id);
+
+    List<Anime> findByName(String name);
+
+    /**
+     * Animes whose name has a term starting with every term of {@code query}, best match first.
+     */
+    List<Anime> search(String query, int limit);
+
+    Optional<Long> findVersion(Long id);
+
+    long version();
+
+    Anime save(Anime anime);
+
+    List<Anime> saveAll(List<Anime> animes);
+
+    void delete(Anime anime);
+
+    void update(Anime anime);
+}
@@ -0,0 +1,25 @@
+package academy.devdojo.repository;
+
+import academy.devdojo.domain.Anime;
+import academy.devdojo.wal.RowCodec;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public class AnimeRowCodec implements RowCodec<Anime> {
+
+    @Override
+    public void write(Anime anime, DataOutput out) throws IOException {
+        out.writeLong(anime.getId());
+        RowCodec.writeString(out, anime.getName());
+    }
+
+    @Override
+    public Anime read(ByteBuffer in) {
+        return Anime.builder()
+                .id(in.getLong())
+                .name(RowCodec.readString(in))
+                .build();
+    }
+}
@@ -0,0 +1,243 @@
+package academy.devdojo.repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Full-text index from the terms of a String attribute to the ids of the rows containing them.
+ * <p>
+ * Text is accent-folded and lower-cased, then split into terms on anything that is not a letter or a digit, so
+ * "Shingeki no Kyojin: Kanketsu-hen" and "shingeki kyojin kanketsu" share their terms. Every query term matches
+ * the row terms it is a prefix of, and a row has to match all query terms. Rows score the share of each matched
+ * term the query covered, so exact terms beat prefixes, divided by the square root of the row's term count, so
+ * shorter titles win.
+ * <p>
+ * Postings are looked up by hash, prefixes are expanded over a sorted term dictionary, and each term keeps its
+ * rows bucketed by how many terms they have. A query walks the postings of its term with the fewest rows only,
+ * shortest rows and shortest expansions first, checks its other terms against the terms kept per row, and stops
+ * as soon as no row left can beat the ones it has. Among rows with the same score the first ones met win. It
+ * expands a prefix to at most {@link #MAX_EXPANSIONS} terms and scores at most {@link #MAX_CANDIDATES} rows, so
+ * even a one-letter query costs the same on a million rows as on a thousand.
+ */
+public class InvertedIndex<T> implements SearchIndex<T> {
+    static final int MAX_CANDIDATES = 10_000;
+    static final int MAX_EXPANSIONS = 1024;
+    private static final int MAX_TERM_COUNT = 32;
+    private static final Pattern TERM_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final String[] NO_TERMS = new String[0];
+    private static final Comparator<Match> WORST_FIRST = Comparator.comparingDouble(Match::score)
+            .thenComparing(Comparator.comparingLong(Match::id).reversed());
+
+    private final ConcurrentHashMap<String, Postings> postings = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<String> dictionary = new ConcurrentSkipListSet<>();
+    private final ConcurrentHashMap<Long, String[]> termsById = new ConcurrentHashMap<>();
+    private final Function<T, String> textExtractor;
+
+    public InvertedIndex(Function<T, String> textExtractor) {
+        this.textExtractor = textExtractor;
+    }
+
+    @Override
+    public List<Long> search(String query, int limit) {
+        var queryTerms = query == null ? NO_TERMS : terms(query);
+        if (queryTerms.length == 0 || limit <= 0) return List.of();
+
+        var driver = queryTerms[0];
+        var expansions = expand(driver);
+        var driverRows = rowCount(expansions);
+        for (int i = 1; i < queryTerms.length; i++) {
+            var candidate = expand(queryTerms[i]);
+            var candidateRows = rowCount(candidate);
+            if (candidateRows < driverRows) {
+                driver = queryTerms[i];
+                expansions = candidate;
+                driverRows = candidateRows;
+            }
+        }
+
+        var top = new PriorityQueue<Match>(limit + 1, WORST_FIRST);
+        var duplicatesPossible = expansions.size() > 1;
+        var scanned = 0;
+
+        for (int termCount = 1; termCount <= MAX_TERM_COUNT; termCount++) {
+            for (var expansion : expansions) {
+                var coverage = (double) driver.length() / expansion.term().length();
+                var bound = (queryTerms.length - 1 + coverage) / Math.sqrt(termCount);
+                if (cannotBeat(top, limit, bound)) continue;
+
+                var rows = expansion.postings().rows(termCount);
+                if (rows == null) continue;
+                for (var id : rows) {
+                    if (cannotBeat(top, limit, bound)) break;
+                    if (++scanned > MAX_CANDIDATES) return ranked(top);
+                    var score = queryTerms.length == 1 && termCount < MAX_TERM_COUNT ? bound : score(queryTerms, termsById.get(id));
+                    if (score == 0 || cannotBeat(top, limit, score)) continue;
+                    if (duplicatesPossible && contains(top, id)) continue;
+
+                    top.offer(new Match(id, score));
+                    if (top.size() > limit) top.poll();
+                }
+            }
+        }
+        return ranked(top);
+    }
+
+    @Override
+    public void put(Long id, T row) {
+        var text = textExtractor.apply(row);
+        var rowTerms = text == null ? NO_TERMS : terms(text);
+        var previousTerms = rowTerms.length == 0 ? termsById.remove(id) : termsById.put(id, rowTerms);
+        if (previousTerms == null) previousTerms = NO_TERMS;
+
+        var sameTermCount = previousTerms.length == rowTerms.length;
+        var previous = sameTermCount ? Set.of(previousTerms) : Set.<String>of();
+        var current = sameTermCount ? Set.of(rowTerms) : Set.<String>of();
+
+        for (var term : previousTerms) {
+            if (!current.contains(term)) removePosting(term, previousTerms.length, id);
+        }
+        for (var term : rowTerms) {
+            if (!previous.contains(term)) addPosting(term, rowTerms.length, id);
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        var previousTerms = termsById.remove(id);
+        if (previousTerms == null) return;
+        for (var term : previousTerms) removePosting(term, previousTerms.length, id);
+    }
+
+    public int termCount() {
+        return dictionary.size();
+    }
+
+    /**
+     * Distinct folded terms of {@code text}, in the order they first appear.
+     */
+    static String[] terms(String text) {
+        var folded = TextFolding.fold(text);
+        var terms = new LinkedHashSet<String>();
+        for (var term : TERM_SEPARATORS.split(folded)) {
+            if (!term.isEmpty()) terms.add(term);
+        }
+        return terms.toArray(NO_TERMS);
+    }
+
+    private List<Expansion> expand(String prefix) {
+        var expansions = new ArrayList<Expansion>();
+        for (var term : dictionary.tailSet(prefix)) {
+            if (!term.startsWith(prefix) || expansions.size() == MAX_EXPANSIONS) break;
+            var termPostings = postings.get(term);
+            if (termPostings != null) expansions.add(new Expansion(term, termPostings));
+        }
+        expansions.sort(Comparator.comparingInt(expansion -> expansion.term().length()));
+        return expansions;
+    }
+
+    private static long rowCount(List<Expansion> expansions) {
+        return expansions.stream().mapToLong(expansion -> expansion.postings().size).sum();
+    }
+
+    private static boolean cannotBeat(PriorityQueue<Match> top, int limit, double bound) {
+        return top.size() == limit && top.peek().score() >= bound;
+    }
+
+    /**
+     * A row met again through a longer expansion scores no better than the first time, so it only has to be
+     * looked for among the rows kept so far.
+     */
+    private static boolean contains(PriorityQueue<Match> top, long id) {
+        for (var match : top) {
+            if (match.id() == id) return true;
+        }
+        return false;
+    }
+
+    private static List<Long> ranked(PriorityQueue<Match> top) {
+        var ranked = new ArrayList<Long>(top.size());
+        while (!top.isEmpty()) ranked.add(top.poll().id());
+        return ranked.reversed();
+    }
+
+    private static double score(String[] queryTerms, String[] rowTerms) {
+        if (rowTerms == null) return 0;
+        var score = 0.0;
+        for (var queryTerm : queryTerms) {
+            var best = 0.0;
+            for (var rowTerm : rowTerms) {
+                if (rowTerm.startsWith(queryTerm)) best = Math.max(best, (double) queryTerm.length() / rowTerm.length());
+            }
+            if (best == 0) return 0;
+            score += best;
+        }
+        return score / Math.sqrt(rowTerms.length);
+    }
+
+    private void addPosting(String term, int termCount, Long id) {
+        postings.compute(term, (key, termPostings) -> {
+            var updated = termPostings;
+            if (updated == null) {
+                updated = new Postings();
+                dictionary.add(key);
+            }
+            updated.add(termCount, id);
+            return updated;
+        });
+    }
+
+    private void removePosting(String term, int termCount, Long id) {
+        postings.computeIfPresent(term, (key, termPostings) -> {
+            if (!termPostings.remove(termCount, id)) return termPostings;
+            dictionary.remove(key);
+            return null;
+        });
+    }
+
+    /**
+     * Rows of one term bucketed by term count, the last bucket holding every longer row. Only changed inside
+     * {@link ConcurrentHashMap#compute} for the term; searches read {@code size} as an estimate only.
+     */
+    private static final class Postings {
+        private final AtomicReferenceArray<Set<Long>> rowsByTermCount = new AtomicReferenceArray<>(MAX_TERM_COUNT + 1);
+        private volatile int size;
+
+        Set<Long> rows(int termCount) {
+            return rowsByTermCount.get(termCount);
+        }
+
+        void add(int termCount, Long id) {
+            var bucket = Math.min(termCount, MAX_TERM_COUNT);
+            var rows = rowsByTermCount.get(bucket);
+            if (rows == null) {
+                rows = ConcurrentHashMap.newKeySet();
+                rowsByTermCount.set(bucket, rows);
+            }
+            if (rows.add(id)) size++;
+        }
+
+        /**
+         * Returns whether the term has no rows left.
+         */
+        boolean remove(int termCount, Long id) {
+            var rows = rowsByTermCount.get(Math.min(termCount, MAX_TERM_COUNT));
+            if (rows != null && rows.remove(id)) size--;
+            return size == 0;
+        }
+    }
+
+    private record Expansion(String term, Postings postings) {
+    }
+
+    private record Match(long id, double score) {
+    }
+}
@@ -0,0 +1,133 @@
+package academy.devdojo.repository;
+
+import academy.devdojo.domain.Anime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@Repository
+@Profile("jdbc")
+@RequiredArgsConstructor
+public class JdbcAnimeRepository implements AnimeRepository {
+    static final String TABLE = "animes";
+    private static final int BATCH_SIZE = 500;
+    private static final String SELECT = "SELECT id, name FROM animes";
+    private static final RowMapper<Anime> ROW_MAPPER = (resultSet, rowNum) -> Anime.builder()
+            .id(resultSet.getLong("id"))
+            .name(resultSet.getString("name"))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataVersions dataVersions;
+
+    @Override
+    public List<Anime> findAll() {
+        return jdbcTemplate.query(SELECT + " ORDER BY id", ROW_MAPPER);
+    }
+
+    @Override
+    public <R> R findAllView(String viewName, Function<List<Anime>, R> view) {
+        return dataVersions.view(TABLE, viewName, this::findAll, view);
+    }
+
+    @Override
+    public List<Anime> findPage(Long after, int limit) {
+        if (after == null) return jdbcTemplate.query(SELECT + " ORDER BY id LIMIT ?", ROW_MAPPER, limit);
+        return jdbcTemplate.query(SELECT + " WHERE id > ? ORDER BY id LIMIT ?", ROW_MAPPER, after, limit);
+    }
+
+    @Override
+    public Stream<Anime> stream() {
+        return jdbcTemplate.queryForStream(SELECT + " ORDER BY id", ROW_MAPPER);
+    }
+
+    /**
+     * Not cached: writes from other instances would never evict this instance's copy, and checking a cached row
+     * against its version costs the same primary key lookup.
+     */
+    @Override
+    public Optional<Anime> findById(Long id) {
+        return jdbcTemplate.query(SELECT + " WHERE id = ?", ROW_MAPPER, id).stream().findFirst();
+    }
+
+    @Override
+    public List<Anime> findByName(String name) {
+        return jdbcTemplate.query(SELECT + " WHERE name_key = LOWER(?) ORDER BY id", ROW_MAPPER, name);
+    }
+
+    /**
+     * Matches term prefixes with {@code LIKE} on the lower-cased name and ranks shorter names first. Unlike the
+     * in-memory index, accents are not folded on the database side.
+     */
+    @Override
+    public List<Anime> search(String query, int limit) {
+        var terms = InvertedIndex.terms(query == null ? "" : query);
+        if (terms.length == 0 || limit <= 0) return List.of();
+
+        var where = new StringJoiner(" AND ", " WHERE ", " ORDER BY LENGTH(name), id LIMIT ?");
+        var args = new ArrayList<Object>(terms.length * 2 + 1);
+        for (var term : terms) {
+            var escaped = term.replaceAll("([\\\\%_])", "\\\\$1");
+            where.add("(name_key LIKE ? ESCAPE '\\' OR name_key LIKE ? ESCAPE '\\')");
+            args.add(escaped + "%");
+            args.add("% " + escaped + "%");
+        }
+        args.add(limit);
+        return jdbcTemplate.query(SELECT + where, ROW_MAPPER, args.toArray());
+    }
+
+    @Override
+    public Optional<Long> findVersion(Long id) {
+        return jdbcTemplate.queryForList("SELECT version FROM animes WHERE id = ?", Long.class, id).stream().findFirst();
+    }
+
+    @Override
+    public long version() {
+        return dataVersions.current(TABLE);
+    }
+
+    @Override
+    @Transactional
+    public Anime save(Anime anime) {
+        var version = dataVersions.next(TABLE);
+        jdbcTemplate.update("INSERT INTO animes (id, name, version) VALUES (?, ?, ?)", anime.getId(), anime.getName(), version);
+        return anime;
+    }
+
+    @Override
+    @Transactional
+    public List<Anime> saveAll(List<Anime> animes) {
+        var version = dataVersions.next(TABLE);
+        jdbcTemplate.batchUpdate("INSERT INTO animes (id, name, version) VALUES (?, ?, ?)", animes, BATCH_SIZE,
+                (statement, anime) -> {
+                    statement.setLong(1, anime.getId());
+                    statement.setString(2, anime.getName());
+                    statement.setLong(3, version);
+                });
+        return animes;
+    }
+
+    @Override
+    @Transactional
+    public void delete(Anime anime) {
+        dataVersions.next(TABLE);
+        jdbcTemplate.update("DELETE FROM animes WHERE id = ?", anime.getId());
+    }
+
+    @Override
+    @Transactional
+    public void update(Anime anime) {
+        var version = dataVersions.next(TABLE);
+        jdbcTemplate.update("UPDATE animes SET name = ?, version = ? WHERE id = ?", anime.getName(), version, anime.getId());
+    }
+}
@@ -0,0 +1,107 @@
+package academy.devdojo.repository;
+
+import academy.devdojo.domain.Producer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@Repository
+@Profile("jdbc")
+@RequiredArgsConstructor
+public class JdbcProducerRepository implements ProducerRepository {
+    static final String TABLE = "producers";
+    private static final String SELECT = "SELECT id, name, created_at FROM producers";
+    private static final RowMapper<Producer> ROW_MAPPER = (resultSet, rowNum) -> Producer.builder()
+            .id(resultSet.getLong("id"))
+            .name(resultSet.getString("name"))
+            .createdAt(resultSet.getObject("created_at", LocalDateTime.class))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataVersions dataVersions;
+
+    @Override
+    public List<Producer> findAll() {
+        return jdbcTemplate.query(SELECT + " ORDER BY id", ROW_MAPPER);
+    }
+
+    @Override
+    public <R> R findAllView(String viewName, Function<List<Producer>, R> view) {
+        return dataVersions.view(TABLE, viewName, this::findAll, view);
+    }
+
+    @Override
+    public Stream<Producer> stream() {
+        return jdbcTemplate.queryForStream(SELECT + " ORDER BY id", ROW_MAPPER);
+    }
+
+    /**
+     * Not cached: writes from other instances would never evict this instance's copy, and checking a cached row
+     * against its version costs the same primary key lookup.
+     */
+    @Override
+    public Optional<Producer> findById(Long id) {
+        return jdbcTemplate.query(SELECT + " WHERE id = ?", ROW_MAPPER, id).stream().findFirst();
+    }
+
+    @Override
+    public List<Producer> findByName(String name) {
+        return jdbcTemplate.query(SELECT + " WHERE name_key = LOWER(?) ORDER BY id", ROW_MAPPER, name);
+    }
+
+    /**
+     * Uses the index on the lower-cased name for the prefix range. Unlike the in-memory trie, accents are not folded
+     * on the database side.
+     */
+    @Override
+    public List<Producer> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank() || limit <= 0) return List.of();
+        var pattern = prefix.toLowerCase(Locale.ROOT).replaceAll("([\\\\%_])", "\\\\$1") + "%";
+        return jdbcTemplate.query(SELECT + " WHERE name_key LIKE ? ESCAPE '\\' ORDER BY LENGTH(name_key), name_key, id LIMIT ?",
+                ROW_MAPPER, pattern, limit);
+    }
+
+    @Override
+    public Optional<Long> findVersion(Long id) {
+        return jdbcTemplate.queryForList("SELECT version FROM producers WHERE id = ?", Long.class, id).stream().findFirst();
+    }
+
+    @Override
+    public long version() {
+        return dataVersions.current(TABLE);
+    }
+
+    @Override
+    @Transactional
+    public Producer save(Producer producer) {
+        var version = dataVersions.next(TABLE);
+        jdbcTemplate.update("INSERT INTO producers (id, name, created_at, version) VALUES (?, ?, ?, ?)",
+                producer.getId(), producer.getName(), producer.getCreatedAt(), version);
+        return producer;
+    }
+
+    @Override
+    @Transactional
+    public void delete(Producer producer) {
+        dataVersions.next(TABLE);
+        jdbcTemplate.update("DELETE FROM producers WHERE id = ?", producer.getId());
+    }
+
+    @Override
+    @Transactional
+    public void update(Producer producer) {
+        var version = dataVersions.next(TABLE);
+        jdbcTemplate.update("UPDATE producers SET name = ?, created_at = ?, version = ? WHERE id = ?",
+                producer.getName(), producer.getCreatedAt(), version, producer.getId());
+    }
+}
@@ -5,19 +5,28 @@ import lombok.Getter;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 
 @Component
 public class ProducerData {
+    public static final String NAME_INDEX = "name";
+    public static final String NAME_SUGGEST_INDEX = "name-suggest";
+
     @Getter
-    private final List<Producer> producers = new ArrayList<>();
+    private final IndexedStore<Producer> producerStore = newProducerStore();
 
     {
         var mappa = Producer.builder().id(1L).name("Mappa").createdAt(LocalDateTime.now()).build();
         var kyotoAnimation = Producer.builder().id(2L).name("Kyoto Animation").createdAt(LocalDateTime.now()).build();
         var madhouse = Producer.builder().id(3L).name("Madhouse").createdAt(LocalDateTime.now()).build();
-        producers.addAll(List.of(mappa, kyotoAnimation, madhouse));
+        List.of(mappa, kyotoAnimation, madhouse).forEach(producerStore::save);
+    }
+
+    public static IndexedStore<Producer> newProducerStore() {
+        var producerStore = new IndexedStore<>(Producer::getId);
+        producerStore.addIndex(NAME_INDEX, Producer::getName);
+        producerStore.addSearchIndex(NAME_SUGGEST_INDEX, new RadixTrie<>(Producer::getName));
+        return producerStore;
     }
 
 }
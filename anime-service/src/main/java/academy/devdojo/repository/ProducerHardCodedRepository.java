@@ -1,44 +1,80 @@
 package academy.devdojo.repository;
 
+import academy.devdojo.config.CacheBeanConfiguration;
 import academy.devdojo.domain.Producer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Repository
+@Profile("!jdbc")
 @RequiredArgsConstructor
 @Log4j2
-public class ProducerHardCodedRepository {
+public class ProducerHardCodedRepository implements ProducerRepository {
 
     private final ProducerData producerData;
 
+    @Override
     public List<Producer> findAll() {
-        return producerData.getProducers();
+        return producerData.getProducerStore().findAll();
     }
 
+    @Override
+    public <R> R findAllView(String viewName, Function<List<Producer>, R> view) {
+        return producerData.getProducerStore().findAllView(viewName, view);
+    }
+
+    @Override
+    public Stream<Producer> stream() {
+        return producerData.getProducerStore().stream();
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheBeanConfiguration.PRODUCERS_CACHE, sync = true)
     public Optional<Producer> findById(Long id) {
-        return producerData.getProducers().stream().filter(producer -> producer.getId().equals(id)).findFirst();
+        return producerData.getProducerStore().findById(id);
     }
 
+    @Override
     public List<Producer> findByName(String name) {
-        return producerData.getProducers().stream().filter(producer -> producer.getName().equalsIgnoreCase(name)).toList();
+        return producerData.getProducerStore().findByIndex(ProducerData.NAME_INDEX, name);
+    }
+
+    @Override
+    public List<Producer> suggest(String prefix, int limit) {
+        return producerData.getProducerStore().search(ProducerData.NAME_SUGGEST_INDEX, prefix, limit);
+    }
+
+    @Override
+    public Optional<Long> findVersion(Long id) {
+        return producerData.getProducerStore().findVersion(id);
+    }
+
+    @Override
+    public long version() {
+        return producerData.getProducerStore().version();
     }
 
+    @Override
     public Producer save(Producer producer) {
-        producerData.getProducers().add(producer);
-        return producer;
+        return producerData.getProducerStore().save(producer);
     }
 
+    @Override
     public void delete(Producer producer) {
-        producerData.getProducers().remove(producer);
+        producerData.getProducerStore().delete(producer);
     }
 
+    @Override
     public void update(Producer producer) {
-        delete(producer);
-        save(producer);
+        producerData.getProducerStore().update(producer);
     }
 
 }
@@ -0,0 +1,39 @@
+package academy.devdojo.repository;
+
+import academy.devdojo.domain.Producer;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+public interface ProducerRepository {
+
+    List<Producer> findAll();
+
+    /**
+     * Computes {@code view} over every producer at most once per {@link #version()}.
+     */
+    <R> R findAllView(String viewName, Function<List<Producer>, R> view);
+
+    Stream<Producer> stream();
+
+    Optional<Producer> findById(Long id);
+
+    List<Producer> findByName(String name);
+
+    /**
+     * Producers whose name starts with {@code prefix}, ignoring case and accents, shortest names first.
+     */
+    List<Producer> suggest(String prefix, int limit);
+
+    Optional<Long> findVersion(Long id);
+
+    long version();
+
+    Producer save(Producer producer);
+
+    void delete(Producer producer);
+
+    void update(Producer producer);
+}
@@ -0,0 +1,36 @@
+package academy.devdojo.repository;
+
+import academy.devdojo.domain.Producer;
+import academy.devdojo.wal.RowCodec;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * {@code createdAt} is stored as UTC epoch seconds and nanos, behind a presence flag.
+ */
+public class ProducerRowCodec implements RowCodec<Producer> {
+
+    @Override
+    public void write(Producer producer, DataOutput out) throws IOException {
+        out.writeLong(producer.getId());
+        RowCodec.writeString(out, producer.getName());
+        var createdAt = producer.getCreatedAt();
+        out.writeBoolean(createdAt != null);
+        if (createdAt == null) return;
+        out.writeLong(createdAt.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(createdAt.getNano());
+    }
+
+    @Override
+    public Producer read(ByteBuffer in) {
+        return Producer.builder()
+                .id(in.getLong())
+                .name(RowCodec.readString(in))
+                .createdAt(in.get() == 0 ? null : LocalDateTime.ofEpochSecond(in.getLong(), in.getInt(), ZoneOffset.UTC))
+                .build();
+    }
+}
@@ -0,0 +1,260 @@
+package academy.devdojo.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Prefix index over a folded String attribute, answering {@link #search(String, int)} with the ids of the rows
+ * whose whole key starts with the query, shortest keys first, then alphabetically, then by id.
+ * <p>
+ * Keys are folded by {@link TextFolding} and stored in a radix trie: chains of single-child nodes are merged into
+ * one edge label, so there is one node per branching point or key end, each holding a sorted child array and the
+ * sorted ids whose key ends there. The trie is immutable. A write copies the nodes on the path it changes and
+ * publishes a new root, writers taking turns on a lock, so searches never lock and always read one consistent
+ * version. Every node knows the length of the shortest key below it, so a search descends to the prefix and
+ * then opens subtrees in the order of the best key they can still hold, stopping after {@code limit} ids; its
+ * cost depends on the results it returns and not on how many keys share the prefix.
+ */
+public class RadixTrie<T> implements SearchIndex<T> {
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final long[] NO_IDS = new long[0];
+    private static final Comparator<Candidate> SHORTEST_FIRST = Comparator.comparingInt(Candidate::shortestKey)
+            .thenComparing(Candidate::key);
+
+    private final ConcurrentHashMap<Long, String> keysById = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Function<T, String> keyExtractor;
+    private volatile Node root = new Node("", NO_CHILDREN, NO_IDS);
+
+    public RadixTrie(Function<T, String> keyExtractor) {
+        this.keyExtractor = keyExtractor;
+    }
+
+    @Override
+    public List<Long> search(String query, int limit) {
+        if (query == null || query.isBlank() || limit <= 0) return List.of();
+
+        var prefix = TextFolding.fold(query);
+        var node = root;
+        var path = "";
+        var rest = prefix;
+        while (!rest.isEmpty()) {
+            var index = childIndex(node.children(), rest.charAt(0));
+            if (index < 0) return List.of();
+            var child = node.children()[index];
+            var common = commonPrefixLength(child.label(), rest);
+            if (common < Math.min(child.label().length(), rest.length())) return List.of();
+            path += child.label();
+            rest = rest.substring(common);
+            node = child;
+        }
+
+        if (node.shortest() == Integer.MAX_VALUE) return List.of();
+
+        var ids = new ArrayList<Long>(limit);
+        var candidates = new PriorityQueue<>(SHORTEST_FIRST);
+        candidates.add(Candidate.of(node, path));
+        while (!candidates.isEmpty()) {
+            var candidate = candidates.poll();
+            for (var id : candidate.node().ids()) {
+                ids.add(id);
+                if (ids.size() == limit) return ids;
+            }
+            for (var child : candidate.node().children()) {
+                candidates.add(Candidate.of(child, candidate.key() + child.label()));
+            }
+        }
+        return ids;
+    }
+
+    @Override
+    public void put(Long id, T row) {
+        var value = keyExtractor.apply(row);
+        var key = value == null ? null : TextFolding.fold(value);
+        writeLock.lock();
+        try {
+            var previousKey = key == null ? keysById.remove(id) : keysById.put(id, key);
+            if (key != null && key.equals(previousKey)) return;
+
+            var updated = root;
+            if (previousKey != null) updated = remove(updated, previousKey, id);
+            if (key != null) updated = insert(updated, key, id);
+            root = updated;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        writeLock.lock();
+        try {
+            var key = keysById.remove(id);
+            if (key != null) root = remove(root, key, id);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    int nodeCount() {
+        var count = 0;
+        var pending = new ArrayList<Node>(List.of(root));
+        while (!pending.isEmpty()) {
+            var node = pending.removeLast();
+            count++;
+            pending.addAll(Arrays.asList(node.children()));
+        }
+        return count;
+    }
+
+    /**
+     * {@code key} is what is left of the key below {@code node}'s own label.
+     */
+    private static Node insert(Node node, String key, long id) {
+        if (key.isEmpty()) return node.withIds(addId(node.ids(), id));
+
+        var index = childIndex(node.children(), key.charAt(0));
+        if (index < 0) {
+            var leaf = new Node(key, NO_CHILDREN, new long[]{id});
+            return node.withChildren(insertAt(node.children(), -index - 1, leaf));
+        }
+
+        var child = node.children()[index];
+        var common = commonPrefixLength(child.label(), key);
+        if (common < child.label().length()) {
+            var tail = new Node(child.label().substring(common), child.children(), child.ids());
+            child = new Node(child.label().substring(0, common), new Node[]{tail}, NO_IDS);
+        }
+        return node.withChildren(replaceAt(node.children(), index, insert(child, key.substring(common), id)));
+    }
+
+    private static Node remove(Node node, String key, long id) {
+        if (key.isEmpty()) return node.withIds(removeId(node.ids(), id));
+
+        var index = childIndex(node.children(), key.charAt(0));
+        if (index < 0) return node;
+        var child = node.children()[index];
+        if (!key.startsWith(child.label())) return node;
+
+        var updated = compact(remove(child, key.substring(child.label().length()), id));
+        if (updated == child) return node;
+        return node.withChildren(updated == null ? removeAt(node.children(), index) : replaceAt(node.children(), index, updated));
+    }
+
+    /**
+     * Drops a node left without ids or children and merges one left with a single child into it, so removals leave
+     * the trie as compact as if the key had never been inserted.
+     */
+    private static Node compact(Node node) {
+        if (node.ids().length > 0) return node;
+        if (node.children().length == 0) return null;
+        if (node.children().length > 1) return node;
+        var child = node.children()[0];
+        return new Node(node.label() + child.label(), child.children(), child.ids());
+    }
+
+    private static int childIndex(Node[] children, char first) {
+        int low = 0;
+        int high = children.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            var current = children[middle].label().charAt(0);
+            if (current < first) low = middle + 1;
+            else if (current > first) high = middle - 1;
+            else return middle;
+        }
+        return -low - 1;
+    }
+
+    private static int commonPrefixLength(String left, String right) {
+        var length = Math.min(left.length(), right.length());
+        for (int i = 0; i < length; i++) {
+            if (left.charAt(i) != right.charAt(i)) return i;
+        }
+        return length;
+    }
+
+    private static long[] addId(long[] ids, long id) {
+        var index = Arrays.binarySearch(ids, id);
+        if (index >= 0) return ids;
+        var position = -index - 1;
+        var added = new long[ids.length + 1];
+        System.arraycopy(ids, 0, added, 0, position);
+        added[position] = id;
+        System.arraycopy(ids, position, added, position + 1, ids.length - position);
+        return added;
+    }
+
+    private static long[] removeId(long[] ids, long id) {
+        var index = Arrays.binarySearch(ids, id);
+        if (index < 0) return ids;
+        var removed = new long[ids.length - 1];
+        System.arraycopy(ids, 0, removed, 0, index);
+        System.arraycopy(ids, index + 1, removed, index, ids.length - index - 1);
+        return removed;
+    }
+
+    private static Node[] insertAt(Node[] children, int index, Node child) {
+        var inserted = new Node[children.length + 1];
+        System.arraycopy(children, 0, inserted, 0, index);
+        inserted[index] = child;
+        System.arraycopy(children, index, inserted, index + 1, children.length - index);
+        return inserted;
+    }
+
+    private static Node[] replaceAt(Node[] children, int index, Node child) {
+        var replaced = children.clone();
+        replaced[index] = child;
+        return replaced;
+    }
+
+    private static Node[] removeAt(Node[] children, int index) {
+        var removed = new Node[children.length - 1];
+        System.arraycopy(children, 0, removed, 0, index);
+        System.arraycopy(children, index + 1, removed, index, children.length - index - 1);
+        return removed;
+    }
+
+    /**
+     * {@code shortest} is how many characters the shortest key below the node has past its label, 0 when the node
+     * has ids of its own.
+     */
+    private record Node(String label, Node[] children, long[] ids, int shortest) {
+
+        Node(String label, Node[] children, long[] ids) {
+            this(label, children, ids, shortest(children, ids));
+        }
+
+        private static int shortest(Node[] children, long[] ids) {
+            if (ids.length > 0) return 0;
+            var shortest = Integer.MAX_VALUE;
+            for (var child : children) shortest = Math.min(shortest, child.label().length() + child.shortest());
+            return shortest;
+        }
+
+        Node withIds(long[] updatedIds) {
+            return updatedIds == ids ? this : new Node(label, children, updatedIds);
+        }
+
+        Node withChildren(Node[] updatedChildren) {
+            return new Node(label, updatedChildren, ids);
+        }
+    }
+
+    /**
+     * A subtree to visit, ordered by the length of its shortest key and then by its path, which no key in it sorts
+     * before, so a subtree is only opened once it may hold the next key in order.
+     */
+    private record Candidate(Node node, String key, int shortestKey) {
+
+        static Candidate of(Node node, String key) {
+            return new Candidate(node, key, key.length() + node.shortest());
+        }
+    }
+}
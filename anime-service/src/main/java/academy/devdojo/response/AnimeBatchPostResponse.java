@@ -0,0 +1,24 @@
+package academy.devdojo.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AnimeBatchPostResponse {
+    private int index;
+    private Status status;
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private Long id;
+    private String name;
+    private String error;
+
+    public enum Status {
+        CREATED, REJECTED
+    }
+}
@@ -1,5 +1,6 @@
 package academy.devdojo.response;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
@@ -8,6 +9,7 @@ import lombok.Setter;
 @Setter
 @Builder
 public class AnimeGetResponse {
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
     private Long id;
     private String name;
 }
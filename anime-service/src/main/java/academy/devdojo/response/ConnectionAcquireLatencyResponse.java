@@ -0,0 +1,22 @@
+package academy.devdojo.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Map;
+
+/**
+ * {@code percentiles} map each percentile to milliseconds and {@code histogram} maps each bucket's upper bound in
+ * milliseconds to the number of acquisitions that took at most that long.
+ */
+@Getter
+@Setter
+@Builder
+public class ConnectionAcquireLatencyResponse {
+    private long count;
+    private double meanMillis;
+    private double maxMillis;
+    private Map<Double, Double> percentiles;
+    private Map<Double, Double> histogram;
+}
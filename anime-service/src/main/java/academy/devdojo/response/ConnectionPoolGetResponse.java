@@ -0,0 +1,19 @@
+package academy.devdojo.response;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+public class ConnectionPoolGetResponse {
+    private String name;
+    private int minimumIdle;
+    private int maximumSize;
+    private int active;
+    private int idle;
+    private int pending;
+    private int total;
+    private ConnectionAcquireLatencyResponse acquireLatency;
+}
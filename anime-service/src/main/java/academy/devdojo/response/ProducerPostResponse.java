@@ -1,5 +1,6 @@
 package academy.devdojo.response;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
@@ -9,6 +10,7 @@ import lombok.Setter;
 @Builder
 
 public class ProducerPostResponse {
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
     private Long id;
     private String name;
 }
@@ -1,40 +1,97 @@
 package academy.devdojo.service;
 
+import academy.devdojo.config.CacheBeanConfiguration;
 import academy.devdojo.domain.Anime;
-import academy.devdojo.repository.AnimeHardCodedRepository;
+import academy.devdojo.exception.NotFoundException;
+import academy.devdojo.repository.AnimeRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
-import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class AnimeService {
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    public static final int MAX_SEARCH_LIMIT = 100;
 
-    private final AnimeHardCodedRepository repository;
+    private final AnimeRepository repository;
 
     public List<Anime> findAll(String name) {
         return name == null ? repository.findAll() : repository.findByName(name);
     }
 
+    public List<Anime> findPage(String name, Long after, int limit) {
+        if (name == null) return repository.findPage(after, limit);
+        return repository.findByName(name).stream()
+                .filter(anime -> after == null || anime.getId() > after)
+                .limit(limit)
+                .toList();
+    }
+
+    public List<Anime> search(String query, Integer limit) {
+        return repository.search(query, Math.clamp(limit == null ? DEFAULT_SEARCH_LIMIT : limit, 1, MAX_SEARCH_LIMIT));
+    }
+
+    public <R> R findAllView(String viewName, Function<List<Anime>, R> view) {
+        return repository.findAllView(viewName, view);
+    }
+
+    public Stream<Anime> stream(String name) {
+        return name == null ? repository.stream() : repository.findByName(name).stream();
+    }
+
     public Anime findByIdOrThrowNotFound(Long id) {
-        return repository.findById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Anime not found"));
+        return repository.findById(id).orElseThrow(() -> new NotFoundException("Anime not found"));
+    }
+
+    public Optional<Long> findVersion(Long id) {
+        return repository.findVersion(id);
     }
 
+    public long version() {
+        return repository.version();
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheBeanConfiguration.ANIMES_CACHE, key = "#anime.id", beforeInvocation = true),
+            @CacheEvict(cacheNames = CacheBeanConfiguration.ANIMES_CACHE, key = "#anime.id")
+    })
     public Anime save(Anime anime) {
         return repository.save(anime);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheBeanConfiguration.ANIMES_CACHE, allEntries = true, beforeInvocation = true),
+            @CacheEvict(cacheNames = CacheBeanConfiguration.ANIMES_CACHE, allEntries = true)
+    })
+    public List<Anime> saveAll(List<Anime> animes) {
+        return repository.saveAll(animes);
+    }
+
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheBeanConfiguration.ANIMES_CACHE, key = "#id", beforeInvocation = true),
+            @CacheEvict(cacheNames = CacheBeanConfiguration.ANIMES_CACHE, key = "#id")
+    })
     public void delete(Long id) {
         Anime producerToDelete = this.findByIdOrThrowNotFound(id);
         repository.delete(producerToDelete);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheBeanConfiguration.ANIMES_CACHE, key = "#animeToUpdate.id", beforeInvocation = true),
+            @CacheEvict(cacheNames = CacheBeanConfiguration.ANIMES_CACHE, key = "#animeToUpdate.id")
+    })
     public void update(Anime animeToUpdate) {
-        Anime foundAnime = findByIdOrThrowNotFound(animeToUpdate.getId());
-        repository.update(foundAnime);
+        findByIdOrThrowNotFound(animeToUpdate.getId());
+        repository.update(animeToUpdate);
     }
 
 }
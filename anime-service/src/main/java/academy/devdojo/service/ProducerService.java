@@ -1,37 +1,76 @@
 package academy.devdojo.service;
 
+import academy.devdojo.config.CacheBeanConfiguration;
 import academy.devdojo.domain.Producer;
-import academy.devdojo.repository.ProducerHardCodedRepository;
+import academy.devdojo.exception.NotFoundException;
+import academy.devdojo.repository.ProducerRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
-import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ProducerService {
+    public static final int DEFAULT_SUGGEST_LIMIT = 10;
+    public static final int MAX_SUGGEST_LIMIT = 50;
 
-    private final ProducerHardCodedRepository repository;
+    private final ProducerRepository repository;
 
     public List<Producer> findAll(String name) {
         return name == null ? repository.findAll() : repository.findByName(name);
     }
 
+    public List<Producer> suggest(String prefix, Integer limit) {
+        return repository.suggest(prefix, Math.clamp(limit == null ? DEFAULT_SUGGEST_LIMIT : limit, 1, MAX_SUGGEST_LIMIT));
+    }
+
+    public <R> R findAllView(String viewName, Function<List<Producer>, R> view) {
+        return repository.findAllView(viewName, view);
+    }
+
+    public Stream<Producer> stream(String name) {
+        return name == null ? repository.stream() : repository.findByName(name).stream();
+    }
+
     public Producer findByIdOrThrowNotFound(Long id) {
-        return repository.findById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Producer not found"));
+        return repository.findById(id).orElseThrow(() -> new NotFoundException("Producer not found"));
+    }
+
+    public Optional<Long> findVersion(Long id) {
+        return repository.findVersion(id);
+    }
+
+    public long version() {
+        return repository.version();
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheBeanConfiguration.PRODUCERS_CACHE, key = "#producer.id", beforeInvocation = true),
+            @CacheEvict(cacheNames = CacheBeanConfiguration.PRODUCERS_CACHE, key = "#producer.id")
+    })
     public Producer save(Producer producer) {
         return repository.save(producer);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheBeanConfiguration.PRODUCERS_CACHE, key = "#id", beforeInvocation = true),
+            @CacheEvict(cacheNames = CacheBeanConfiguration.PRODUCERS_CACHE, key = "#id")
+    })
     public void delete(Long id) {
         Producer producerToDelete = this.findByIdOrThrowNotFound(id);
         repository.delete(producerToDelete);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheBeanConfiguration.PRODUCERS_CACHE, key = "#producerToUpdate.id", beforeInvocation = true),
+            @CacheEvict(cacheNames = CacheBeanConfiguration.PRODUCERS_CACHE, key = "#producerToUpdate.id")
+    })
     public void update(Producer producerToUpdate) {
         Producer producer = findByIdOrThrowNotFound(producerToUpdate.getId());
         producerToUpdate.setCreatedAt(producer.getCreatedAt());
@@ -0,0 +1,32 @@
+CREATE TABLE IF NOT EXISTS data_versions
+(
+    name    VARCHAR(64) PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+INSERT INTO data_versions (name, version)
+SELECT 'animes', 0 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM data_versions WHERE name = 'animes');
+
+INSERT INTO data_versions (name, version)
+SELECT 'producers', 0 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM data_versions WHERE name = 'producers');
+
+CREATE TABLE IF NOT EXISTS animes
+(
+    id       BIGINT PRIMARY KEY,
+    name     VARCHAR(255),
+    name_key VARCHAR(255) GENERATED ALWAYS AS (LOWER(name)),
+    version  BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS animes_name_key ON animes (name_key);
+
+CREATE TABLE IF NOT EXISTS producers
+(
+    id         BIGINT PRIMARY KEY,
+    name       VARCHAR(255),
+    name_key   VARCHAR(255) GENERATED ALWAYS AS (LOWER(name)),
+    created_at TIMESTAMP(9),
+    version    BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS producers_name_key ON producers (name_key);
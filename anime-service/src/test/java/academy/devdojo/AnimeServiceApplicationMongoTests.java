@@ -0,0 +1,21 @@
+package academy.devdojo;
+
+import academy.devdojo.config.Connection;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("mongo")
+class AnimeServiceApplicationMongoTests {
+    @Autowired
+    private Connection connectionMongoDB;
+
+    @Test
+    void contextLoads() {
+        Assertions.assertThat(connectionMongoDB.getHost()).isEqualTo("localhost:9999");
+    }
+
+}
@@ -0,0 +1,103 @@
+package academy.devdojo.admission;
+
+import academy.devdojo.config.AdmissionControlConfigurationProperties;
+import academy.devdojo.exception.GlobalExceptionHandler;
+import academy.devdojo.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+import java.util.Map;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class AdmissionControlInterceptorTest {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(
+            new AdmissionControlConfigurationProperties(true, 1, 1, 1, 1.5, 0.2, Duration.ofSeconds(2)),
+            meterRegistryProvider());
+
+    private final PingController controller = new PingController();
+
+    private HandlerMethod handler;
+
+    @BeforeEach
+    void init() throws NoSuchMethodException {
+        handler = new HandlerMethod(controller, PingController.class.getMethod("ping"));
+    }
+
+    @Test
+    @DisplayName("requests over the limit are rejected until a permit is released")
+    @Order(1)
+    void preHandle_RejectsRequest_WhenLimitIsReached() {
+        var first = new MockHttpServletRequest();
+        var response = new MockHttpServletResponse();
+
+        Assertions.assertThat(interceptor.preHandle(first, response, handler)).isTrue();
+        Assertions.assertThatException()
+                .isThrownBy(() -> interceptor.preHandle(new MockHttpServletRequest(), response, handler))
+                .isInstanceOf(ServiceOverloadedException.class);
+
+        interceptor.afterCompletion(first, response, handler, null);
+
+        Assertions.assertThat(interceptor.preHandle(new MockHttpServletRequest(), response, handler)).isTrue();
+        Assertions.assertThat(meterRegistry.get(AdmissionControlInterceptor.REJECTED_COUNTER)
+                .tag("endpoint", "PingController.ping").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("a request keeps its permit across dispatches")
+    @Order(2)
+    void preHandle_KeepsPermit_WhenRequestIsDispatchedAgain() {
+        var request = new MockHttpServletRequest();
+        var response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, handler);
+
+        Assertions.assertThat(interceptor.preHandle(request, response, handler)).isTrue();
+        Assertions.assertThat(meterRegistry.get(AdmissionControlInterceptor.INFLIGHT_GAUGE)
+                .tag("endpoint", "PingController.ping").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("GET returns 503 with Retry-After when the endpoint is saturated")
+    @Order(3)
+    void ping_Returns503WithRetryAfter_WhenEndpointIsSaturated() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .addInterceptors(interceptor)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), handler);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/v1/ping"))
+                .andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status").value(503));
+    }
+
+    private ObjectProvider<MeterRegistry> meterRegistryProvider() {
+        return new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class);
+    }
+
+    @RestController
+    static class PingController {
+        @GetMapping("/v1/ping")
+        public String ping() {
+            return "pong";
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package academy.devdojo.admission;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class GradientLimitTest {
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    @DisplayName("the limit grows while latency stays flat and the limit is in use")
+    @Order(1)
+    void onSample_GrowsLimit_WhenLatencyIsSteady() {
+        var limit = new GradientLimit(20, 4, 200, 1.5, 0.2);
+
+        for (var i = 0; i < 50; i++) limit.onSample(RTT, limit.limit());
+
+        Assertions.assertThat(limit.limit()).isGreaterThan(20).isLessThanOrEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("the limit shrinks toward the minimum once latency climbs")
+    @Order(2)
+    void onSample_ShrinksLimit_WhenLatencyRises() {
+        var limit = new GradientLimit(100, 4, 200, 1.5, 0.2);
+        for (var i = 0; i < 100; i++) limit.onSample(RTT, 100);
+
+        var limitBefore = limit.limit();
+        for (var i = 0; i < 50; i++) limit.onSample(RTT * 10, limit.limit());
+
+        Assertions.assertThat(limit.limit()).isLessThan(limitBefore).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("samples taken while most of the limit is unused do not grow it")
+    @Order(3)
+    void onSample_KeepsLimit_WhenMostOfItIsUnused() {
+        var limit = new GradientLimit(20, 4, 200, 1.5, 0.2);
+
+        for (var i = 0; i < 50; i++) limit.onSample(RTT, 1);
+
+        Assertions.assertThat(limit.limit()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("the limit shrinks once latency climbs even while most of it is unused")
+    @Order(4)
+    void onSample_ShrinksLimit_WhenLatencyRisesWhileMostOfItIsUnused() {
+        var limit = new GradientLimit(100, 4, 200, 1.5, 0.2);
+        for (var i = 0; i < 100; i++) limit.onSample(RTT, 2);
+
+        Assertions.assertThat(limit.limit()).isEqualTo(100);
+
+        for (var i = 0; i < 20; i++) limit.onSample(RTT * 10, 2);
+
+        Assertions.assertThat(limit.limit()).isLessThan(100).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("concurrent samples keep the limit within its bounds")
+    @Order(5)
+    void onSample_KeepsLimitInBounds_WhenSampledConcurrently() throws Exception {
+        var limit = new GradientLimit(20, 4, 200, 1.5, 0.2);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var i = 0; i < 1_000; i++) {
+                var rtt = i % 2 == 0 ? RTT : RTT * 10;
+                executor.submit(() -> limit.onSample(rtt, limit.limit()));
+            }
+        }
+
+        Assertions.assertThat(limit.limit()).isBetween(4, 200);
+    }
+}
@@ -1,6 +1,8 @@
 package academy.devdojo.commons;
 
 import academy.devdojo.domain.Anime;
+import academy.devdojo.repository.AnimeData;
+import academy.devdojo.repository.IndexedStore;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -16,6 +18,12 @@ public class AnimeUtils {
         return new ArrayList<>(List.of(anime1, anime2, anime3, anime4));
     }
 
+    public IndexedStore<Anime> newAnimeStore(List<Anime> animes) {
+        var animeStore = AnimeData.newAnimeStore();
+        animes.forEach(animeStore::save);
+        return animeStore;
+    }
+
     public Anime newAnimeToSave() {
         return Anime.builder().id(99L).name("Dungeon Ni Deaii").build();
     }
@@ -1,6 +1,8 @@
 package academy.devdojo.commons;
 
 import academy.devdojo.domain.Producer;
+import academy.devdojo.repository.IndexedStore;
+import academy.devdojo.repository.ProducerData;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
@@ -20,6 +22,12 @@ public class ProducerUtils {
         return new ArrayList<>(List.of(producer1, producer2, producer3));
     }
 
+    public IndexedStore<Producer> newProducerStore(List<Producer> producers) {
+        var producerStore = ProducerData.newProducerStore();
+        producers.forEach(producerStore::save);
+        return producerStore;
+    }
+
     public Producer newProducerToSave() {
         return Producer.builder().id(99L).name("Mappa").createdAt(LocalDateTime.now()).build();
     }
@@ -5,23 +5,30 @@ import academy.devdojo.commons.FileUtils;
 import academy.devdojo.domain.Anime;
 import academy.devdojo.repository.AnimeData;
 import academy.devdojo.repository.AnimeHardCodedRepository;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.*;
 import org.mockito.ArgumentMatchers;
 import org.mockito.BDDMockito;
+import org.skyscreamer.jsonassert.JSONAssert;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.json.JsonCompareMode;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 
 @WebMvcTest(controllers = AnimeController.class)
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -29,6 +36,7 @@ import java.util.Optional;
 class AnimeControllerTest {
 
     private static final String URL = "/v1/animes";
+    private static final String ERROR_TIMESTAMP = "\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}\\+00:00";
 
     @Autowired
     private MockMvc mockMvc;
@@ -52,13 +60,13 @@ class AnimeControllerTest {
     @BeforeEach
     void init() {
         animeList = animeUtils.newAnimeList();
+        BDDMockito.when(animeData.getAnimeStore()).thenReturn(animeUtils.newAnimeStore(animeList));
     }
 
     @Test
     @DisplayName("GET v1/animes returns a list with all animes when argument is null")
     @Order(1)
     void findAll_ReturnAllAnimes_WhenArgumentIsNull() throws Exception {
-        BDDMockito.when(animeData.getAnimeList()).thenReturn(animeList);
         var response = fileUtils.readResourceFile("anime/get-animes-null-name-200.json");
         mockMvc.perform(MockMvcRequestBuilders.get(URL))
                 .andDo(MockMvcResultHandlers.print())
@@ -70,7 +78,6 @@ class AnimeControllerTest {
     @DisplayName("GET v1/producers?name=Naruto returns a list with found object when name exists")
     @Order(2)
     void findAll_ReturnFoundAnime_WhenAnimeExists() throws Exception {
-        BDDMockito.when(animeData.getAnimeList()).thenReturn(animeList);
         var response = fileUtils.readResourceFile("anime/get-animes-naruto-200.json");
         var name = "Naruto";
         mockMvc.perform(MockMvcRequestBuilders.get(URL).param("name", name))
@@ -83,7 +90,6 @@ class AnimeControllerTest {
     @DisplayName("GET v1/animes?name=x returns a empty list when name is not found")
     @Order(3)
     void findAll_ReturnsEmptyList_WhenAnimeIsNotFound() throws Exception {
-        BDDMockito.when(animeData.getAnimeList()).thenReturn(animeList);
         var response = fileUtils.readResourceFile("anime/get-animes-x-200.json");
         var name = "x";
         mockMvc.perform(MockMvcRequestBuilders.get(URL).param("name", name))
@@ -96,7 +102,6 @@ class AnimeControllerTest {
     @DisplayName("GET v1/animes/1 returns an anime with given id when successful")
     @Order(4)
     void finById_ReturnsAnimeById_WhenSuccessful() throws Exception {
-        BDDMockito.when(animeData.getAnimeList()).thenReturn(animeList);
         var id = animeList.getFirst().getId();
         var response = fileUtils.readResourceFile("anime/get-anime-by-id-1-200.json");
         mockMvc.perform(MockMvcRequestBuilders.get(URL + "/{id}", id))
@@ -109,12 +114,14 @@ class AnimeControllerTest {
     @DisplayName("GET v1/animes/99 throws ResponseStatusException 404 when anime is not found")
     @Order(5)
     void findById_ThrowsResponseStatusException_WhenAnimeIsNotFound() throws Exception {
-        BDDMockito.when(animeData.getAnimeList()).thenReturn(animeList);
         var id = 99L;
+        var response = fileUtils.readResourceFile("anime/get-anime-by-id-99-404.json");
         mockMvc.perform(MockMvcRequestBuilders.get(URL + "/{id}", id))
                 .andDo(MockMvcResultHandlers.print())
                 .andExpect(MockMvcResultMatchers.status().isNotFound())
-                .andExpect(MockMvcResultMatchers.status().reason("Anime not found"));
+                .andExpect(MockMvcResultMatchers.content().json(response))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.timestamp").value(Matchers.matchesPattern(ERROR_TIMESTAMP)))
+                .andExpect(MockMvcResultMatchers.forwardedUrl(null));
     }
 
     @Test
@@ -122,7 +129,7 @@ class AnimeControllerTest {
     @Order(6)
     void save_CreatesAnAnime_WhenSuccessful() throws Exception {
         var animeToSave = animeUtils.newAnimeToSave();
-        BDDMockito.when(repository.save(ArgumentMatchers.any())).thenReturn(animeToSave);
+        BDDMockito.doReturn(animeToSave).when(repository).save(ArgumentMatchers.any());
         var request = fileUtils.readResourceFile("anime/post-request-anime-200.json");
         var response = fileUtils.readResourceFile("anime/post-response-anime-200.json");
         mockMvc.perform(MockMvcRequestBuilders.post(URL)
@@ -138,7 +145,6 @@ class AnimeControllerTest {
     @DisplayName("DELETE v1/animes/1 deletes an anime when anime exists")
     @Order(6)
     void delete_DeletesAnAnime_WhenSuccessful() throws Exception {
-        BDDMockito.when(animeData.getAnimeList()).thenReturn(animeList);
         var idToDelete = animeList.getFirst().getId();
         mockMvc.perform(MockMvcRequestBuilders.delete(URL + "/{id}", idToDelete))
                 .andDo(MockMvcResultHandlers.print())
@@ -151,17 +157,17 @@ class AnimeControllerTest {
     void delete_ThrowsResponseStatusException_WhenAnimeIsNotFound() throws Exception {
         BDDMockito.when(repository.findById(ArgumentMatchers.anyLong())).thenReturn(Optional.empty());
         var idToDelete = 99L;
+        var response = fileUtils.readResourceFile("anime/get-anime-by-id-99-404.json");
         mockMvc.perform(MockMvcRequestBuilders.delete(URL + "/{id}", idToDelete))
                 .andDo(MockMvcResultHandlers.print())
                 .andExpect(MockMvcResultMatchers.status().isNotFound())
-                .andExpect(MockMvcResultMatchers.status().reason("Anime not found"));
+                .andExpect(MockMvcResultMatchers.content().json(response));
     }
 
     @Test
     @DisplayName("PUT v1/animes updates an anime")
     @Order(8)
     void update_UpdateAnAnime_WhenSuccessful() throws Exception {
-        BDDMockito.when(animeData.getAnimeList()).thenReturn(animeList);
 
         var request = fileUtils.readResourceFile("anime/put-request-anime-200.json");
         mockMvc.perform(MockMvcRequestBuilders.put(URL)
@@ -178,12 +184,214 @@ class AnimeControllerTest {
         BDDMockito.when(repository.findById(ArgumentMatchers.anyLong())).thenReturn(Optional.empty());
 
         var request = fileUtils.readResourceFile("anime/put-request-anime-404.json");
+        var response = fileUtils.readResourceFile("anime/put-response-anime-404.json");
         mockMvc.perform(MockMvcRequestBuilders.put(URL)
                         .content(request)
                         .contentType(MediaType.APPLICATION_JSON))
                 .andDo(MockMvcResultHandlers.print())
                 .andExpect(MockMvcResultMatchers.status().isNotFound())
-                .andExpect(MockMvcResultMatchers.status().reason("Anime not found"));
+                .andExpect(MockMvcResultMatchers.content().json(response));
+    }
+
+    @Test
+    @DisplayName("GET v1/animes?limit=2 returns the first page and a link to the next one")
+    @Order(10)
+    void findAll_ReturnsFirstPageWithNextLink_WhenLimitIsGiven() throws Exception {
+        var response = fileUtils.readResourceFile("anime/get-animes-limit-2-200.json");
+        mockMvc.perform(MockMvcRequestBuilders.get(URL).param("limit", "2"))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.LINK, "<http://localhost/v1/animes?after=2&limit=2>; rel=\"next\""))
+                .andExpect(MockMvcResultMatchers.content().json(response, JsonCompareMode.STRICT));
+    }
+
+    @Test
+    @DisplayName("GET v1/animes?after=2&limit=2 returns the last page without a next link")
+    @Order(11)
+    void findAll_ReturnsLastPageWithoutNextLink_WhenAfterIsGiven() throws Exception {
+        var response = fileUtils.readResourceFile("anime/get-animes-after-2-limit-2-200.json");
+        mockMvc.perform(MockMvcRequestBuilders.get(URL).param("after", "2").param("limit", "2"))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(HttpHeaders.LINK))
+                .andExpect(MockMvcResultMatchers.content().json(response, JsonCompareMode.STRICT));
+    }
+
+    @Test
+    @DisplayName("GET v1/animes with Accept application/x-ndjson streams one anime per line")
+    @Order(12)
+    void streamAll_StreamsAnimesAsNdjson_WhenNdjsonIsAccepted() throws Exception {
+        var response = fileUtils.readResourceFile("anime/get-animes-ndjson-200.ndjson");
+        var result = mockMvc.perform(MockMvcRequestBuilders.get(URL).accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.content().string(response));
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("POST v1/animes/batch creates valid animes and rejects the others")
+    @Order(13)
+    void saveAll_CreatesValidAnimesAndRejectsOthers_WhenBatchHasInvalidItems() throws Exception {
+        var request = fileUtils.readResourceFile("anime/post-request-anime-batch-200.json");
+        mockMvc.perform(MockMvcRequestBuilders.post(URL + "/batch")
+                        .content(request)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isMultiStatus())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].index").value(0))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].status").value("CREATED"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].name").value("Dungeon Ni Deaii"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").isString())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].index").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].status").value("REJECTED"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].error").value("name must not be blank"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[2].index").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[2].name").value("Frieren"));
+
+        BDDMockito.verify(repository).saveAll(ArgumentMatchers.argThat(animes -> animes.size() == 2));
+    }
+
+    @Test
+    @DisplayName("POST v1/animes/batch with a NDJSON body creates every anime")
+    @Order(14)
+    void saveAllNdjson_CreatesAllAnimes_WhenEveryItemIsValid() throws Exception {
+        var request = fileUtils.readResourceFile("anime/post-request-anime-batch-200.ndjson");
+        mockMvc.perform(MockMvcRequestBuilders.post(URL + "/batch")
+                        .content(request)
+                        .contentType(MediaType.APPLICATION_NDJSON))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[*].status").value(Matchers.everyItem(Matchers.is("CREATED"))))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].name").value("Frieren"));
+    }
+
+    @Test
+    @DisplayName("GET v1/animes/1 returns 304 without a body when If-None-Match matches the ETag")
+    @Order(15)
+    void findById_ReturnsNotModified_WhenETagMatches() throws Exception {
+        var id = animeList.getFirst().getId();
+        var eTag = mockMvc.perform(MockMvcRequestBuilders.get(URL + "/{id}", id))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get(URL + "/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(MockMvcResultMatchers.content().string(""));
+
+        BDDMockito.verify(repository, BDDMockito.times(1)).findById(id);
+    }
+
+    @Test
+    @DisplayName("GET v1/animes/1 returns the anime again after it is updated")
+    @Order(16)
+    void findById_ReturnsAnime_WhenETagIsStale() throws Exception {
+        var id = animeList.getFirst().getId();
+        var eTag = mockMvc.perform(MockMvcRequestBuilders.get(URL + "/{id}", id))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.put(URL)
+                        .content(fileUtils.readResourceFile("anime/put-request-anime-200.json"))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+
+        mockMvc.perform(MockMvcRequestBuilders.get(URL + "/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, Matchers.not(eTag)));
+    }
+
+    @Test
+    @DisplayName("GET v1/animes returns 304 when If-None-Match matches the collection ETag")
+    @Order(17)
+    void listAll_ReturnsNotModified_WhenETagMatches() throws Exception {
+        var eTag = mockMvc.perform(MockMvcRequestBuilders.get(URL))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get(URL).param("limit", "2").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.content().string(""));
+    }
+
+    @Test
+    @DisplayName("GET v1/animes returns the gzipped list when gzip is accepted")
+    @Order(18)
+    void listAll_ReturnsGzippedAnimes_WhenGzipIsAccepted() throws Exception {
+        var response = fileUtils.readResourceFile("anime/get-animes-null-name-200.json");
+        var gzipped = mockMvc.perform(MockMvcRequestBuilders.get(URL).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.VARY, Matchers.containsString(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (var body = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            JSONAssert.assertEquals(response, new String(body.readAllBytes(), StandardCharsets.UTF_8), true);
+        }
+    }
+
+    @Test
+    @DisplayName("GET v1/animes/search?q=s returns the animes with a term starting with s, best match first")
+    @Order(19)
+    void search_ReturnsRankedAnimes_WhenTermPrefixMatches() throws Exception {
+        var response = fileUtils.readResourceFile("anime/get-animes-search-s-200.json");
+        mockMvc.perform(MockMvcRequestBuilders.get(URL + "/search").param("q", "s"))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.ETAG))
+                .andExpect(MockMvcResultMatchers.content().json(response, JsonCompareMode.STRICT));
+    }
+
+    @Test
+    @DisplayName("GET v1/animes/search?q=SWÖRD&limit=1 folds case and accents and honours the limit")
+    @Order(20)
+    void search_FoldsCaseAndAccents_WhenQueryHasThem() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(URL + "/search").param("q", "SWÖRD onl").param("limit", "1"))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value("3"));
+    }
+
+    @Test
+    @DisplayName("GET v1/animes tags the gzipped list apart from the plain one")
+    @Order(21)
+    void listAll_ReturnsDistinctETags_WhenGzipIsAccepted() throws Exception {
+        var plainETag = mockMvc.perform(MockMvcRequestBuilders.get(URL))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        var gzipETag = mockMvc.perform(MockMvcRequestBuilders.get(URL).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, Matchers.not(plainETag)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get(URL).header(HttpHeaders.IF_NONE_MATCH, gzipETag))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    @DisplayName("GET v1/animes returns the plain list when gzip is refused with q=0")
+    @Order(22)
+    void listAll_ReturnsPlainAnimes_WhenGzipHasZeroQuality() throws Exception {
+        var response = fileUtils.readResourceFile("anime/get-animes-null-name-200.json");
+        mockMvc.perform(MockMvcRequestBuilders.get(URL).header(HttpHeaders.ACCEPT_ENCODING, "deflate, GZIP;q=0, *;q=0.5"))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.VARY, Matchers.containsString(HttpHeaders.ACCEPT_ENCODING)))
+                .andExpect(MockMvcResultMatchers.content().json(response, JsonCompareMode.STRICT));
+    }
+}
@@ -0,0 +1,61 @@
+package academy.devdojo.controller;
+
+import academy.devdojo.config.ConnectionBeanConfiguration;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+
+@SpringBootTest(properties = "database.url=jdbc:h2:mem:anime-connections;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+@ActiveProfiles("jdbc")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ConnectionControllerTest {
+    private static final String URL = "/v1/connections";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HikariDataSource connectionMySql;
+
+    @Test
+    @DisplayName("GET v1/connections returns the pool settings without credentials")
+    @Order(1)
+    void getConnections_ReturnsPoolsWithoutCredentials_WhenSuccessful() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(URL))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].name").value("mysql"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].minimumIdle").value(connectionMySql.getMinimumIdle()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].maximumSize").value(connectionMySql.getMaximumPoolSize()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].password").doesNotExist())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].username").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET v1/connections reports borrowed connections and acquire latency buckets")
+    @Order(2)
+    void getConnections_ReportsActiveConnectionsAndLatency_WhenConnectionIsBorrowed() throws Exception {
+        try (var ignored = connectionMySql.getConnection()) {
+            mockMvc.perform(MockMvcRequestBuilders.get(URL))
+                    .andDo(MockMvcResultHandlers.print())
+                    .andExpect(MockMvcResultMatchers.status().isOk())
+                    .andExpect(MockMvcResultMatchers.jsonPath("$[0].active").value(greaterThanOrEqualTo(1)))
+                    .andExpect(MockMvcResultMatchers.jsonPath("$[0].pending").value(0))
+                    .andExpect(MockMvcResultMatchers.jsonPath("$[0].acquireLatency.count").value(greaterThanOrEqualTo(1)))
+                    .andExpect(MockMvcResultMatchers.jsonPath("$[0].acquireLatency.histogram.length()")
+                            .value(ConnectionBeanConfiguration.ACQUIRE_BUCKETS.length))
+                    .andExpect(MockMvcResultMatchers.jsonPath("$[0].acquireLatency.percentiles.length()")
+                            .value(ConnectionBeanConfiguration.ACQUIRE_PERCENTILES.length));
+        }
+    }
+}
@@ -11,9 +11,11 @@ import org.mockito.BDDMockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.json.JsonCompareMode;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
@@ -50,13 +52,13 @@ class ProducerControllerTest {
     @BeforeEach
     void init() {
         producerList = producerUtils.newProducerList();
+        BDDMockito.when(producerData.getProducerStore()).thenReturn(producerUtils.newProducerStore(producerList));
     }
 
     @Test
     @DisplayName("GET v1/producers returns a list with all producers when argument is null")
     @Order(1)
     void findAll_ReturnAllProducers_WhenArgumentIsNull() throws Exception {
-        BDDMockito.when(producerData.getProducers()).thenReturn(producerList);
         var response = fileUtils.readResourceFile("producer/get-producer-null-name-200.json");
         mockMvc.perform(MockMvcRequestBuilders.get(URL))
                 .andDo(MockMvcResultHandlers.print())
@@ -68,7 +70,6 @@ class ProducerControllerTest {
     @DisplayName("GET v1/producers?name=Ufotable returns a list with found object when name exists")
     @Order(2)
     void findAll_ReturnFoundProducer_WhenNameExists() throws Exception {
-        BDDMockito.when(producerData.getProducers()).thenReturn(producerList);
         var response = fileUtils.readResourceFile("producer/get-producer-ufotable-200.json");
         var name = "Ufotable";
         mockMvc.perform(MockMvcRequestBuilders.get(URL).param("name", name))
@@ -81,7 +82,6 @@ class ProducerControllerTest {
     @DisplayName("GET v1/producers?name=x returns a empty list when name is not found")
     @Order(3)
     void findAll_ReturnsEmptyList_WhenNameIsNotFound() throws Exception {
-        BDDMockito.when(producerData.getProducers()).thenReturn(producerList);
         var response = fileUtils.readResourceFile("producer/get-producer-x-200.json");
         var name = "x";
         mockMvc.perform(MockMvcRequestBuilders.get(URL).param("name", name))
@@ -94,7 +94,6 @@ class ProducerControllerTest {
     @DisplayName("GET v1/producers/1 returns a producer with given id when succesful")
     @Order(4)
     void findById_ReturnsProducerById_WhenSucessful() throws Exception {
-        BDDMockito.when(producerData.getProducers()).thenReturn(producerList);
         var response = fileUtils.readResourceFile("producer/get-producer-by-id-1-200.json");
         var id = 1L;
         mockMvc.perform(MockMvcRequestBuilders.get(URL + "/{id}", id))
@@ -107,12 +106,12 @@ class ProducerControllerTest {
     @DisplayName("GET v1/producers/99 throws ResponseStatusException 404 when producer is not found")
     @Order(5)
     void findById_ThrowsResponseStatusException_WhenProducerIsNotFound() throws Exception {
-        BDDMockito.when(producerData.getProducers()).thenReturn(producerList);
         var id = 99L;
+        var response = fileUtils.readResourceFile("producer/get-producer-by-id-99-404.json");
         mockMvc.perform(MockMvcRequestBuilders.get(URL + "/{id}", id))
                 .andDo(MockMvcResultHandlers.print())
                 .andExpect(MockMvcResultMatchers.status().isNotFound())
-                .andExpect(MockMvcResultMatchers.status().reason("Producer not found"));
+                .andExpect(MockMvcResultMatchers.content().json(response));
     }
 
     @Order(6)
@@ -123,7 +122,7 @@ class ProducerControllerTest {
         var response = fileUtils.readResourceFile("producer/post-response-producer-201.json");
 
         var producerToSave = producerUtils.newProducerToSave();
-        BDDMockito.when(repository.save(ArgumentMatchers.any())).thenReturn(producerToSave);
+        BDDMockito.doReturn(producerToSave).when(repository).save(ArgumentMatchers.any());
 
         mockMvc.perform(MockMvcRequestBuilders
                         .post(URL)
@@ -141,7 +140,6 @@ class ProducerControllerTest {
     @Test
     @DisplayName("PUT v1/producers update a producer")
     void update_UpdateProducer_WhenSuccessful() throws Exception {
-        BDDMockito.when(producerData.getProducers()).thenReturn(producerList);
         var request = fileUtils.readResourceFile("producer/put-request-producer-200.json");
         mockMvc.perform(MockMvcRequestBuilders
                         .put(URL)
@@ -158,6 +156,7 @@ class ProducerControllerTest {
     void update_ThrowsResponseStatusException_WhenProducerIsNotFound() throws Exception {
         BDDMockito.when(repository.findById(ArgumentMatchers.anyLong())).thenReturn(Optional.empty());
         var request = fileUtils.readResourceFile("producer/put-request-producer-404.json");
+        var response = fileUtils.readResourceFile("producer/put-response-producer-404.json");
         mockMvc.perform(MockMvcRequestBuilders
                         .put(URL)
                         .content(request)
@@ -165,14 +164,13 @@ class ProducerControllerTest {
                 )
                 .andDo(MockMvcResultHandlers.print())
                 .andExpect(MockMvcResultMatchers.status().isNotFound())
-                .andExpect(MockMvcResultMatchers.status().reason("Producer not found"));
+                .andExpect(MockMvcResultMatchers.content().json(response));
     }
 
     @Order(9)
     @Test
     @DisplayName("DELETE v1/producers/1 removes a producer")
     void delete_DeletesAProducer_WhenSuccessful() throws Exception {
-        BDDMockito.when(producerData.getProducers()).thenReturn(producerList);
 
         var id = producerList.getFirst().getId();
 
@@ -187,10 +185,107 @@ class ProducerControllerTest {
     void delete_ThrowsResponseStatusException_WhenProducerIsNotFound() throws Exception {
         BDDMockito.when(repository.findById(ArgumentMatchers.anyLong())).thenReturn(Optional.empty());
         var id = 99L;
+        var response = fileUtils.readResourceFile("producer/get-producer-by-id-99-404.json");
         mockMvc.perform(MockMvcRequestBuilders.delete(URL + "/{id}", id))
                 .andDo(MockMvcResultHandlers.print())
                 .andExpect(MockMvcResultMatchers.status().isNotFound())
-                .andExpect(MockMvcResultMatchers.status().reason("Producer not found"));
+                .andExpect(MockMvcResultMatchers.content().json(response));
+    }
+
+    @Order(11)
+    @Test
+    @DisplayName("GET v1/producers with Accept application/x-ndjson exports one producer per line")
+    void exportAll_ExportsProducersAsNdjson_WhenNdjsonIsAccepted() throws Exception {
+        var response = fileUtils.readResourceFile("producer/get-producer-ndjson-200.ndjson");
+        var result = mockMvc.perform(MockMvcRequestBuilders.get(URL).accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.content().string(response));
+    }
+
+    @Order(12)
+    @Test
+    @DisplayName("GET v1/producers?name=Ufotable with Accept application/x-ndjson exports only the found producer")
+    void exportAll_ExportsFoundProducer_WhenNameExists() throws Exception {
+        var response = fileUtils.readResourceFile("producer/get-producer-ufotable-ndjson-200.ndjson");
+        var result = mockMvc.perform(MockMvcRequestBuilders.get(URL).param("name", "Ufotable").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().string(response));
+    }
+
+    @Test
+    @DisplayName("GET v1/producers/1 returns 304 without a body when If-None-Match matches the ETag")
+    @Order(13)
+    void findById_ReturnsNotModified_WhenETagMatches() throws Exception {
+        var id = producerList.getFirst().getId();
+        var eTag = mockMvc.perform(MockMvcRequestBuilders.get(URL + "/{id}", id))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get(URL + "/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.content().string(""));
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("GET v1/producers returns 304 when If-None-Match matches the collection ETag")
+    @Order(14)
+    void findAll_ReturnsNotModified_WhenETagMatches() throws Exception {
+        var eTag = mockMvc.perform(MockMvcRequestBuilders.get(URL))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get(URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.content().string(""));
+    }
+
+    @Test
+    @DisplayName("GET v1/producers drops the deleted producer from the list after a delete")
+    @Order(15)
+    void findAll_ReturnsFreshList_WhenProducerIsDeleted() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(URL))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(producerList.size()));
+
+        mockMvc.perform(MockMvcRequestBuilders.delete(URL + "/{id}", producerList.getFirst().getId()))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+
+        mockMvc.perform(MockMvcRequestBuilders.get(URL))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(producerList.size() - 1));
+    }
+
+    @Test
+    @DisplayName("GET v1/producers/suggest?prefix=ÚFO returns the producers whose name starts with the prefix")
+    @Order(16)
+    void suggest_ReturnsProducersStartingWithPrefix_WhenPrefixMatches() throws Exception {
+        var response = fileUtils.readResourceFile("producer/get-producer-ufotable-200.json");
+        mockMvc.perform(MockMvcRequestBuilders.get(URL + "/suggest").param("prefix", "ÚFO"))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.ETAG))
+                .andExpect(MockMvcResultMatchers.content().json(response, JsonCompareMode.STRICT));
+    }
+
+    @Test
+    @DisplayName("GET v1/producers/suggest?prefix=studio w returns an empty list when no name starts with the prefix")
+    @Order(17)
+    void suggest_ReturnsEmptyList_WhenNoNameStartsWithPrefix() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get(URL + "/suggest").param("prefix", "studio w"))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().json("[]", JsonCompareMode.STRICT));
+    }
+}
@@ -0,0 +1,179 @@
+package academy.devdojo.controller;
+
+import academy.devdojo.commons.AnimeUtils;
+import academy.devdojo.commons.FileUtils;
+import academy.devdojo.domain.Anime;
+import academy.devdojo.repository.AnimeData;
+import academy.devdojo.repository.AnimeHardCodedRepository;
+import org.assertj.core.api.Assertions;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.*;
+import org.mockito.ArgumentMatchers;
+import org.mockito.BDDMockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.json.JsonCompareMode;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.Optional;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "reactive"})
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ReactiveAnimeControllerTest {
+    private static final String URL = "/v1/animes";
+    private static final String ERROR_TIMESTAMP = "\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}\\+00:00";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockitoSpyBean
+    private AnimeHardCodedRepository repository;
+
+    @MockitoBean
+    private AnimeData animeData;
+
+    @Autowired
+    private ReactiveWebServerApplicationContext applicationContext;
+
+    @Autowired
+    private AnimeUtils animeUtils;
+
+    @Autowired
+    private FileUtils fileUtils;
+
+    private List<Anime> animeList;
+
+    @BeforeEach
+    void init() {
+        animeList = animeUtils.newAnimeList();
+        BDDMockito.when(animeData.getAnimeStore()).thenReturn(animeUtils.newAnimeStore(animeList));
+    }
+
+    @Test
+    @DisplayName("GET v1/animes returns a list with all animes on the reactive stack")
+    @Order(1)
+    void listAll_ReturnsAllAnimes_WhenArgumentIsNull() throws Exception {
+        var response = fileUtils.readResourceFile("anime/get-animes-null-name-200.json");
+        webTestClient.get().uri(URL)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody().json(response);
+    }
+
+    @Test
+    @DisplayName("GET v1/animes?limit=2 returns the first page and a link to the next one on the reactive stack")
+    @Order(2)
+    void listAll_ReturnsFirstPageWithNextLink_WhenLimitIsGiven() throws Exception {
+        var response = fileUtils.readResourceFile("anime/get-animes-limit-2-200.json");
+        webTestClient.get().uri(URL + "?limit=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(HttpHeaders.LINK, Matchers.endsWith("/v1/animes?after=2&limit=2>; rel=\"next\""))
+                .expectBody().json(response, JsonCompareMode.STRICT);
+    }
+
+    @Test
+    @DisplayName("GET v1/animes with Accept application/x-ndjson streams one anime per line on the reactive stack")
+    @Order(3)
+    void streamAll_StreamsAnimesAsNdjson_WhenNdjsonIsAccepted() throws Exception {
+        var response = fileUtils.readResourceFile("anime/get-animes-ndjson-200.ndjson");
+        webTestClient.get().uri(URL)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class).isEqualTo(response);
+    }
+
+    @Test
+    @DisplayName("GET v1/animes/1 returns 304 without a body when If-None-Match matches the ETag on the reactive stack")
+    @Order(4)
+    void findById_ReturnsNotModified_WhenETagMatches() {
+        var id = animeList.getFirst().getId();
+        var eTag = webTestClient.get().uri(URL + "/{id}", id)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class)
+                .getResponseHeaders().getETag();
+
+        webTestClient.get().uri(URL + "/{id}", id)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, eTag)
+                .expectBody().isEmpty();
+
+        BDDMockito.verify(repository, BDDMockito.times(1)).findById(id);
+    }
+
+    @Test
+    @DisplayName("GET v1/animes/99 returns the default error body when anime is not found on the reactive stack")
+    @Order(5)
+    void findById_ReturnsNotFound_WhenAnimeIsNotFound() throws Exception {
+        var response = fileUtils.readResourceFile("anime/get-anime-by-id-99-404.json");
+        webTestClient.get().uri(URL + "/{id}", 99L)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .json(response)
+                .jsonPath("$.timestamp").value(Matchers.matchesPattern(ERROR_TIMESTAMP));
+    }
+
+    @Test
+    @DisplayName("POST v1/animes/batch with a NDJSON body creates valid animes and rejects the others on the reactive stack")
+    @Order(6)
+    void saveAllNdjson_CreatesValidAnimesAndRejectsOthers_WhenBatchHasInvalidItems() {
+        var request = """
+                {"name":"Dungeon Ni Deaii"}
+                {"name":""}
+                {"name":"Frieren"}
+                """;
+        webTestClient.post().uri(URL + "/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isEqualTo(207)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[0].status").isEqualTo("CREATED")
+                .jsonPath("$[1].index").isEqualTo(1)
+                .jsonPath("$[1].status").isEqualTo("REJECTED")
+                .jsonPath("$[2].name").isEqualTo("Frieren");
+
+        BDDMockito.verify(repository).saveAll(ArgumentMatchers.argThat(animes -> animes.size() == 2));
+    }
+
+    @Test
+    @DisplayName("PUT v1/animes returns 404 when anime is not found on the reactive stack")
+    @Order(7)
+    void update_ReturnsNotFound_WhenAnimeIsNotFound() throws Exception {
+        BDDMockito.when(repository.findById(ArgumentMatchers.anyLong())).thenReturn(Optional.empty());
+        var request = fileUtils.readResourceFile("anime/put-request-anime-404.json");
+        var response = fileUtils.readResourceFile("anime/put-response-anime-404.json");
+        webTestClient.put().uri(URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().json(response);
+    }
+
+    @Test
+    @DisplayName("The reactive profile serves the animes from Netty without the servlet controllers")
+    @Order(8)
+    void reactiveProfile_ServesFromNetty_WithoutServletControllers() {
+        Assertions.assertThat(applicationContext.getWebServer()).isInstanceOf(NettyWebServer.class);
+        Assertions.assertThat(applicationContext.getBeanNamesForType(AnimeController.class)).isEmpty();
+        Assertions.assertThat(applicationContext.getBeanNamesForType(ReactiveAnimeController.class)).hasSize(1);
+    }
+}
@@ -0,0 +1,76 @@
+package academy.devdojo.id;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class SnowflakeIdGeneratorTest {
+    private static final long NOW = SnowflakeIdGenerator.EPOCH.toEpochMilli() + 1_000;
+
+    @Test
+    @DisplayName("nextId encodes timestamp, node id and sequence")
+    @Order(1)
+    void nextId_EncodesTimestampNodeAndSequence_WhenSuccessful() {
+        var generator = new SnowflakeIdGenerator(5, () -> NOW);
+
+        var first = generator.nextId();
+        var second = generator.nextId();
+
+        Assertions.assertThat(first >>> 22).isEqualTo(1_000);
+        Assertions.assertThat(first >>> 12 & SnowflakeIdGenerator.MAX_NODE_ID).isEqualTo(5);
+        Assertions.assertThat(second).isEqualTo(first + 1);
+    }
+
+    @Test
+    @DisplayName("nextId keeps increasing when the clock goes backwards")
+    @Order(2)
+    void nextId_KeepsIncreasing_WhenClockGoesBackwards() {
+        var clock = new long[]{NOW};
+        var generator = new SnowflakeIdGenerator(1, () -> clock[0]);
+
+        var beforeSkew = generator.nextId();
+        clock[0] = NOW - 500;
+        var afterSkew = generator.nextId();
+
+        Assertions.assertThat(afterSkew).isGreaterThan(beforeSkew);
+    }
+
+    @Test
+    @DisplayName("nextId returns unique ids across many virtual threads")
+    @Order(3)
+    void nextId_ReturnsUniqueIds_WhenCalledConcurrently() throws Exception {
+        var generator = new SnowflakeIdGenerator(1);
+        var ids = new HashSet<Long>();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var futures = new ArrayList<Future<List<Long>>>();
+            for (int thread = 0; thread < 1_000; thread++) {
+                futures.add(executor.submit(() -> IntStream.range(0, 100)
+                        .mapToObj(i -> generator.nextId())
+                        .toList()));
+            }
+            for (var future : futures) {
+                var threadIds = future.get();
+                Assertions.assertThat(threadIds).isSorted();
+                ids.addAll(threadIds);
+            }
+        }
+
+        Assertions.assertThat(ids).hasSize(100_000);
+    }
+
+    @Test
+    @DisplayName("constructor throws IllegalArgumentException when node id does not fit in 10 bits")
+    @Order(4)
+    void constructor_ThrowsIllegalArgumentException_WhenNodeIdIsOutOfRange() {
+        Assertions.assertThatIllegalArgumentException()
+                .isThrownBy(() -> new SnowflakeIdGenerator(SnowflakeIdGenerator.MAX_NODE_ID + 1));
+    }
+}
@@ -0,0 +1,140 @@
+package academy.devdojo.logging;
+
+import academy.devdojo.config.RequestLoggingConfigurationProperties;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class RequestLoggingFilterTest {
+    private static final String DEBUG_HEADER = "X-Debug-Logging";
+
+    private final RequestLoggingFilter filter = new RequestLoggingFilter(new RequestLoggingConfigurationProperties(
+            DEBUG_HEADER, 0, Map.of("POST /v1/animes", 1.0)));
+
+    private final Logger applicationLoggers = (Logger) LoggerFactory.getLogger("academy.devdojo");
+
+    private final Logger requestLogger = (Logger) LoggerFactory.getLogger("academy.devdojo.request");
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    private final DebugHeaderTurboFilter turboFilter = new DebugHeaderTurboFilter();
+
+    private Level applicationLevel;
+
+    @BeforeEach
+    void init() {
+        applicationLevel = applicationLoggers.getLevel();
+        applicationLoggers.setLevel(Level.INFO);
+        appender.start();
+        requestLogger.addAppender(appender);
+        turboFilter.start();
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).addTurboFilter(turboFilter);
+    }
+
+    @AfterEach
+    void tearDown() {
+        applicationLoggers.setLevel(applicationLevel);
+        requestLogger.detachAppender(appender);
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).getTurboFilterList().remove(turboFilter);
+    }
+
+    @Test
+    @DisplayName("requests outside the sample are not logged")
+    @Order(1)
+    void doFilter_LogsNothing_WhenRequestIsNotSampled() throws Exception {
+        filter.doFilter(request("GET", "/v1/animes"), new MockHttpServletResponse(), new MockFilterChain());
+
+        Assertions.assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    @DisplayName("endpoint sample rates override the default rate")
+    @Order(2)
+    void doFilter_LogsRequest_WhenEndpointRateIsOne() throws Exception {
+        var response = new MockHttpServletResponse();
+        response.setStatus(201);
+
+        filter.doFilter(request("POST", "/v1/animes"), response, new MockFilterChain());
+
+        Assertions.assertThat(appender.list).singleElement().satisfies(event ->
+                Assertions.assertThat(event.getKeyValuePairs())
+                        .anySatisfy(pair -> {
+                            Assertions.assertThat(pair.key).isEqualTo("http.route");
+                            Assertions.assertThat(pair.value).isEqualTo("/v1/animes");
+                        })
+                        .anySatisfy(pair -> {
+                            Assertions.assertThat(pair.key).isEqualTo("http.response.status_code");
+                            Assertions.assertThat(pair.value).isEqualTo(201);
+                        }));
+    }
+
+    @Test
+    @DisplayName("server errors are always logged")
+    @Order(3)
+    void doFilter_LogsRequest_WhenResponseIsServerError() throws Exception {
+        var response = new MockHttpServletResponse();
+        response.setStatus(503);
+
+        filter.doFilter(request("GET", "/v1/animes"), response, new MockFilterChain());
+
+        Assertions.assertThat(appender.list).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("the debug header logs the request and enables debug logging while it is served")
+    @Order(4)
+    void doFilter_EnablesDebugLogging_WhenDebugHeaderIsSent() throws Exception {
+        var applicationLogger = LoggerFactory.getLogger("academy.devdojo.controller.AnimeController");
+        var debugEnabled = new AtomicBoolean();
+        var request = request("GET", "/v1/animes");
+        request.addHeader(DEBUG_HEADER, "true");
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (servletRequest, servletResponse) -> debugEnabled.set(applicationLogger.isDebugEnabled()));
+
+        Assertions.assertThat(debugEnabled).isTrue();
+        Assertions.assertThat(appender.list).hasSize(1);
+        Assertions.assertThat(applicationLogger.isDebugEnabled()).isFalse();
+    }
+
+    @Test
+    @DisplayName("async requests are logged once the response completes, with its final status")
+    @Order(5)
+    void doFilter_LogsOnCompletion_WhenRequestIsAsync() throws Exception {
+        var request = request("POST", "/v1/animes");
+        request.setAsyncSupported(true);
+        var response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (servletRequest, servletResponse) -> servletRequest.startAsync());
+
+        Assertions.assertThat(appender.list).isEmpty();
+
+        response.setStatus(201);
+        request.getAsyncContext().complete();
+
+        Assertions.assertThat(appender.list).singleElement().satisfies(event ->
+                Assertions.assertThat(event.getKeyValuePairs()).anySatisfy(pair -> {
+                    Assertions.assertThat(pair.key).isEqualTo("http.response.status_code");
+                    Assertions.assertThat(pair.value).isEqualTo(201);
+                }));
+    }
+
+    private static MockHttpServletRequest request(String method, String route) {
+        var request = new MockHttpServletRequest(method, route);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, route);
+        return request;
+    }
+}
@@ -0,0 +1,83 @@
+package academy.devdojo.metrics;
+
+import academy.devdojo.exception.NotFoundException;
+import academy.devdojo.repository.AnimeData;
+import academy.devdojo.service.AnimeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class MethodMetricsAspectTest {
+    @Autowired
+    private AnimeService service;
+
+    @Autowired
+    private AnimeData animeData;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("service and repository calls are timed per layer, class and method")
+    @Order(1)
+    void record_TimesServiceAndRepositoryMethods_WhenCalled() {
+        var serviceCalls = timerCount("service", "AnimeService", "findAll", "none");
+        var repositoryCalls = timerCount("repository", "AnimeHardCodedRepository", "findAll", "none");
+
+        service.findAll(null);
+
+        Assertions.assertThat(timerCount("service", "AnimeService", "findAll", "none")).isEqualTo(serviceCalls + 1);
+        Assertions.assertThat(timerCount("repository", "AnimeHardCodedRepository", "findAll", "none")).isEqualTo(repositoryCalls + 1);
+    }
+
+    @Test
+    @DisplayName("collection results are recorded as a result size distribution")
+    @Order(2)
+    void record_RecordsResultSize_WhenMethodReturnsCollection() {
+        var summary = meterRegistry.find(MethodMetricsAspect.RESULT_SIZE)
+                .tags("class", "AnimeService", "method", "findAll");
+        var countBefore = summary.summary() == null ? 0 : summary.summary().count();
+
+        var animes = service.findAll(null);
+
+        var resultSize = summary.summary();
+        Assertions.assertThat(resultSize).isNotNull();
+        Assertions.assertThat(resultSize.count()).isEqualTo(countBefore + 1);
+        Assertions.assertThat(resultSize.max()).isGreaterThanOrEqualTo(animes.size());
+    }
+
+    @Test
+    @DisplayName("failed calls are tagged with the exception")
+    @Order(3)
+    void record_TagsException_WhenMethodThrows() {
+        var failures = timerCount("service", "AnimeService", "findByIdOrThrowNotFound", "NotFoundException");
+
+        Assertions.assertThatException()
+                .isThrownBy(() -> service.findByIdOrThrowNotFound(-1L))
+                .isInstanceOf(NotFoundException.class);
+
+        Assertions.assertThat(timerCount("service", "AnimeService", "findByIdOrThrowNotFound", "NotFoundException"))
+                .isEqualTo(failures + 1);
+    }
+
+    @Test
+    @DisplayName("store sizes are published as gauges")
+    @Order(4)
+    void bindTo_PublishesStoreRows_WhenRegistryIsAvailable() {
+        var gauge = meterRegistry.find(StoreMetrics.STORE_ROWS).tag("store", "animes").gauge();
+
+        Assertions.assertThat(gauge).isNotNull();
+        Assertions.assertThat(gauge.value()).isEqualTo(animeData.getAnimeStore().size());
+    }
+
+    private long timerCount(String layer, String className, String method, String exception) {
+        var timer = meterRegistry.find(MethodMetricsAspect.METHOD_TIMER)
+                .tags("layer", layer, "class", className, "method", method, "exception", exception)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
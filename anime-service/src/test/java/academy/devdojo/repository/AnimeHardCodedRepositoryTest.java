@@ -25,10 +25,13 @@ class AnimeHardCodedRepositoryTest {
 
     private List<Anime> animeList;
 
+    private IndexedStore<Anime> animeStore;
+
     @BeforeEach
     void init() {
         animeList = animeUtils.newAnimeList();
-        BDDMockito.when(animeData.getAnimeList()).thenReturn(animeList);
+        animeStore = animeUtils.newAnimeStore(animeList);
+        BDDMockito.when(animeData.getAnimeStore()).thenReturn(animeStore);
     }
 
     @Test
@@ -102,7 +105,7 @@ class AnimeHardCodedRepositoryTest {
 
         repository.delete(animeToDelete);
 
-        Assertions.assertThat(this.animeList)
+        Assertions.assertThat(this.animeStore.findAll())
                 .doesNotContain(animeToDelete);
 
         List<Anime> animes = repository.findAll();
@@ -122,7 +125,7 @@ class AnimeHardCodedRepositoryTest {
 
         repository.update(animeToUpdate);
 
-        Assertions.assertThat(this.animeList)
+        Assertions.assertThat(this.animeStore.findAll())
                 .contains(animeToUpdate);
 
         var animeUpdateOptional = repository.findById(animeToUpdate.getId());
@@ -133,4 +136,73 @@ class AnimeHardCodedRepositoryTest {
         Assertions.assertThat(animeUpdateOptional.get().getName().equals(animeToUpdate.getName()));
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("findAll keeps insertion order after an anime is updated")
+    @Order(7)
+    void findAll_KeepsInsertionOrder_WhenAnimeIsUpdated() {
+        var animeToUpdate = Anime.builder().id(animeList.getFirst().getId()).name("Boruto").build();
+
+        repository.update(animeToUpdate);
+
+        Assertions.assertThat(repository.findAll())
+                .hasSize(animeList.size())
+                .first()
+                .extracting(Anime::getName)
+                .isEqualTo("Boruto");
+    }
+
+    @Test
+    @DisplayName("findById returns empty optional when anime was deleted")
+    @Order(8)
+    void findById_ReturnsEmpty_WhenAnimeWasDeleted() {
+        var animeToDelete = animeList.getLast();
+
+        repository.delete(animeToDelete);
+
+        Assertions.assertThat(repository.findById(animeToDelete.getId()))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("findByName ignores case when name exists")
+    @Order(9)
+    void findByName_IgnoresCase_WhenNameExists() {
+        var expectedAnime = animeList.getFirst();
+
+        var foundAnimeList = repository.findByName(expectedAnime.getName().toUpperCase());
+
+        Assertions.assertThat(foundAnimeList)
+                .hasSize(1)
+                .contains(expectedAnime);
+    }
+
+    @Test
+    @DisplayName("findByName only finds the new name after an anime is renamed in place")
+    @Order(10)
+    void findByName_FindsNewNameOnly_WhenAnimeIsRenamedInPlace() {
+        var animeToUpdate = animeList.getFirst();
+        var oldName = animeToUpdate.getName();
+
+        animeToUpdate.setName("Boruto");
+        repository.update(animeToUpdate);
+
+        Assertions.assertThat(repository.findByName(oldName)).isEmpty();
+        Assertions.assertThat(repository.findByName("boruto")).containsExactly(animeToUpdate);
+    }
+
+    @Test
+    @DisplayName("saveAll creates every anime in the batch")
+    @Order(11)
+    void saveAll_CreatesEveryAnime_WhenSuccessful() {
+        var animesToSave = List.of(animeUtils.newAnimeToSave(), Anime.builder().id(100L).name("Frieren").build());
+
+        var savedAnimes = repository.saveAll(animesToSave);
+
+        Assertions.assertThat(savedAnimes).containsExactlyElementsOf(animesToSave);
+        Assertions.assertThat(repository.findAll())
+                .hasSize(animeList.size() + animesToSave.size())
+                .containsAll(animesToSave);
+        Assertions.assertThat(repository.findByName("frieren")).hasSize(1);
+    }
+
+}
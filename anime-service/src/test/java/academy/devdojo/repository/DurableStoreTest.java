@@ -0,0 +1,154 @@
+package academy.devdojo.repository;
+
+import academy.devdojo.config.WalConfigurationProperties;
+import academy.devdojo.domain.Producer;
+import academy.devdojo.wal.Durability;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class DurableStoreTest {
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @TempDir
+    private Path directory;
+
+    private WalConfigurationProperties configurationProperties;
+
+    @BeforeEach
+    void init() {
+        configurationProperties = new WalConfigurationProperties(true, directory, Durability.GROUP_COMMIT,
+                DataSize.ofKilobytes(4), Duration.ofMillis(10), Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("open restores the snapshot and the writes logged after it")
+    @Order(1)
+    void open_RestoresSnapshotAndLaterWrites_WhenStoreIsReopened() throws IOException {
+        var createdAt = LocalDateTime.of(2025, 1, 1, 12, 30, 15, 123_000_000);
+        var store = ProducerData.newProducerStore();
+        try (var durableStore = durableStore(store)) {
+            durableStore.open();
+            store.saveAll(List.of(producer(1L, "Mappa", createdAt), producer(2L, "Madhouse", createdAt)));
+            durableStore.checkpoint();
+            store.update(producer(1L, "MAPPA", createdAt));
+            store.deleteAllById(List.of(2L));
+            store.save(producer(3L, "Ufotable", null));
+            durableStore.checkpoint();
+            store.save(producer(4L, "Bones", createdAt));
+            try (var logs = Files.list(directory)) {
+                Assertions.assertThat(logs.map(file -> file.getFileName().toString()))
+                        .containsExactlyInAnyOrder("producers.snapshot", "producers-2.wal");
+            }
+        }
+
+        var reopened = ProducerData.newProducerStore();
+        reopened.save(producer(2L, "Seeded before the snapshot", null));
+        try (var durableStore = durableStore(reopened)) {
+            durableStore.open();
+
+            Assertions.assertThat(reopened.findAll())
+                    .extracting(Producer::getId, Producer::getName, Producer::getCreatedAt)
+                    .containsExactly(
+                            Assertions.tuple(1L, "MAPPA", createdAt),
+                            Assertions.tuple(3L, "Ufotable", null),
+                            Assertions.tuple(4L, "Bones", createdAt));
+            Assertions.assertThat(reopened.findByIndex(ProducerData.NAME_INDEX, "madhouse")).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("open replays the logs when there is no snapshot yet")
+    @Order(2)
+    void open_ReplaysLogs_WhenThereIsNoSnapshot() throws IOException {
+        var store = ProducerData.newProducerStore();
+        var durableStore = durableStore(store);
+        durableStore.open();
+        store.save(producer(1L, "Mappa", null));
+        Files.deleteIfExists(directory.resolve("producers.snapshot"));
+
+        var reopened = ProducerData.newProducerStore();
+        try (var reopenedStore = durableStore(reopened)) {
+            reopenedStore.open();
+
+            Assertions.assertThat(reopened.findAll()).extracting(Producer::getName).containsExactly("Mappa");
+        }
+    }
+
+    @Test
+    @DisplayName("checkpoint keeps every acknowledged write when it runs while writers are in flight")
+    @Order(3)
+    void checkpoint_KeepsAcknowledgedWrites_WhenWritesAreInFlight() throws Exception {
+        var store = ProducerData.newProducerStore();
+        try (var durableStore = durableStore(store)) {
+            durableStore.open();
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                var writes = LongStream.rangeClosed(1, 2_000)
+                        .mapToObj(id -> executor.submit(() -> store.save(producer(id, "Producer " + id, null))))
+                        .toList();
+                for (int i = 0; i < 5; i++) durableStore.checkpoint();
+                for (Future<?> write : writes) write.get();
+            }
+        }
+
+        var reopened = ProducerData.newProducerStore();
+        try (var durableStore = durableStore(reopened)) {
+            durableStore.open();
+
+            Assertions.assertThat(reopened.findAll()).extracting(Producer::getId)
+                    .containsExactlyElementsOf(LongStream.rangeClosed(1, 2_000).boxed().toList());
+        }
+    }
+
+    @Test
+    @DisplayName("open replays a batch that swapped unique keys")
+    @Order(4)
+    void open_ReplaysBatch_WhenRowsSwappedUniqueKeys() throws IOException {
+        var store = uniqueNameStore();
+        var durableStore = durableStore(store);
+        durableStore.open();
+        store.saveAll(List.of(producer(1L, "Mappa", null), producer(2L, "Madhouse", null)));
+        store.upsertAll(List.of(producer(1L, "Madhouse", null), producer(2L, "Mappa", null)));
+        Files.deleteIfExists(directory.resolve("producers.snapshot"));
+
+        var reopened = uniqueNameStore();
+        try (var reopenedStore = durableStore(reopened)) {
+            reopenedStore.open();
+
+            Assertions.assertThat(reopened.findAll())
+                    .extracting(Producer::getId, Producer::getName)
+                    .containsExactly(Assertions.tuple(1L, "Madhouse"), Assertions.tuple(2L, "Mappa"));
+            Assertions.assertThat(reopened.findByIndex(ProducerData.NAME_INDEX, "mappa"))
+                    .extracting(Producer::getId)
+                    .containsExactly(2L);
+        }
+    }
+
+    private static IndexedStore<Producer> uniqueNameStore() {
+        var store = new IndexedStore<Producer>(Producer::getId);
+        store.addUniqueIndex(ProducerData.NAME_INDEX, Producer::getName);
+        return store;
+    }
+
+    private DurableStore<Producer> durableStore(IndexedStore<Producer> store) {
+        return new DurableStore<>("producers", store, Producer.class, new ProducerRowCodec(), objectMapper, configurationProperties);
+    }
+
+    private static Producer producer(Long id, String name, LocalDateTime createdAt) {
+        return Producer.builder().id(id).name(name).createdAt(createdAt).build();
+    }
+}
@@ -0,0 +1,137 @@
+package academy.devdojo.repository;
+
+import academy.devdojo.domain.Anime;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.Executors;
+import java.util.stream.LongStream;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class InvertedIndexTest {
+    private static final String SEARCH_INDEX = "name-search";
+
+    private IndexedStore<Anime> store;
+    private InvertedIndex<Anime> index;
+
+    @BeforeEach
+    void init() {
+        store = new IndexedStore<>(Anime::getId);
+        index = new InvertedIndex<>(Anime::getName);
+        store.addSearchIndex(SEARCH_INDEX, index);
+    }
+
+    @Test
+    @DisplayName("terms folds accents and case and splits on punctuation")
+    @Order(1)
+    void terms_FoldsAccentsAndCase_WhenTextHasPunctuation() {
+        Assertions.assertThat(InvertedIndex.terms("Shingeki no Kyojin: Kanketsu-hen"))
+                .containsExactly("shingeki", "no", "kyojin", "kanketsu", "hen");
+        Assertions.assertThat(InvertedIndex.terms("Pokémon  POKÉMON!"))
+                .containsExactly("pokemon");
+        Assertions.assertThat(InvertedIndex.terms(" -- ")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("search matches prefixes of every query term regardless of accents")
+    @Order(2)
+    void search_MatchesPrefixesOfEveryTerm_WhenQueryIsPartial() {
+        save(1L, "Dragon Ball Z");
+        save(2L, "Dragon Quest: Dai no Daibouken");
+        save(3L, "Pokémon");
+        save(4L, "Ballroom e Youkoso");
+
+        Assertions.assertThat(store.search(SEARCH_INDEX, "drag ba", 10))
+                .extracting(Anime::getId)
+                .containsExactly(1L);
+        Assertions.assertThat(store.search(SEARCH_INDEX, "POKE", 10))
+                .extracting(Anime::getId)
+                .containsExactly(3L);
+        Assertions.assertThat(store.search(SEARCH_INDEX, "quest ball", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("search ranks exact terms before prefixes and shorter titles before longer ones")
+    @Order(3)
+    void search_RanksExactAndShorterTitlesFirst_WhenSeveralRowsMatch() {
+        save(1L, "Naruto Shippuden");
+        save(2L, "Narutaru");
+        save(3L, "Naruto");
+        save(4L, "Boruto: Naruto Next Generations");
+
+        Assertions.assertThat(store.search(SEARCH_INDEX, "naruto", 10))
+                .extracting(Anime::getId)
+                .containsExactly(3L, 1L, 4L);
+        Assertions.assertThat(store.search(SEARCH_INDEX, "naru", 2))
+                .extracting(Anime::getId)
+                .containsExactly(3L, 2L);
+    }
+
+    @Test
+    @DisplayName("search follows saves, updates and deletes without a rebuild")
+    @Order(4)
+    void search_FollowsWrites_WhenRowsChange() {
+        save(1L, "Fullmetal Alchemist");
+        save(2L, "Fullmetal Alchemist: Brotherhood");
+
+        store.update(Anime.builder().id(1L).name("Frieren").build());
+        store.delete(Anime.builder().id(2L).build());
+
+        Assertions.assertThat(store.search(SEARCH_INDEX, "fullmetal", 10)).isEmpty();
+        Assertions.assertThat(store.search(SEARCH_INDEX, "frie", 10))
+                .extracting(Anime::getId)
+                .containsExactly(1L);
+        Assertions.assertThat(index.termCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("search returns nothing when the query has no terms")
+    @Order(5)
+    void search_ReturnsEmptyList_WhenQueryHasNoTerms() {
+        save(1L, "Naruto");
+
+        Assertions.assertThat(index.search(null, 10)).isEmpty();
+        Assertions.assertThat(index.search(" ?! ", 10)).isEmpty();
+        Assertions.assertThat(index.search("naruto", 0)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("addSearchIndex indexes the rows already in the store")
+    @Order(6)
+    void addSearchIndex_IndexesExistingRows_WhenStoreIsNotEmpty() {
+        var populated = new IndexedStore<Anime>(Anime::getId);
+        populated.save(Anime.builder().id(1L).name("Mob Psycho 100").build());
+
+        populated.addSearchIndex(SEARCH_INDEX, new InvertedIndex<>(Anime::getName));
+
+        Assertions.assertThat(populated.search(SEARCH_INDEX, "100", 10))
+                .extracting(Anime::getId)
+                .containsExactly(1L);
+        Assertions.assertThatIllegalArgumentException()
+                .isThrownBy(() -> populated.addSearchIndex(SEARCH_INDEX, new InvertedIndex<>(Anime::getName)));
+    }
+
+    @Test
+    @DisplayName("concurrent saves and deletes leave only the surviving rows searchable")
+    @Order(7)
+    void search_KeepsPostingsConsistent_WhenWrittenConcurrently() throws Exception {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var writes = LongStream.rangeClosed(1, 2_000)
+                    .mapToObj(id -> executor.submit(() -> {
+                        var anime = Anime.builder().id(id).name("Anime " + (id % 2 == 0 ? "Even" : "Odd")).build();
+                        store.save(anime);
+                        if (id % 2 == 0) store.delete(anime);
+                    }))
+                    .toList();
+            for (var write : writes) write.get();
+        }
+
+        Assertions.assertThat(store.search(SEARCH_INDEX, "even", 10)).isEmpty();
+        Assertions.assertThat(store.search(SEARCH_INDEX, "anime odd", 5)).hasSize(5);
+        Assertions.assertThat(index.termCount()).isEqualTo(2);
+    }
+
+    private void save(Long id, String name) {
+        store.save(Anime.builder().id(id).name(name).build());
+    }
+}
@@ -0,0 +1,152 @@
+package academy.devdojo.repository;
+
+import academy.devdojo.commons.AnimeUtils;
+import academy.devdojo.domain.Anime;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "database.url=jdbc:h2:mem:anime-repository;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("jdbc")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class JdbcAnimeRepositoryTest {
+    @Autowired
+    private AnimeRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final AnimeUtils animeUtils = new AnimeUtils();
+
+    private List<Anime> animeList;
+
+    @BeforeEach
+    void init() {
+        jdbcTemplate.update("DELETE FROM animes");
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        animeList = animeUtils.newAnimeList();
+        repository.saveAll(animeList);
+    }
+
+    @Test
+    @DisplayName("the jdbc profile replaces the hard coded repository")
+    @Order(1)
+    void repository_IsJdbc_WhenJdbcProfileIsActive() {
+        Assertions.assertThat(repository).isInstanceOf(JdbcAnimeRepository.class);
+    }
+
+    @Test
+    @DisplayName("findAll returns every saved Anime ordered by id")
+    @Order(2)
+    void findAll_ReturnsAllAnimes_WhenSuccessful() {
+        Assertions.assertThat(repository.findAll()).containsExactlyElementsOf(animeList);
+    }
+
+    @Test
+    @DisplayName("findByName ignores case")
+    @Order(3)
+    void findByName_ReturnsAnime_WhenNameCaseDiffers() {
+        var expectedAnime = animeList.getFirst();
+
+        var animes = repository.findByName(expectedAnime.getName().toUpperCase());
+
+        Assertions.assertThat(animes).containsExactly(expectedAnime);
+    }
+
+    @Test
+    @DisplayName("findPage returns the animes after the given id")
+    @Order(4)
+    void findPage_ReturnsNextAnimes_WhenAfterIsGiven() {
+        var page = repository.findPage(animeList.getFirst().getId(), 2);
+
+        Assertions.assertThat(page).containsExactly(animeList.get(1), animeList.get(2));
+    }
+
+    @Test
+    @DisplayName("saveAll inserts batches larger than one statement batch")
+    @Order(5)
+    void saveAll_InsertsEveryAnime_WhenBatchIsLarge() {
+        var animes = LongStream.rangeClosed(100, 1_300)
+                .mapToObj(id -> Anime.builder().id(id).name("Anime " + id).build())
+                .toList();
+
+        repository.saveAll(animes);
+
+        Assertions.assertThat(repository.findAll()).hasSize(animeList.size() + animes.size());
+    }
+
+    @Test
+    @DisplayName("update changes the row and the version counters")
+    @Order(6)
+    void update_BumpsVersions_WhenSuccessful() {
+        var animeToUpdate = Anime.builder().id(animeList.getFirst().getId()).name("Boruto").build();
+        var version = repository.version();
+        var rowVersion = repository.findVersion(animeToUpdate.getId()).orElseThrow();
+
+        repository.update(animeToUpdate);
+
+        Assertions.assertThat(repository.findById(animeToUpdate.getId())).hasValueSatisfying(anime ->
+                Assertions.assertThat(anime.getName()).isEqualTo("Boruto"));
+        Assertions.assertThat(repository.version()).isGreaterThan(version);
+        Assertions.assertThat(repository.findVersion(animeToUpdate.getId())).hasValueSatisfying(newVersion ->
+                Assertions.assertThat(newVersion).isGreaterThan(rowVersion));
+    }
+
+    @Test
+    @DisplayName("findAllView computes a view once per version")
+    @Order(7)
+    void findAllView_ReusesView_UntilNextWrite() {
+        var computations = new AtomicInteger();
+
+        repository.findAllView("test", animes -> computations.incrementAndGet());
+        repository.findAllView("test", animes -> computations.incrementAndGet());
+        Assertions.assertThat(computations).hasValue(1);
+
+        repository.delete(animeList.getFirst());
+        var size = repository.findAllView("test", animes -> {
+            computations.incrementAndGet();
+            return animes.size();
+        });
+
+        Assertions.assertThat(computations).hasValue(2);
+        Assertions.assertThat(size).isEqualTo(animeList.size() - 1);
+    }
+
+    @Test
+    @DisplayName("search matches word prefixes of every term and ranks shorter names first")
+    @Order(8)
+    void search_ReturnsShorterNamesFirst_WhenWordPrefixesMatch() {
+        Assertions.assertThat(repository.search("S", 10))
+                .extracting(Anime::getId)
+                .containsExactly(3L, 4L);
+        Assertions.assertThat(repository.search("art onl", 10))
+                .extracting(Anime::getId)
+                .containsExactly(3L);
+        Assertions.assertThat(repository.search("rt", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("findById sees a row another instance changed after it was read")
+    @Order(9)
+    void findById_ReturnsLatestRow_WhenAnotherInstanceUpdatesIt() {
+        var anime = animeList.getFirst();
+        repository.findById(anime.getId());
+
+        jdbcTemplate.update("UPDATE animes SET name = ? WHERE id = ?", "Renamed elsewhere", anime.getId());
+
+        Assertions.assertThat(repository.findById(anime.getId()))
+                .hasValueSatisfying(found -> Assertions.assertThat(found.getName()).isEqualTo("Renamed elsewhere"));
+    }
+}
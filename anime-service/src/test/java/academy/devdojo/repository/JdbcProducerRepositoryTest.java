@@ -0,0 +1,93 @@
+package academy.devdojo.repository;
+
+import academy.devdojo.commons.ProducerUtils;
+import academy.devdojo.domain.Producer;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "database.url=jdbc:h2:mem:producer-repository;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("jdbc")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class JdbcProducerRepositoryTest {
+    @Autowired
+    private ProducerRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final ProducerUtils producerUtils = new ProducerUtils();
+
+    private List<Producer> producerList;
+
+    @BeforeEach
+    void init() {
+        jdbcTemplate.update("DELETE FROM producers");
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        producerList = producerUtils.newProducerList();
+        producerList.forEach(repository::save);
+    }
+
+    @Test
+    @DisplayName("findById returns the Producer with its creation time")
+    @Order(1)
+    void findById_ReturnsProducer_WhenSuccessful() {
+        var expectedProducer = producerList.getFirst();
+
+        var producer = repository.findById(expectedProducer.getId());
+
+        Assertions.assertThat(producer).hasValueSatisfying(found -> {
+            Assertions.assertThat(found.getName()).isEqualTo(expectedProducer.getName());
+            Assertions.assertThat(found.getCreatedAt()).isEqualTo(expectedProducer.getCreatedAt());
+        });
+    }
+
+    @Test
+    @DisplayName("findByName ignores case")
+    @Order(2)
+    void findByName_ReturnsProducer_WhenNameCaseDiffers() {
+        var expectedProducer = producerList.getFirst();
+
+        var producers = repository.findByName(expectedProducer.getName().toLowerCase());
+
+        Assertions.assertThat(producers).containsExactly(expectedProducer);
+    }
+
+    @Test
+    @DisplayName("delete removes the Producer and bumps the version")
+    @Order(3)
+    void delete_RemovesProducer_WhenSuccessful() {
+        var producerToDelete = producerList.getFirst();
+        var version = repository.version();
+
+        repository.delete(producerToDelete);
+
+        Assertions.assertThat(repository.findAll()).doesNotContain(producerToDelete).hasSize(producerList.size() - 1);
+        Assertions.assertThat(repository.findVersion(producerToDelete.getId())).isEmpty();
+        Assertions.assertThat(repository.version()).isGreaterThan(version);
+    }
+
+    @Test
+    @DisplayName("suggest returns names starting with the prefix, shortest first, and treats LIKE wildcards literally")
+    @Order(4)
+    void suggest_ReturnsShortestNamesFirst_WhenPrefixMatches() {
+        repository.save(Producer.builder().id(4L).name("Studio").createdAt(LocalDateTime.now()).build());
+
+        Assertions.assertThat(repository.suggest("STU", 10))
+                .extracting(Producer::getId)
+                .containsExactly(4L, 3L);
+        Assertions.assertThat(repository.suggest("%", 10)).isEmpty();
+        Assertions.assertThat(repository.suggest("_fotable", 10)).isEmpty();
+    }
+}
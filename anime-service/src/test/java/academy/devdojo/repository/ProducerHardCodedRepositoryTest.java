@@ -29,16 +29,19 @@ class ProducerHardCodedRepositoryTest {
 
     private List<Producer> producerList;
 
+    private IndexedStore<Producer> producerStore;
+
     @BeforeEach
     void init() {
         producerList = producerUtils.newProducerList();
+        producerStore = producerUtils.newProducerStore(producerList);
     }
 
     @Test
     @DisplayName("findAll returns a list with all producers")
     @Order(1)
     void findAll_ReturnAllProducers_WhenSuccesful() {
-        BDDMockito.when(producerData.getProducers()).thenReturn(producerList);
+        BDDMockito.when(producerData.getProducerStore()).thenReturn(producerStore);
         var producers = repository.findAll();
         Assertions.assertThat(producers)
                 .hasSize(producerList.size())
@@ -49,7 +52,7 @@ class ProducerHardCodedRepositoryTest {
     @Test
     @DisplayName("findById returns a producer with given id")
     void findById_ReturnsProducer_WhenSuccesful_OrThrowsNotFoundException() {
-        BDDMockito.when(producerData.getProducers()).thenReturn(producerList);
+        BDDMockito.when(producerData.getProducerStore()).thenReturn(producerStore);
         var expectedProducer = producerList.getFirst();
         var producer = repository.findById(expectedProducer.getId());
         Assertions.assertThat(producer)
@@ -61,7 +64,7 @@ class ProducerHardCodedRepositoryTest {
     @Test
     @DisplayName("findByName returns empty list when name is null")
     void findByName_ReturnsEmptyList_WhenNameIsNull() {
-        BDDMockito.when(producerData.getProducers()).thenReturn(producerList);
+        BDDMockito.when(producerData.getProducerStore()).thenReturn(producerStore);
         var producers = repository.findByName(null);
         Assertions.assertThat(producers)
                 .isNotNull()
@@ -72,7 +75,7 @@ class ProducerHardCodedRepositoryTest {
     @Test
     @DisplayName("findByName returns list with found object when name exists")
     void findByName_ReturnsFoundProducerInList_WhenNameIsFound() {
-        BDDMockito.when(producerData.getProducers()).thenReturn(producerList);
+        BDDMockito.when(producerData.getProducerStore()).thenReturn(producerStore);
         var expectedProducer = producerList.getFirst();
         var producers = repository.findByName("Ufotable");
         Assertions.assertThat(producers)
@@ -85,7 +88,7 @@ class ProducerHardCodedRepositoryTest {
     @Test
     @DisplayName("save creates a producer")
     void save_CreatesAProducer_WhenSuccesful() {
-        BDDMockito.when(producerData.getProducers()).thenReturn(producerList);
+        BDDMockito.when(producerData.getProducerStore()).thenReturn(producerStore);
         var producerToSave = producerUtils.newProducerToSave();
         Producer savedProducer = repository.save(producerToSave);
         Assertions.assertThat(savedProducer)
@@ -102,10 +105,10 @@ class ProducerHardCodedRepositoryTest {
     @Test
     @DisplayName("delete removes a producer when succefull")
     void delete_RemovesAProducer_WhenSuccesful() {
-        BDDMockito.when(producerData.getProducers()).thenReturn(producerList);
+        BDDMockito.when(producerData.getProducerStore()).thenReturn(producerStore);
         var producerToDelete = producerList.getFirst();
         repository.delete(producerToDelete);
-        Assertions.assertThat(this.producerList)
+        Assertions.assertThat(this.producerStore.findAll())
                 .doesNotContain(producerToDelete);
 
         List<Producer> producers = repository.findAll();
@@ -119,13 +122,13 @@ class ProducerHardCodedRepositoryTest {
     @Test
     @DisplayName("update update a producer")
     void update_UpdateProducer_WhenSuccesfull() {
-        BDDMockito.when(producerData.getProducers()).thenReturn(producerList);
+        BDDMockito.when(producerData.getProducerStore()).thenReturn(producerStore);
         Producer producerToUpdate = this.producerList.getFirst();
         producerToUpdate.setName("Aniplex");
 
         repository.update(producerToUpdate);
 
-        Assertions.assertThat(this.producerList.contains(producerToUpdate));
+        Assertions.assertThat(this.producerStore.findAll().contains(producerToUpdate));
 
         var producerUpdateOptional = repository.findById(producerToUpdate.getId());
 
@@ -0,0 +1,121 @@
+package academy.devdojo.repository;
+
+import academy.devdojo.domain.Producer;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.*;
+
+import java.util.concurrent.Executors;
+import java.util.stream.LongStream;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class RadixTrieTest {
+    private static final String SUGGEST_INDEX = "name-suggest";
+
+    private IndexedStore<Producer> store;
+    private RadixTrie<Producer> trie;
+
+    @BeforeEach
+    void init() {
+        store = new IndexedStore<>(Producer::getId);
+        trie = new RadixTrie<>(Producer::getName);
+        store.addSearchIndex(SUGGEST_INDEX, trie);
+    }
+
+    @Test
+    @DisplayName("search returns names starting with the prefix, shortest first, then alphabetically")
+    @Order(1)
+    void search_ReturnsShortestNamesFirst_WhenPrefixMatches() {
+        save(1L, "Studio Pierrot");
+        save(2L, "Studio Ghibli");
+        save(3L, "Studio");
+        save(4L, "Sunrise");
+        save(5L, "Studio Bones");
+
+        Assertions.assertThat(store.search(SUGGEST_INDEX, "stu", 10))
+                .extracting(Producer::getId)
+                .containsExactly(3L, 5L, 2L, 1L);
+        Assertions.assertThat(store.search(SUGGEST_INDEX, "s", 2))
+                .extracting(Producer::getId)
+                .containsExactly(3L, 4L);
+        Assertions.assertThat(store.search(SUGGEST_INDEX, "studio g", 10))
+                .extracting(Producer::getId)
+                .containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("search ignores case and accents in names and prefixes")
+    @Order(2)
+    void search_IgnoresCaseAndAccents_WhenComparingPrefixes() {
+        save(1L, "Pokémon Production");
+        save(2L, "POKEMON Company");
+
+        Assertions.assertThat(store.search(SUGGEST_INDEX, "pokém", 10))
+                .extracting(Producer::getId)
+                .containsExactly(2L, 1L);
+        Assertions.assertThat(store.search(SUGGEST_INDEX, "pokex", 10)).isEmpty();
+        Assertions.assertThat(store.search(SUGGEST_INDEX, " ", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("search follows renames and deletes and removals leave the trie compact")
+    @Order(3)
+    void search_FollowsWritesAndStaysCompact_WhenNamesChange() {
+        save(1L, "Madhouse");
+        var nodesWithOneName = trie.nodeCount();
+        save(2L, "Mappa");
+        save(3L, "Mad Box");
+
+        store.update(Producer.builder().id(2L).name("Production I.G").build());
+        store.delete(Producer.builder().id(3L).build());
+
+        Assertions.assertThat(store.search(SUGGEST_INDEX, "ma", 10))
+                .extracting(Producer::getId)
+                .containsExactly(1L);
+        Assertions.assertThat(store.search(SUGGEST_INDEX, "production", 10))
+                .extracting(Producer::getId)
+                .containsExactly(2L);
+
+        store.delete(Producer.builder().id(2L).build());
+
+        Assertions.assertThat(trie.nodeCount()).isEqualTo(nodesWithOneName);
+    }
+
+    @Test
+    @DisplayName("search returns every producer sharing a name")
+    @Order(4)
+    void search_ReturnsEveryId_WhenNamesRepeat() {
+        save(2L, "Madhouse");
+        save(1L, "Madhouse");
+
+        Assertions.assertThat(store.search(SUGGEST_INDEX, "madhouse", 10))
+                .extracting(Producer::getId)
+                .containsExactly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("concurrent writes leave exactly the surviving names in the trie")
+    @Order(5)
+    void search_KeepsTrieConsistent_WhenWrittenConcurrently() throws Exception {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var writes = LongStream.rangeClosed(1, 2_000)
+                    .mapToObj(id -> executor.submit(() -> {
+                        var producer = Producer.builder().id(id).name("Producer " + id).build();
+                        store.save(producer);
+                        if (id % 2 == 0) store.delete(producer);
+                    }))
+                    .toList();
+            for (var write : writes) write.get();
+        }
+
+        Assertions.assertThat(store.search(SUGGEST_INDEX, "producer", 2_000))
+                .hasSize(1_000)
+                .allMatch(producer -> producer.getId() % 2 == 1);
+        Assertions.assertThat(store.search(SUGGEST_INDEX, "producer 1", 3))
+                .extracting(Producer::getId)
+                .containsExactly(1L, 11L, 13L);
+    }
+
+    private void save(Long id, String name) {
+        store.save(Producer.builder().id(id).name(name).build());
+    }
+}
@@ -0,0 +1,126 @@
+package academy.devdojo.service;
+
+import academy.devdojo.config.CacheBeanConfiguration;
+import academy.devdojo.domain.Anime;
+import academy.devdojo.repository.AnimeData;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.*;
+import org.mockito.BDDMockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class AnimeServiceCacheTest {
+    @Autowired
+    private AnimeService service;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoSpyBean
+    private AnimeData animeData;
+
+    private Anime naruto;
+
+    @BeforeEach
+    void init() {
+        Objects.requireNonNull(cacheManager.getCache(CacheBeanConfiguration.ANIMES_CACHE)).clear();
+        naruto = Anime.builder().id(1L).name("Naruto").build();
+        animeData.getAnimeStore().save(naruto);
+        BDDMockito.clearInvocations(animeData);
+    }
+
+    @Test
+    @DisplayName("findByIdOrThrowNotFound reads the store once for repeated lookups")
+    @Order(1)
+    void findByIdOrThrowNotFound_ReadsStoreOnce_WhenCalledRepeatedly() {
+        var hitsBefore = cacheGets("hit");
+
+        Assertions.assertThat(service.findByIdOrThrowNotFound(naruto.getId())).isEqualTo(naruto);
+        Assertions.assertThat(service.findByIdOrThrowNotFound(naruto.getId())).isEqualTo(naruto);
+
+        BDDMockito.verify(animeData, BDDMockito.times(1)).getAnimeStore();
+        Assertions.assertThat(cacheGets("hit")).isEqualTo(hitsBefore + 1);
+    }
+
+    @Test
+    @DisplayName("update evicts the cached anime")
+    @Order(2)
+    void update_EvictsCachedAnime_WhenSuccessful() {
+        service.findByIdOrThrowNotFound(naruto.getId());
+
+        service.update(Anime.builder().id(naruto.getId()).name("Naruto Shippuden").build());
+
+        Assertions.assertThat(service.findByIdOrThrowNotFound(naruto.getId()))
+                .extracting(Anime::getName)
+                .isEqualTo("Naruto Shippuden");
+    }
+
+    @Test
+    @DisplayName("findByIdOrThrowNotFound caches not found ids until the anime is saved")
+    @Order(3)
+    void findByIdOrThrowNotFound_CachesNotFound_UntilAnimeIsSaved() {
+        var missingId = 404L;
+
+        Assertions.assertThatExceptionOfType(ResponseStatusException.class)
+                .isThrownBy(() -> service.findByIdOrThrowNotFound(missingId));
+        Assertions.assertThatExceptionOfType(ResponseStatusException.class)
+                .isThrownBy(() -> service.findByIdOrThrowNotFound(missingId));
+        BDDMockito.verify(animeData, BDDMockito.times(1)).getAnimeStore();
+
+        service.save(Anime.builder().id(missingId).name("Bleach").build());
+
+        Assertions.assertThat(service.findByIdOrThrowNotFound(missingId)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("saveAll evicts every cached anime")
+    @Order(4)
+    void saveAll_EvictsCachedAnimes_WhenSuccessful() {
+        var missingId = 405L;
+        Assertions.assertThatExceptionOfType(ResponseStatusException.class)
+                .isThrownBy(() -> service.findByIdOrThrowNotFound(missingId));
+
+        service.saveAll(List.of(Anime.builder().id(missingId).name("One Piece").build()));
+
+        Assertions.assertThat(service.findByIdOrThrowNotFound(missingId)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("save evicts the cached anime before the store publishes the new version")
+    @Order(5)
+    void save_EvictsCachedAnimeBeforeWrite_WhenSuccessful() {
+        var cache = Objects.requireNonNull(cacheManager.getCache(CacheBeanConfiguration.ANIMES_CACHE));
+        service.findByIdOrThrowNotFound(naruto.getId());
+        var cachedDuringWrite = new ArrayList<Object>();
+        BDDMockito.willAnswer(invocation -> {
+            cachedDuringWrite.add(cache.get(naruto.getId()));
+            return invocation.callRealMethod();
+        }).given(animeData).getAnimeStore();
+
+        service.save(Anime.builder().id(naruto.getId()).name("Naruto Shippuden").build());
+
+        Assertions.assertThat(cachedDuringWrite).containsOnlyNulls();
+        Assertions.assertThat(cache.get(naruto.getId())).isNull();
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", CacheBeanConfiguration.ANIMES_CACHE)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
@@ -99,7 +99,8 @@ class AnimeServiceTest {
 
         Assertions.assertThatException()
                 .isThrownBy(() -> service.findByIdOrThrowNotFound(expectedAnime.getId()))
-                .isInstanceOf(ResponseStatusException.class);
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(e -> Assertions.assertThat(e.getStackTrace()).isEmpty());
 
     }
 
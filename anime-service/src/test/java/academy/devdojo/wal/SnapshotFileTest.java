@@ -0,0 +1,66 @@
+package academy.devdojo.wal;
+
+import academy.devdojo.domain.Anime;
+import academy.devdojo.repository.AnimeRowCodec;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class SnapshotFileTest {
+    private final AnimeRowCodec codec = new AnimeRowCodec();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("read returns every written row and the log generation")
+    @Order(1)
+    void read_ReturnsWrittenRows_WhenSnapshotSpansSeveralBlocks() throws IOException {
+        var file = directory.resolve("animes.snapshot");
+        var animes = LongStream.rangeClosed(1, 100_000)
+                .mapToObj(id -> Anime.builder().id(id).name(id % 10 == 0 ? null : "Anime " + id).build())
+                .toList();
+        SnapshotFile.write(file, 7, animes, codec);
+
+        var blocks = new ArrayList<List<Anime>>();
+        var generation = SnapshotFile.read(file, codec, blocks::add);
+
+        Assertions.assertThat(generation).hasValue(7);
+        Assertions.assertThat(blocks).hasSizeGreaterThan(1);
+        Assertions.assertThat(blocks.stream().flatMap(List::stream))
+                .extracting(Anime::getId, Anime::getName)
+                .containsExactlyElementsOf(animes.stream().map(anime -> Assertions.tuple(anime.getId(), anime.getName())).toList());
+    }
+
+    @Test
+    @DisplayName("read returns nothing when there is no snapshot")
+    @Order(2)
+    void read_ReturnsEmpty_WhenFileDoesNotExist() throws IOException {
+        Assertions.assertThat(SnapshotFile.read(directory.resolve("animes.snapshot"), codec, block -> {})).isEmpty();
+    }
+
+    @Test
+    @DisplayName("read throws IllegalStateException when a block is corrupted")
+    @Order(3)
+    void read_ThrowsIllegalStateException_WhenBlockIsCorrupted() throws IOException {
+        var file = directory.resolve("animes.snapshot");
+        SnapshotFile.write(file, 1, List.of(Anime.builder().id(1L).name("Naruto").build()), codec);
+        try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{'X'}), 30);
+        }
+
+        Assertions.assertThatIllegalStateException()
+                .isThrownBy(() -> SnapshotFile.read(file, codec, block -> {}))
+                .withMessageContaining("corrupted");
+    }
+}
@@ -0,0 +1,64 @@
+package academy.devdojo.benchmark;
+
+import academy.devdojo.domain.Anime;
+import academy.devdojo.repository.AnimeData;
+import academy.devdojo.repository.AnimeHardCodedRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AnimeRepositoryBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int rows;
+
+    private AnimeHardCodedRepository repository;
+
+    @Setup
+    public void setup() {
+        var animeData = new AnimeData();
+        animeData.getAnimeStore().saveAll(LongStream.rangeClosed(1, rows)
+                .mapToObj(id -> Anime.builder().id(id).name("Anime " + id).build())
+                .toList());
+        repository = new AnimeHardCodedRepository(animeData);
+    }
+
+    @Benchmark
+    public List<Anime> findAll() {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    public List<Anime> findPage() {
+        return repository.findPage(randomId(), 100);
+    }
+
+    @Benchmark
+    public Optional<Anime> findById() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    public List<Anime> findByName() {
+        return repository.findByName("ANIME " + randomId());
+    }
+
+    @Benchmark
+    public Anime update() {
+        var id = randomId();
+        var anime = Anime.builder().id(id).name("Anime " + id).build();
+        repository.update(anime);
+        return anime;
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, rows + 1);
+    }
+}
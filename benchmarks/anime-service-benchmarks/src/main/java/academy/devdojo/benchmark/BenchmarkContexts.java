@@ -0,0 +1,36 @@
+package academy.devdojo.benchmark;
+
+import academy.devdojo.AnimeServiceApplication;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.stream.Stream;
+
+/**
+ * Boots the anime-service beans without a web server, so benchmarks measure the application code and not Tomcat,
+ * or with a real server on a random port when the server stack itself is what is being compared.
+ */
+final class BenchmarkContexts {
+
+    private BenchmarkContexts() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return builder(WebApplicationType.NONE).run();
+    }
+
+    static ConfigurableApplicationContext serve(WebApplicationType webApplicationType, String... args) {
+        var overrides = Stream.concat(Stream.of("--server.port=0", "--admission-control.enabled=false"), Stream.of(args));
+        return builder(webApplicationType).run(overrides.toArray(String[]::new));
+    }
+
+    private static SpringApplicationBuilder builder(WebApplicationType webApplicationType) {
+        return new SpringApplicationBuilder(AnimeServiceApplication.class)
+                .web(webApplicationType)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .properties("logging.level.root=warn", "logging.level.academy.devdojo=warn");
+    }
+}
@@ -0,0 +1,97 @@
+package academy.devdojo.benchmark;
+
+import academy.devdojo.controller.AnimeController;
+import academy.devdojo.controller.ProducerController;
+import academy.devdojo.domain.Anime;
+import academy.devdojo.domain.Producer;
+import academy.devdojo.repository.AnimeData;
+import academy.devdojo.repository.ProducerData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Full request dispatch through {@link MockMvc}: handler mapping, argument resolution, service, repository, mapper
+ * and JSON serialization, without the network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ControllerBenchmark {
+
+    @Param({"1000", "10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkContexts.start();
+
+        var createdAt = LocalDateTime.now();
+        context.getBean(AnimeData.class).getAnimeStore().saveAll(LongStream.rangeClosed(1, rows)
+                .mapToObj(id -> Anime.builder().id(id).name("Anime " + id).build())
+                .toList());
+        context.getBean(ProducerData.class).getProducerStore().saveAll(LongStream.rangeClosed(1, rows)
+                .mapToObj(id -> Producer.builder().id(id).name("Producer " + id).createdAt(createdAt).build())
+                .toList());
+
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(context.getBean(AnimeController.class), context.getBean(ProducerController.class))
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(context.getBean(ObjectMapper.class)))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] listAnimesFirstPage() throws Exception {
+        return perform(MockMvcRequestBuilders.get("/v1/animes").param("limit", "100"));
+    }
+
+    @Benchmark
+    public byte[] findAnimeById() throws Exception {
+        return perform(MockMvcRequestBuilders.get("/v1/animes/{id}", randomId()));
+    }
+
+    @Benchmark
+    public byte[] findAnimesByName() throws Exception {
+        return perform(MockMvcRequestBuilders.get("/v1/animes").param("name", "anime " + randomId()));
+    }
+
+    @Benchmark
+    public byte[] updateAnime() throws Exception {
+        var id = randomId();
+        return perform(MockMvcRequestBuilders.put("/v1/animes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\":%d,\"name\":\"Anime %d\"}".formatted(id, id)));
+    }
+
+    @Benchmark
+    public byte[] findProducersByName() throws Exception {
+        return perform(MockMvcRequestBuilders.get("/v1/producers").param("name", "producer " + randomId()));
+    }
+
+    private byte[] perform(RequestBuilder request) throws Exception {
+        return mockMvc.perform(request).andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, rows + 1);
+    }
+}
@@ -0,0 +1,74 @@
+package academy.devdojo.benchmark;
+
+import academy.devdojo.domain.Anime;
+import academy.devdojo.domain.Producer;
+import academy.devdojo.mapper.AnimeMapper;
+import academy.devdojo.mapper.ProducerMapper;
+import academy.devdojo.request.AnimePostRequest;
+import academy.devdojo.response.AnimeGetResponse;
+import academy.devdojo.response.ProducerGetResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapperBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private AnimeMapper animeMapper;
+    private ProducerMapper producerMapper;
+    private List<Anime> animes;
+    private List<Producer> producers;
+    private List<AnimePostRequest> animePostRequests;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkContexts.start();
+        animeMapper = context.getBean(AnimeMapper.class);
+        producerMapper = context.getBean(ProducerMapper.class);
+
+        var createdAt = LocalDateTime.now();
+        animes = LongStream.rangeClosed(1, rows)
+                .mapToObj(id -> Anime.builder().id(id).name("Anime " + id).build())
+                .toList();
+        producers = LongStream.rangeClosed(1, rows)
+                .mapToObj(id -> Producer.builder().id(id).name("Producer " + id).createdAt(createdAt).build())
+                .toList();
+        animePostRequests = animes.stream()
+                .map(anime -> {
+                    var request = new AnimePostRequest();
+                    request.setName(anime.getName());
+                    return request;
+                })
+                .toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<AnimeGetResponse> toAnimeGetResponseList() {
+        return animeMapper.toAnimeGetResponseList(animes);
+    }
+
+    @Benchmark
+    public List<ProducerGetResponse> toProducerGetResponseList() {
+        return producerMapper.toProducerGetResponseList(producers);
+    }
+
+    @Benchmark
+    public List<Anime> toAnimeList() {
+        return animeMapper.toAnimeList(animePostRequests);
+    }
+}
@@ -0,0 +1,52 @@
+package academy.devdojo.benchmark;
+
+import academy.devdojo.domain.Anime;
+import academy.devdojo.repository.AnimeData;
+import academy.devdojo.repository.IndexedStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the case-insensitive name index with the stream filter findByName used before it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NameLookupBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private List<Anime> animeList;
+    private IndexedStore<Anime> animeStore;
+
+    @Setup
+    public void setup() {
+        animeList = new ArrayList<>(rows);
+        animeStore = AnimeData.newAnimeStore();
+        for (long id = 1; id <= rows; id++) {
+            var anime = Anime.builder().id(id).name("Anime " + id).build();
+            animeList.add(anime);
+            animeStore.save(anime);
+        }
+    }
+
+    @Benchmark
+    public List<Anime> streamFilter() {
+        var name = randomName();
+        return animeList.stream().filter(anime -> anime.getName().equalsIgnoreCase(name)).toList();
+    }
+
+    @Benchmark
+    public List<Anime> nameIndex() {
+        return animeStore.findByIndex(AnimeData.NAME_INDEX, randomName());
+    }
+
+    private String randomName() {
+        return "ANIME " + ThreadLocalRandom.current().nextInt(1, rows + 1);
+    }
+}
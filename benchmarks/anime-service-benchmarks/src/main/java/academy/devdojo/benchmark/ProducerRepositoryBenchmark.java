@@ -0,0 +1,61 @@
+package academy.devdojo.benchmark;
+
+import academy.devdojo.domain.Producer;
+import academy.devdojo.repository.ProducerData;
+import academy.devdojo.repository.ProducerHardCodedRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProducerRepositoryBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int rows;
+
+    private ProducerHardCodedRepository repository;
+
+    @Setup
+    public void setup() {
+        var producerData = new ProducerData();
+        var createdAt = LocalDateTime.now();
+        producerData.getProducerStore().saveAll(LongStream.rangeClosed(1, rows)
+                .mapToObj(id -> Producer.builder().id(id).name("Producer " + id).createdAt(createdAt).build())
+                .toList());
+        repository = new ProducerHardCodedRepository(producerData);
+    }
+
+    @Benchmark
+    public List<Producer> findAll() {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    public Optional<Producer> findById() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    public List<Producer> findByName() {
+        return repository.findByName("PRODUCER " + randomId());
+    }
+
+    @Benchmark
+    public Producer update() {
+        var id = randomId();
+        var producer = Producer.builder().id(id).name("Producer " + id).createdAt(LocalDateTime.now()).build();
+        repository.update(producer);
+        return producer;
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, rows + 1);
+    }
+}
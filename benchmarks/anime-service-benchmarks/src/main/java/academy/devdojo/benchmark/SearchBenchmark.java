@@ -0,0 +1,106 @@
+package academy.devdojo.benchmark;
+
+import academy.devdojo.domain.Anime;
+import academy.devdojo.repository.AnimeData;
+import academy.devdojo.repository.IndexedStore;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Name search through the inverted index against the findAll and filter the search box did before it. Titles are
+ * two to five words drawn from a skewed vocabulary, so some terms and prefixes are far more common than others.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchBenchmark {
+    private static final int VOCABULARY_SIZE = 50_000;
+    private static final int QUERIES = 1024;
+    private static final int LIMIT = 20;
+
+    @Param({"100000", "1000000"})
+    private int rows;
+
+    private IndexedStore<Anime> animeStore;
+    private String[] termQueries;
+    private String[] prefixQueries;
+    private String[] twoTermQueries;
+
+    @Setup
+    public void setup() {
+        var random = new Random(42);
+        var vocabulary = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < vocabulary.length; i++) vocabulary[i] = randomWord(random);
+
+        animeStore = AnimeData.newAnimeStore();
+        var titles = new ArrayList<List<String>>(rows);
+        var batch = new ArrayList<Anime>(10_000);
+        for (long id = 1; id <= rows; id++) {
+            var words = new ArrayList<String>();
+            for (int i = 2 + random.nextInt(4); i > 0; i--) {
+                words.add(vocabulary[(int) (VOCABULARY_SIZE * Math.pow(random.nextDouble(), 3))]);
+            }
+            titles.add(words);
+            batch.add(Anime.builder().id(id).name(capitalize(String.join(" ", words))).build());
+            if (batch.size() == 10_000) {
+                animeStore.saveAll(batch);
+                batch = new ArrayList<>(10_000);
+            }
+        }
+        animeStore.saveAll(batch);
+
+        termQueries = new String[QUERIES];
+        prefixQueries = new String[QUERIES];
+        twoTermQueries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            var words = titles.get(random.nextInt(titles.size()));
+            termQueries[i] = words.getFirst();
+            prefixQueries[i] = words.getLast().substring(0, 3);
+            twoTermQueries[i] = words.getFirst() + " " + words.get(1).substring(0, 2);
+        }
+    }
+
+    @Benchmark
+    public List<Anime> searchTerm() {
+        return animeStore.search(AnimeData.NAME_SEARCH_INDEX, pick(termQueries), LIMIT);
+    }
+
+    @Benchmark
+    public List<Anime> searchPrefix() {
+        return animeStore.search(AnimeData.NAME_SEARCH_INDEX, pick(prefixQueries), LIMIT);
+    }
+
+    @Benchmark
+    public List<Anime> searchTwoTerms() {
+        return animeStore.search(AnimeData.NAME_SEARCH_INDEX, pick(twoTermQueries), LIMIT);
+    }
+
+    @Benchmark
+    public List<Anime> findAllAndFilter() {
+        var query = pick(termQueries);
+        return animeStore.findAll().stream()
+                .filter(anime -> anime.getName().toLowerCase(Locale.ROOT).contains(query))
+                .limit(LIMIT)
+                .toList();
+    }
+
+    private static String pick(String[] queries) {
+        return queries[ThreadLocalRandom.current().nextInt(queries.length)];
+    }
+
+    private static String randomWord(Random random) {
+        var word = new char[3 + random.nextInt(8)];
+        for (int i = 0; i < word.length; i++) word[i] = (char) ('a' + random.nextInt(26));
+        return new String(word);
+    }
+
+    private static String capitalize(String title) {
+        return Character.toUpperCase(title.charAt(0)) + title.substring(1);
+    }
+}
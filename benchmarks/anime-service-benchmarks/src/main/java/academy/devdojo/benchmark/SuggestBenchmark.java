@@ -0,0 +1,85 @@
+package academy.devdojo.benchmark;
+
+import academy.devdojo.domain.Producer;
+import academy.devdojo.repository.IndexedStore;
+import academy.devdojo.repository.ProducerData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead over producer names through the radix trie against the findAll and filter it replaces, for prefixes
+ * as long as the ones a user has typed after one, three and six keystrokes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SuggestBenchmark {
+    private static final int QUERIES = 1024;
+    private static final int LIMIT = 10;
+
+    @Param({"100000", "1000000"})
+    private int rows;
+
+    @Param({"1", "3", "6"})
+    private int prefixLength;
+
+    private IndexedStore<Producer> producerStore;
+    private String[] prefixes;
+
+    @Setup
+    public void setup() {
+        var random = new Random(42);
+        producerStore = ProducerData.newProducerStore();
+        var names = new String[rows];
+        var batch = new ArrayList<Producer>(10_000);
+        for (int i = 0; i < rows; i++) {
+            names[i] = randomName(random);
+            batch.add(Producer.builder().id(i + 1L).name(names[i]).build());
+            if (batch.size() == 10_000) {
+                producerStore.saveAll(batch);
+                batch = new ArrayList<>(10_000);
+            }
+        }
+        producerStore.saveAll(batch);
+
+        prefixes = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            var name = names[random.nextInt(rows)];
+            prefixes[i] = name.substring(0, Math.min(prefixLength, name.length()));
+        }
+    }
+
+    @Benchmark
+    public List<Producer> suggest() {
+        return producerStore.search(ProducerData.NAME_SUGGEST_INDEX, pick(), LIMIT);
+    }
+
+    @Benchmark
+    public List<Producer> findAllAndFilter() {
+        var prefix = pick().toLowerCase(Locale.ROOT);
+        return producerStore.findAll().stream()
+                .filter(producer -> producer.getName().toLowerCase(Locale.ROOT).startsWith(prefix))
+                .limit(LIMIT)
+                .toList();
+    }
+
+    private String pick() {
+        return prefixes[ThreadLocalRandom.current().nextInt(prefixes.length)];
+    }
+
+    private static String randomName(Random random) {
+        var name = new StringBuilder();
+        for (int words = 1 + random.nextInt(3); words > 0; words--) {
+            if (!name.isEmpty()) name.append(' ');
+            name.append((char) ('A' + random.nextInt(26)));
+            for (int i = 2 + random.nextInt(7); i > 0; i--) name.append((char) ('a' + random.nextInt(26)));
+        }
+        return name.toString();
+    }
+}
@@ -0,0 +1,90 @@
+package academy.devdojo.benchmark;
+
+import academy.devdojo.domain.Anime;
+import academy.devdojo.repository.AnimeData;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * The same requests over real HTTP against Tomcat with virtual threads and against the reactive profile on Netty,
+ * from {@link Threads} concurrent clients. Client and server share the JVM, so compare the stacks with each other
+ * rather than reading the numbers as capacity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(64)
+public class WebStackBenchmark {
+
+    public enum Stack {
+        SERVLET_VIRTUAL_THREADS, REACTIVE
+    }
+
+    @Param({"SERVLET_VIRTUAL_THREADS", "REACTIVE"})
+    private Stack stack;
+
+    @Param({"10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Setup
+    public void setup() {
+        context = switch (stack) {
+            case SERVLET_VIRTUAL_THREADS -> BenchmarkContexts.serve(WebApplicationType.SERVLET, "--spring.threads.virtual.enabled=true");
+            case REACTIVE -> BenchmarkContexts.serve(WebApplicationType.REACTIVE, "--spring.profiles.active=reactive");
+        };
+
+        context.getBean(AnimeData.class).getAnimeStore().saveAll(LongStream.rangeClosed(1, rows)
+                .mapToObj(id -> Anime.builder().id(id).name("Anime " + id).build())
+                .toList());
+
+        baseUrl = "http://localhost:%d/v1/animes".formatted(((WebServerApplicationContext) context).getWebServer().getPort());
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] findAnimeById() throws Exception {
+        return get(baseUrl + "/" + randomId(), "application/json");
+    }
+
+    @Benchmark
+    public byte[] listAnimesFirstPage() throws Exception {
+        return get(baseUrl + "?limit=100", "application/json");
+    }
+
+    @Benchmark
+    public byte[] streamAllAnimes() throws Exception {
+        return get(baseUrl, "application/x-ndjson");
+    }
+
+    private byte[] get(String url, String accept) throws IOException, InterruptedException {
+        var request = HttpRequest.newBuilder(URI.create(url)).header("Accept", accept).build();
+        var response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) throw new IllegalStateException("%s returned %d".formatted(url, response.statusCode()));
+        return response.body();
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, rows + 1);
+    }
+}
@@ -0,0 +1,25 @@
+package academy.devdojo.benchmark;
+
+import academy.devdojo.UserServiceApplication;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the user-service beans without a web server, so benchmarks measure the application code and not Tomcat.
+ */
+final class BenchmarkContexts {
+
+    private BenchmarkContexts() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(UserServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .properties("logging.level.root=warn", "logging.level.academy.devdojo=warn")
+                .run();
+    }
+}
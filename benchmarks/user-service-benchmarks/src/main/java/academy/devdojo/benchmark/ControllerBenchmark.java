@@ -0,0 +1,91 @@
+package academy.devdojo.benchmark;
+
+import academy.devdojo.controller.UserController;
+import academy.devdojo.domain.User;
+import academy.devdojo.repository.UserData;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Full request dispatch through {@link MockMvc}: handler mapping, argument resolution, service, repository, mapper
+ * and JSON serialization, without the network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ControllerBenchmark {
+
+    @Param({"1000", "10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkContexts.start();
+
+        context.getBean(UserData.class).getUserStore().saveAll(LongStream.rangeClosed(1, rows)
+                .mapToObj(id -> User.builder()
+                        .id(id + 100)
+                        .firstName("First " + id)
+                        .lastName("Last " + id)
+                        .email("user" + id + "@example.com")
+                        .build())
+                .toList());
+
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(context.getBean(UserController.class))
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(context.getBean(ObjectMapper.class)))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] findUserById() throws Exception {
+        return perform(MockMvcRequestBuilders.get("/v1/users/{id}", randomId() + 100));
+    }
+
+    @Benchmark
+    public byte[] findUsersByFirstName() throws Exception {
+        return perform(MockMvcRequestBuilders.get("/v1/users").param("firstName", "first " + randomId()));
+    }
+
+    @Benchmark
+    public byte[] findUsersByEmail() throws Exception {
+        return perform(MockMvcRequestBuilders.get("/v1/users").param("email", "user" + randomId() + "@example.com"));
+    }
+
+    @Benchmark
+    public byte[] updateUser() throws Exception {
+        var id = randomId();
+        return perform(MockMvcRequestBuilders.put("/v1/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"id":%d,"firstName":"First %d","lastName":"Last %d","email":"user%d@example.com"}
+                        """.formatted(id + 100, id, id, id)));
+    }
+
+    private byte[] perform(RequestBuilder request) throws Exception {
+        return mockMvc.perform(request).andReturn().getResponse().getContentAsByteArray();
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, rows + 1);
+    }
+}
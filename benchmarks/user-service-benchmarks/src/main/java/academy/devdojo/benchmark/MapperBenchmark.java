@@ -0,0 +1,64 @@
+package academy.devdojo.benchmark;
+
+import academy.devdojo.domain.User;
+import academy.devdojo.mapper.UserMapper;
+import academy.devdojo.request.UserPutRequest;
+import academy.devdojo.response.UserGetResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapperBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private UserMapper userMapper;
+    private List<User> users;
+    private List<UserPutRequest> userPutRequests;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkContexts.start();
+        userMapper = context.getBean(UserMapper.class);
+
+        users = LongStream.rangeClosed(1, rows)
+                .mapToObj(id -> User.builder()
+                        .id(id)
+                        .firstName("First " + id)
+                        .lastName("Last " + id)
+                        .email("user" + id + "@example.com")
+                        .build())
+                .toList();
+        userPutRequests = users.stream()
+                .map(user -> UserPutRequest.builder()
+                        .id(user.getId())
+                        .firstName(user.getFirstName())
+                        .lastName(user.getLastName())
+                        .email(user.getEmail())
+                        .build())
+                .toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<UserGetResponse> toUserGetResponseList() {
+        return userMapper.toUserGetResponseList(users);
+    }
+
+    @Benchmark
+    public List<User> toUserList() {
+        return userMapper.toUserList(userPutRequests);
+    }
+}
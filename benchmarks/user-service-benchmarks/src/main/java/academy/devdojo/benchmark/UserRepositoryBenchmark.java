@@ -0,0 +1,73 @@
+package academy.devdojo.benchmark;
+
+import academy.devdojo.domain.User;
+import academy.devdojo.repository.UserData;
+import academy.devdojo.repository.UserHardCodedRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserRepositoryBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int rows;
+
+    private UserHardCodedRepository repository;
+
+    @Setup
+    public void setup() {
+        var userData = new UserData();
+        userData.getUserStore().saveAll(LongStream.rangeClosed(1, rows)
+                .mapToObj(UserRepositoryBenchmark::newUser)
+                .toList());
+        repository = new UserHardCodedRepository(userData);
+    }
+
+    @Benchmark
+    public List<User> findAll() {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    public Optional<User> findById() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    public List<User> findByName() {
+        var id = randomId();
+        return repository.findByName("first " + id, "LAST " + id);
+    }
+
+    @Benchmark
+    public List<User> findByEmail() {
+        return repository.findByEmail("user" + randomId() + "@example.com");
+    }
+
+    @Benchmark
+    public User update() {
+        var user = newUser(randomId());
+        repository.update(user);
+        return user;
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, rows + 1);
+    }
+
+    private static User newUser(long id) {
+        return User.builder()
+                .id(id)
+                .firstName("First " + id)
+                .lastName("Last " + id)
+                .email("user" + id + "@example.com")
+                .build();
+    }
+}
@@ -0,0 +1,122 @@
+package academy.devdojo.benchmark;
+
+import academy.devdojo.domain.User;
+import academy.devdojo.repository.IndexedStore;
+import academy.devdojo.repository.UserData;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typo-tolerant user search through the trigram index against the findAll and filter by edit distance it
+ * replaces. Names come from skewed vocabularies, so some are shared by many users, and every query has one typo
+ * per term.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserSearchBenchmark {
+    private static final int FIRST_NAMES = 5_000;
+    private static final int LAST_NAMES = 50_000;
+    private static final int QUERIES = 1024;
+    private static final int LIMIT = 20;
+
+    @Param({"100000", "1000000"})
+    private int rows;
+
+    private IndexedStore<User> userStore;
+    private String[] lastNameQueries;
+    private String[] fullNameQueries;
+
+    @Setup
+    public void setup() {
+        var random = new Random(42);
+        var firstNames = new String[FIRST_NAMES];
+        var lastNames = new String[LAST_NAMES];
+        for (int i = 0; i < firstNames.length; i++) firstNames[i] = randomName(random);
+        for (int i = 0; i < lastNames.length; i++) lastNames[i] = randomName(random);
+
+        userStore = UserData.newUserStore();
+        var users = new ArrayList<User>(rows);
+        var batch = new ArrayList<User>(10_000);
+        for (long id = 1; id <= rows; id++) {
+            var firstName = firstNames[(int) (FIRST_NAMES * Math.pow(random.nextDouble(), 3))];
+            var lastName = lastNames[(int) (LAST_NAMES * Math.pow(random.nextDouble(), 3))];
+            var user = User.builder().id(id).firstName(firstName).lastName(lastName)
+                    .email((firstName + "." + lastName + id + "@example.com").toLowerCase(Locale.ROOT)).build();
+            users.add(user);
+            batch.add(user);
+            if (batch.size() == 10_000) {
+                userStore.saveAll(batch);
+                batch = new ArrayList<>(10_000);
+            }
+        }
+        userStore.saveAll(batch);
+
+        lastNameQueries = new String[QUERIES];
+        fullNameQueries = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            var user = users.get(random.nextInt(users.size()));
+            lastNameQueries[i] = typo(user.getLastName(), random);
+            fullNameQueries[i] = typo(user.getFirstName(), random) + " " + typo(user.getLastName(), random);
+        }
+    }
+
+    @Benchmark
+    public List<User> searchLastName() {
+        return userStore.search(UserData.SEARCH_INDEX, pick(lastNameQueries), LIMIT);
+    }
+
+    @Benchmark
+    public List<User> searchFullName() {
+        return userStore.search(UserData.SEARCH_INDEX, pick(fullNameQueries), LIMIT);
+    }
+
+    @Benchmark
+    public List<User> findAllAndFilter() {
+        var query = pick(lastNameQueries);
+        return userStore.findAll().stream()
+                .filter(user -> editDistance(query, user.getLastName().toLowerCase(Locale.ROOT)) <= 1)
+                .limit(LIMIT)
+                .toList();
+    }
+
+    private static String pick(String[] queries) {
+        return queries[ThreadLocalRandom.current().nextInt(queries.length)];
+    }
+
+    private static String randomName(Random random) {
+        var name = new char[4 + random.nextInt(7)];
+        name[0] = (char) ('A' + random.nextInt(26));
+        for (int i = 1; i < name.length; i++) name[i] = (char) ('a' + random.nextInt(26));
+        return new String(name);
+    }
+
+    private static String typo(String name, Random random) {
+        var chars = name.toLowerCase(Locale.ROOT).toCharArray();
+        chars[1 + random.nextInt(chars.length - 1)] = (char) ('a' + random.nextInt(26));
+        return new String(chars);
+    }
+
+    private static int editDistance(String left, String right) {
+        var previous = new int[right.length() + 1];
+        var current = new int[right.length() + 1];
+        for (int j = 0; j <= right.length(); j++) previous[j] = j;
+        for (int i = 1; i <= left.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= right.length(); j++) {
+                var substitution = previous[j - 1] + (left.charAt(i - 1) == right.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            var swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[right.length()];
+    }
+}
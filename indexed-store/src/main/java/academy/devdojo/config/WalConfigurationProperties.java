@@ -0,0 +1,13 @@
+package academy.devdojo.config;
+
+import academy.devdojo.wal.Durability;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "wal")
+public record WalConfigurationProperties(boolean enabled, Path directory, Durability durability, DataSize segmentSize,
+                                         Duration flushInterval, Duration snapshotInterval) {
+}
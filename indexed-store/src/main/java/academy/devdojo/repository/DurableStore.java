@@ -0,0 +1,178 @@
+package academy.devdojo.repository;
+
+import academy.devdojo.config.WalConfigurationProperties;
+import academy.devdojo.wal.RowCodec;
+import academy.devdojo.wal.SnapshotFile;
+import academy.devdojo.wal.WalRecord;
+import academy.devdojo.wal.WriteAheadLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps one {@link IndexedStore} on disk as a binary {@link SnapshotFile} plus numbered write-ahead logs.
+ * <p>
+ * {@link #open()} loads the snapshot, replays only the logs written after it and journals further writes into the
+ * newest log. {@link #checkpoint()} switches writers to a new log, writes the rows as of that switch to a new
+ * snapshot while writers carry on, and then deletes the logs the snapshot covers, so a boot never replays more than
+ * one snapshot interval. Checkpoints run on a fixed interval and once more on a graceful shutdown.
+ */
+@Slf4j
+public class DurableStore<T> implements Closeable {
+    private final String name;
+    private final IndexedStore<T> store;
+    private final Class<T> type;
+    private final RowCodec<T> codec;
+    private final ObjectMapper objectMapper;
+    private final WalConfigurationProperties configurationProperties;
+    private final Pattern logFileName;
+    private ScheduledExecutorService scheduler;
+    private WriteAheadLog activeLog;
+    private long activeGeneration;
+    private long checkpointedVersion;
+
+    public DurableStore(String name, IndexedStore<T> store, Class<T> type, RowCodec<T> codec, ObjectMapper objectMapper,
+                        WalConfigurationProperties configurationProperties) {
+        this.name = name;
+        this.store = store;
+        this.type = type;
+        this.codec = codec;
+        this.objectMapper = objectMapper;
+        this.configurationProperties = configurationProperties;
+        this.logFileName = Pattern.compile(Pattern.quote(name) + "-(\\d+)\\.wal");
+    }
+
+    public synchronized void open() throws IOException {
+        Files.createDirectories(configurationProperties.directory());
+        var startedAt = System.nanoTime();
+        if (Files.exists(snapshotFile())) store.clear();
+        var snapshotGeneration = loadSnapshot();
+        checkpointedVersion = store.version();
+
+        var generations = logGenerations();
+        var firstGeneration = snapshotGeneration.orElse(generations.isEmpty() ? 0 : generations.getFirst());
+        var replay = WalStoreJournal.replayInto(store, type, objectMapper);
+        activeGeneration = firstGeneration;
+        for (var generation : generations) {
+            if (generation < firstGeneration) continue;
+            if (activeLog != null) activeLog.close();
+            activeLog = openLog(generation, replay);
+            activeGeneration = generation;
+        }
+        if (activeLog == null) activeLog = openLog(activeGeneration, replay);
+        deleteLogsBefore(firstGeneration);
+        store.attachJournal(new WalStoreJournal<>(activeLog, objectMapper));
+
+        log.info("Loaded {} {} in {} ms", store.size(), name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("snapshot-" + name).daemon().factory());
+        var interval = configurationProperties.snapshotInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::checkpointQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void checkpoint() throws IOException {
+        var version = store.version();
+        if (version == checkpointedVersion) return;
+
+        var nextGeneration = activeGeneration + 1;
+        var nextLog = openLog(nextGeneration, record -> {
+        });
+        var previousLog = activeLog;
+        var rows = store.switchJournal(new WalStoreJournal<>(nextLog, objectMapper));
+        activeLog = nextLog;
+        activeGeneration = nextGeneration;
+        try {
+            SnapshotFile.write(snapshotFile(), nextGeneration, rows, codec);
+        } finally {
+            previousLog.close();
+        }
+        checkpointedVersion = version;
+        deleteLogsBefore(nextGeneration);
+        log.debug("Wrote a snapshot of {} {}", rows.size(), name);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (scheduler != null) scheduler.shutdownNow();
+        if (activeLog == null) return;
+        try {
+            checkpoint();
+        } finally {
+            activeLog.close();
+        }
+    }
+
+    private void checkpointQuietly() {
+        try {
+            checkpoint();
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not write a snapshot of {}", name, e);
+        }
+    }
+
+    /**
+     * Rows in a snapshot are distinct and already satisfy the unique indexes, so blocks are inserted in parallel
+     * while the next ones are still being decoded.
+     */
+    private OptionalLong loadSnapshot() throws IOException {
+        var loads = new ArrayList<Future<?>>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var generation = SnapshotFile.read(snapshotFile(), codec, block -> loads.add(executor.submit(() -> store.saveAll(block))));
+            for (var load : loads) load.get();
+            return generation;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading the %s snapshot".formatted(name), e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not load the %s snapshot".formatted(name), e.getCause());
+        }
+    }
+
+    private WriteAheadLog openLog(long generation, Consumer<WalRecord> replay) throws IOException {
+        return WriteAheadLog.open(logFile(generation),
+                configurationProperties.durability(),
+                (int) configurationProperties.segmentSize().toBytes(),
+                configurationProperties.flushInterval(),
+                replay);
+    }
+
+    private Path logFile(long generation) {
+        return configurationProperties.directory().resolve("%s-%d.wal".formatted(name, generation));
+    }
+
+    private Path snapshotFile() {
+        return configurationProperties.directory().resolve(name + ".snapshot");
+    }
+
+    private List<Long> logGenerations() throws IOException {
+        try (var files = Files.list(configurationProperties.directory())) {
+            return files.map(file -> logFileName.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private void deleteLogsBefore(long generation) throws IOException {
+        for (var logGeneration : logGenerations()) {
+            if (logGeneration < generation) {
+                Files.deleteIfExists(logFile(logGeneration));
+            }
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package academy.devdojo.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Thread-safe in-memory rows indexed by id.
+ * <p>
+ * Point lookups go through a {@link ConcurrentHashMap}, ordered reads through a {@link ConcurrentSkipListMap}
+ * keyed by id. Writers only lock the hash bin of the id they change, readers never lock, and {@link #findAll()}
+ * hands out an immutable snapshot that is rebuilt lazily after a write. {@link #findPage(Long, int)} and
+ * {@link #stream()} walk the ordered rows directly, without copying the whole table.
+ * {@link #findAllView(String, Function)} memoizes anything derived from that snapshot, such as a serialized body,
+ * and drops it together with the snapshot on the next write.
+ * <p>
+ * Every row write bumps {@link #version()}, and each row remembers the store version of its last write in
+ * {@link #findVersion(Long)}. A version is published only after its row, so reading the version before the row
+ * can pair an older version with newer data but never the opposite, which is what conditional requests need.
+ * <p>
+ * Secondary indexes registered with {@link #addIndex(String, Function)} or {@link #addUniqueIndex(String, Function)}
+ * are maintained under the same per-id lock as the rows, so they always agree with {@link #findById(Long)}.
+ * A write that would break a unique index throws {@link UniqueConstraintViolationException} and changes nothing.
+ * {@link SearchIndex}es registered with {@link #addSearchIndex(String, SearchIndex)} are kept up to date the same way
+ * and answer {@link #search(String, String, int)}.
+ * <p>
+ * Single-row writes share a write gate, so they still run in parallel. {@link #upsertAll(List)} and
+ * {@link #deleteAllById(Collection)} hold that gate exclusively, so other writers see a batch either fully applied or
+ * not at all. Readers never take the gate and may see a batch half-applied.
+ * <p>
+ * An attached {@link StoreJournal} sees every single-row write under the same per-id lock and every upsert batch as
+ * one entry under the exclusive gate, and writers wait for it to be
+ * durable only after the lock and the gate are released, on the journal they appended to even if
+ * {@link #switchJournal(StoreJournal)} swapped it in the meantime.
+ */
+public class IndexedStore<T> {
+    private static final long NOT_WRITTEN = -1;
+
+    private final ConcurrentHashMap<Long, T> rows = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Long> versions = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<Long, T> orderedRows = new ConcurrentSkipListMap<>();
+    private final AtomicLong modCount = new AtomicLong();
+    private final Map<String, SecondaryIndex<T>> indexes = new ConcurrentHashMap<>();
+    private final Map<String, SearchIndex<T>> searchIndexes = new ConcurrentHashMap<>();
+    private final ReadWriteLock writeGate = new ReentrantReadWriteLock();
+    private final Function<T, Long> idExtractor;
+    private volatile StoreJournal<T> journal = StoreJournal.none();
+    private volatile Snapshot<T> snapshot = new Snapshot<>(0, List.of(), new ConcurrentHashMap<>());
+
+    public IndexedStore(Function<T, Long> idExtractor) {
+        this.idExtractor = idExtractor;
+    }
+
+    public List<T> findAll() {
+        return currentSnapshot().rows();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <R> R findAllView(String viewName, Function<List<T>, R> view) {
+        var current = currentSnapshot();
+        return (R) current.views().computeIfAbsent(viewName, name -> view.apply(current.rows()));
+    }
+
+    public List<T> findPage(Long afterId, int limit) {
+        var rowsAfter = afterId == null ? orderedRows : orderedRows.tailMap(afterId, false);
+        return rowsAfter.values().stream().limit(limit).toList();
+    }
+
+    public Stream<T> stream() {
+        return orderedRows.values().stream();
+    }
+
+    public Optional<T> findById(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(rows.get(id));
+    }
+
+    public Optional<Long> findVersion(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(versions.get(id));
+    }
+
+    public long version() {
+        return modCount.get();
+    }
+
+    public List<T> findByIndex(String indexName, String key) {
+        return findAllById(findIds(indexName, key));
+    }
+
+    public Set<Long> findIds(String indexName, String key) {
+        return secondaryIndex(indexName).find(key);
+    }
+
+    /**
+     * Rows matching {@code query} in the order the search index ranked them.
+     */
+    public List<T> search(String indexName, String query, int limit) {
+        return searchIndex(indexName).search(query, limit).stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    public List<T> findAllById(Collection<Long> ids) {
+        return ids.stream()
+                .sorted()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    public void addIndex(String indexName, Function<T, String> keyExtractor) {
+        registerIndex(new SecondaryIndex<>(indexName, keyExtractor, false), indexName);
+    }
+
+    public void addUniqueIndex(String indexName, Function<T, String> keyExtractor) {
+        registerIndex(new SecondaryIndex<>(indexName, keyExtractor, true), indexName);
+    }
+
+    public void addSearchIndex(String indexName, SearchIndex<T> index) {
+        if (searchIndexes.putIfAbsent(indexName, index) != null) {
+            throw new IllegalArgumentException("Search index '%s' already exists".formatted(indexName));
+        }
+        rows.forEach(index::put);
+    }
+
+    /**
+     * Routes every following write through {@code journal}. Rows already in the store are not journaled, so attach
+     * it after the store has been rebuilt from that journal.
+     */
+    public void attachJournal(StoreJournal<T> journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Swaps in {@code next} and returns the rows as of the swap: every earlier write went to the previous journal and
+     * every later one goes to {@code next}. The previous journal is flushed before the swap, so writers still waiting
+     * on it return at once. Writers are held back only while it is flushed and the row references are copied.
+     */
+    public List<T> switchJournal(StoreJournal<T> next) {
+        return withExclusiveGate(() -> {
+            journal.flush();
+            journal = next;
+            return new ArrayList<>(orderedRows.values());
+        });
+    }
+
+    public void clear() {
+        withExclusiveGate(() -> {
+            List.copyOf(rows.keySet()).forEach(this::remove);
+            return null;
+        });
+    }
+
+    public T save(T row) {
+        withSharedGate(() -> pending(put(row))).awaitDurable();
+        return row;
+    }
+
+    public List<T> saveAll(List<T> rowsToSave) {
+        withSharedGate(() -> pending(rowsToSave.stream().mapToLong(this::put).max().orElse(NOT_WRITTEN))).awaitDurable();
+        return rowsToSave;
+    }
+
+    public void delete(T row) {
+        withSharedGate(() -> pending(remove(idExtractor.apply(row)))).awaitDurable();
+    }
+
+    public boolean update(T row) {
+        var pending = withSharedGate(() -> {
+            var id = idExtractor.apply(row);
+            var written = new long[]{NOT_WRITTEN};
+            rows.computeIfPresent(id, (key, previous) -> {
+                written[0] = apply(key, row, journal);
+                return row;
+            });
+            if (written[0] != NOT_WRITTEN) publishVersion(id);
+            return pending(written[0]);
+        });
+        pending.awaitDurable();
+        return pending.position() != NOT_WRITTEN;
+    }
+
+    /**
+     * Repeated ids keep their last row. Unique indexes are checked against the rows the whole batch leaves behind,
+     * so rows may swap keys, and a violation is thrown before any row is written. The batch is journaled as one
+     * entry before the rows are applied, so a replay sees it whole and a journal failure leaves the store untouched.
+     */
+    public Map<Long, WriteStatus> upsertAll(List<T> rowsToUpsert) {
+        var upserted = new LinkedHashMap<Long, WriteStatus>();
+        withExclusiveGate(() -> {
+            var lastRows = new LinkedHashMap<Long, T>();
+            rowsToUpsert.forEach(row -> lastRows.put(idExtractor.apply(row), row));
+            uniqueIndexes().forEach(index -> index.checkUnique(lastRows));
+
+            var position = journal.putAll(lastRows);
+            lastRows.keySet().forEach(id -> {
+                upserted.put(id, rows.containsKey(id) ? WriteStatus.UPDATED : WriteStatus.CREATED);
+                uniqueIndexes().forEach(index -> index.remove(id));
+            });
+            lastRows.values().forEach(row -> put(row, StoreJournal.none()));
+            return pending(position);
+        }).awaitDurable();
+        return upserted;
+    }
+
+    public Map<Long, WriteStatus> deleteAllById(Collection<Long> ids) {
+        var deleted = new LinkedHashMap<Long, WriteStatus>();
+        withExclusiveGate(() -> {
+            var position = NOT_WRITTEN;
+            for (var id : ids) {
+                var removed = remove(id);
+                position = Math.max(position, removed);
+                deleted.putIfAbsent(id, removed == NOT_WRITTEN ? WriteStatus.NOT_FOUND : WriteStatus.DELETED);
+            }
+            return pending(position);
+        }).awaitDurable();
+        return deleted;
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    private Snapshot<T> currentSnapshot() {
+        var current = snapshot;
+        var expectedModCount = modCount.get();
+        if (current.modCount() == expectedModCount) return current;
+
+        var rebuilt = new Snapshot<>(expectedModCount, Collections.unmodifiableList(new ArrayList<>(orderedRows.values())),
+                new ConcurrentHashMap<>());
+        snapshot = rebuilt;
+        return rebuilt;
+    }
+
+    private SecondaryIndex<T> secondaryIndex(String indexName) {
+        var index = indexes.get(indexName);
+        if (index == null) throw new IllegalArgumentException("Index '%s' does not exist".formatted(indexName));
+        return index;
+    }
+
+    private long put(T row) {
+        return put(row, journal);
+    }
+
+    private long put(T row, StoreJournal<T> target) {
+        var id = idExtractor.apply(row);
+        var written = new long[1];
+        rows.compute(id, (key, previous) -> {
+            written[0] = apply(key, row, target);
+            return row;
+        });
+        publishVersion(id);
+        return written[0];
+    }
+
+    private long apply(Long id, T row, StoreJournal<T> target) {
+        claimUniqueKeys(id, row);
+        long position;
+        try {
+            position = target.put(id, row);
+        } catch (RuntimeException e) {
+            releaseUniqueKeys(id, row);
+            throw e;
+        }
+        putInIndexes(id, row);
+        orderedRows.put(id, row);
+        return position;
+    }
+
+    private long remove(Long id) {
+        var written = new long[]{NOT_WRITTEN};
+        rows.computeIfPresent(id, (key, previous) -> {
+            written[0] = journal.remove(key);
+            versions.remove(key);
+            removeFromIndexes(key);
+            orderedRows.remove(key);
+            return null;
+        });
+        if (written[0] != NOT_WRITTEN) modCount.incrementAndGet();
+        return written[0];
+    }
+
+    /**
+     * Pairs {@code position} with the journal it was appended to. Only called inside the gate, where
+     * {@link #switchJournal(StoreJournal)} cannot swap the journal.
+     */
+    private Pending<T> pending(long position) {
+        return new Pending<>(journal, position);
+    }
+
+    private void publishVersion(Long id) {
+        versions.merge(id, modCount.incrementAndGet(), Math::max);
+    }
+
+    private <R> R withSharedGate(Supplier<R> write) {
+        return withGate(writeGate.readLock(), write);
+    }
+
+    private <R> R withExclusiveGate(Supplier<R> write) {
+        return withGate(writeGate.writeLock(), write);
+    }
+
+    private static <R> R withGate(Lock gate, Supplier<R> write) {
+        gate.lock();
+        try {
+            return write.get();
+        } finally {
+            gate.unlock();
+        }
+    }
+
+    private SearchIndex<T> searchIndex(String indexName) {
+        var index = searchIndexes.get(indexName);
+        if (index == null) throw new IllegalArgumentException("Search index '%s' does not exist".formatted(indexName));
+        return index;
+    }
+
+    private void registerIndex(SecondaryIndex<T> index, String indexName) {
+        if (indexes.putIfAbsent(indexName, index) != null) {
+            throw new IllegalArgumentException("Index '%s' already exists".formatted(indexName));
+        }
+        rows.forEach((id, row) -> {
+            if (index.isUnique()) index.claim(id, row);
+            index.put(id, row);
+        });
+    }
+
+    private void claimUniqueKeys(Long id, T row) {
+        var claimed = new ArrayList<SecondaryIndex<T>>();
+        try {
+            for (var index : indexes.values()) {
+                if (!index.isUnique()) continue;
+                index.claim(id, row);
+                claimed.add(index);
+            }
+        } catch (UniqueConstraintViolationException e) {
+            claimed.forEach(index -> index.release(id, row));
+            throw e;
+        }
+    }
+
+    private void releaseUniqueKeys(Long id, T row) {
+        uniqueIndexes().forEach(index -> index.release(id, row));
+    }
+
+    private Stream<SecondaryIndex<T>> uniqueIndexes() {
+        return indexes.values().stream().filter(SecondaryIndex::isUnique);
+    }
+
+    private void putInIndexes(Long id, T row) {
+        indexes.values().forEach(index -> index.put(id, row));
+        searchIndexes.values().forEach(index -> index.put(id, row));
+    }
+
+    private void removeFromIndexes(Long id) {
+        indexes.values().forEach(index -> index.remove(id));
+        searchIndexes.values().forEach(index -> index.remove(id));
+    }
+
+    private record Pending<T>(StoreJournal<T> journal, long position) {
+
+        void awaitDurable() {
+            if (position != NOT_WRITTEN) journal.awaitDurable(position);
+        }
+    }
+
+    private record Snapshot<T>(long modCount, List<T> rows, Map<String, Object> views) {
+    }
+}
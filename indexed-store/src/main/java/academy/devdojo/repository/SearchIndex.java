@@ -0,0 +1,17 @@
+package academy.devdojo.repository;
+
+import java.util.List;
+
+/**
+ * Index that answers free-text queries with ids ranked best first. {@link IndexedStore} calls {@link #put} and
+ * {@link #remove} under the same per-id lock as the row itself, so one id is never updated concurrently, while
+ * different ids are.
+ */
+public interface SearchIndex<T> {
+
+    List<Long> search(String query, int limit);
+
+    void put(Long id, T row);
+
+    void remove(Long id);
+}
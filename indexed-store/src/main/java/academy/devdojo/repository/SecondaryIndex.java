@@ -0,0 +1,113 @@
+package academy.devdojo.repository;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Case-insensitive index from a String attribute to the ids of the rows holding it.
+ * Keys are folded the same way {@link String#equalsIgnoreCase(String)} compares characters.
+ * <p>
+ * The key each id was indexed under is remembered, so a row mutated in place before being
+ * written back is still removed from its old key. A unique index rejects a key already held by another id.
+ */
+public class SecondaryIndex<T> {
+    private final ConcurrentHashMap<String, Set<Long>> idsByKey = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, String> keysById = new ConcurrentHashMap<>();
+    private final String name;
+    private final Function<T, String> keyExtractor;
+    private final boolean unique;
+
+    public SecondaryIndex(String name, Function<T, String> keyExtractor, boolean unique) {
+        this.name = name;
+        this.keyExtractor = keyExtractor;
+        this.unique = unique;
+    }
+
+    public Set<Long> find(String key) {
+        if (key == null) return Set.of();
+        return idsByKey.getOrDefault(foldCase(key), Set.of());
+    }
+
+    boolean isUnique() {
+        return unique;
+    }
+
+    void claim(Long id, T row) {
+        var key = foldedKeyOf(row);
+        if (key == null) return;
+        idsByKey.compute(key, (k, ids) -> {
+            if (ids != null && ids.stream().anyMatch(other -> !other.equals(id))) {
+                throw new UniqueConstraintViolationException(name, key);
+            }
+            var claimed = ids == null ? ConcurrentHashMap.<Long>newKeySet() : ids;
+            claimed.add(id);
+            return claimed;
+        });
+    }
+
+    /**
+     * Throws when {@code replacements}, each replacing the row with its id, would leave a key held by two ids.
+     */
+    void checkUnique(Map<Long, T> replacements) {
+        var owners = new HashMap<String, Long>();
+        replacements.forEach((id, row) -> {
+            var key = foldedKeyOf(row);
+            if (key == null) return;
+            var holders = idsByKey.getOrDefault(key, Set.of());
+            if (owners.put(key, id) != null || holders.stream().anyMatch(holder -> !replacements.containsKey(holder))) {
+                throw new UniqueConstraintViolationException(name, key);
+            }
+        });
+    }
+
+    void release(Long id, T row) {
+        var key = foldedKeyOf(row);
+        if (key == null || key.equals(keysById.get(id))) return;
+        removeId(key, id);
+    }
+
+    void put(Long id, T row) {
+        var key = foldedKeyOf(row);
+        var previousKey = key == null ? keysById.remove(id) : keysById.put(id, key);
+        if (key != null) {
+            idsByKey.compute(key, (k, ids) -> {
+                var updated = ids == null ? ConcurrentHashMap.<Long>newKeySet() : ids;
+                updated.add(id);
+                return updated;
+            });
+        }
+        if (previousKey != null && !previousKey.equals(key)) removeId(previousKey, id);
+    }
+
+    void remove(Long id) {
+        var key = keysById.remove(id);
+        if (key != null) removeId(key, id);
+    }
+
+    /**
+     * Drops the key once its last id is gone. Adds go through {@link ConcurrentHashMap#compute} on the same key, so
+     * an id is never added to a set that was just unlinked.
+     */
+    private void removeId(String key, Long id) {
+        idsByKey.computeIfPresent(key, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private String foldedKeyOf(T row) {
+        var key = keyExtractor.apply(row);
+        return key == null ? null : foldCase(key);
+    }
+
+    static String foldCase(String value) {
+        var folded = new char[value.length()];
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = Character.toLowerCase(Character.toUpperCase(value.charAt(i)));
+        }
+        return new String(folded);
+    }
+}
@@ -0,0 +1,57 @@
+package academy.devdojo.repository;
+
+import java.util.Map;
+
+/**
+ * Receives every row write of an {@link IndexedStore} while the row's lock is held, so writes to the same id are
+ * journaled in the order they were applied. Appends return a position that {@link #awaitDurable(long)} on the same
+ * journal waits for once the lock is released.
+ */
+public interface StoreJournal<T> {
+    StoreJournal<?> NONE = new StoreJournal<>() {
+        @Override
+        public long put(Long id, Object row) {
+            return 0;
+        }
+
+        @Override
+        public long putAll(Map<Long, Object> rows) {
+            return 0;
+        }
+
+        @Override
+        public long remove(Long id) {
+            return 0;
+        }
+
+        @Override
+        public void awaitDurable(long position) {
+        }
+
+        @Override
+        public void flush() {
+        }
+    };
+
+    long put(Long id, T row);
+
+    /**
+     * Journals a batch as one entry, so a replay applies the rows together and their unique keys are checked against
+     * the state the whole batch leaves behind.
+     */
+    long putAll(Map<Long, T> rows);
+
+    long remove(Long id);
+
+    void awaitDurable(long position);
+
+    /**
+     * Makes everything appended so far durable, whatever positions writers are waiting for.
+     */
+    void flush();
+
+    @SuppressWarnings("unchecked")
+    static <T> StoreJournal<T> none() {
+        return (StoreJournal<T>) NONE;
+    }
+}
@@ -0,0 +1,21 @@
+package academy.devdojo.repository;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Folds text the way the search indexes compare it: accents stripped and lower-cased, so "Pokémon" and "POKEMON"
+ * are the same key.
+ */
+public final class TextFolding {
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private TextFolding() {
+    }
+
+    public static String fold(String text) {
+        return COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,18 @@
+package academy.devdojo.repository;
+
+import lombok.Getter;
+
+@Getter
+public class UniqueConstraintViolationException extends RuntimeException {
+    private final String indexName;
+
+    public UniqueConstraintViolationException(String indexName, String key) {
+        super("Index '%s' already has key '%s'".formatted(indexName, key));
+        this.indexName = indexName;
+    }
+
+    public UniqueConstraintViolationException(String indexName, Throwable cause) {
+        super("Index '%s' rejected a duplicate key".formatted(indexName), cause);
+        this.indexName = indexName;
+    }
+}
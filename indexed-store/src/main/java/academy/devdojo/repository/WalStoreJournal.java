@@ -0,0 +1,84 @@
+package academy.devdojo.repository;
+
+import academy.devdojo.wal.WalRecord;
+import academy.devdojo.wal.WriteAheadLog;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Journals the rows of an {@link IndexedStore} as JSON into a {@link WriteAheadLog}, and rebuilds a store from
+ * the records that log replays on open.
+ */
+@RequiredArgsConstructor
+public class WalStoreJournal<T> implements StoreJournal<T> {
+    private final WriteAheadLog writeAheadLog;
+    private final ObjectMapper objectMapper;
+
+    public static <T> Consumer<WalRecord> replayInto(IndexedStore<T> store, Class<T> type, ObjectMapper objectMapper) {
+        return record -> {
+            switch (record.operation()) {
+                case PUT -> store.save(read(objectMapper, record, type));
+                case DELETE -> store.deleteAllById(List.of(record.id()));
+                case PUT_ALL -> store.upsertAll(readAll(objectMapper, record, type));
+            }
+        };
+    }
+
+    @Override
+    public long put(Long id, T row) {
+        try {
+            return writeAheadLog.append(new WalRecord(WalRecord.Operation.PUT, id, objectMapper.writeValueAsBytes(row)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not journal row %d".formatted(id), e);
+        }
+    }
+
+    @Override
+    public long putAll(Map<Long, T> rows) {
+        try {
+            var payload = objectMapper.writeValueAsBytes(List.copyOf(rows.values()));
+            return writeAheadLog.append(new WalRecord(WalRecord.Operation.PUT_ALL, rows.size(), payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not journal a batch of %d rows".formatted(rows.size()), e);
+        }
+    }
+
+    @Override
+    public long remove(Long id) {
+        return writeAheadLog.append(new WalRecord(WalRecord.Operation.DELETE, id, new byte[0]));
+    }
+
+    @Override
+    public void awaitDurable(long position) {
+        writeAheadLog.awaitDurable(position);
+    }
+
+    @Override
+    public void flush() {
+        writeAheadLog.flush();
+    }
+
+    private static <T> T read(ObjectMapper objectMapper, WalRecord record, Class<T> type) {
+        try {
+            return objectMapper.readValue(record.payload(), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not replay row %d".formatted(record.id()), e);
+        }
+    }
+
+    private static <T> List<T> readAll(ObjectMapper objectMapper, WalRecord record, Class<T> type) {
+        try {
+            return objectMapper.readValue(record.payload(),
+                    objectMapper.getTypeFactory().constructCollectionType(List.class, type));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not replay a batch of %d rows".formatted(record.id()), e);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package academy.devdojo.repository;
+
+public enum WriteStatus {
+    CREATED,
+    UPDATED,
+    DELETED,
+    NOT_FOUND
+}
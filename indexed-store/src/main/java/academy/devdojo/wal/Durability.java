@@ -0,0 +1,19 @@
+package academy.devdojo.wal;
+
+/**
+ * When a write acknowledged by {@link WriteAheadLog#awaitDurable(long)} is on disk.
+ */
+public enum Durability {
+    /**
+     * Every append is forced to disk before it returns.
+     */
+    SYNC,
+    /**
+     * Writers wait for a force that covers their record, and concurrent writers share that force.
+     */
+    GROUP_COMMIT,
+    /**
+     * Writers never wait; the log is forced on a fixed interval and a crash can lose that window.
+     */
+    ASYNC
+}
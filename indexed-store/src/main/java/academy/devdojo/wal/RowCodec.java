@@ -0,0 +1,34 @@
+package academy.devdojo.wal;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary encoding of one row for {@link SnapshotFile}. Strings are length-prefixed UTF-8, with -1 for null.
+ */
+public interface RowCodec<T> {
+
+    void write(T row, DataOutput out) throws IOException;
+
+    T read(ByteBuffer in);
+
+    static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(ByteBuffer in) {
+        var length = in.getInt();
+        if (length < 0) return null;
+        var bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
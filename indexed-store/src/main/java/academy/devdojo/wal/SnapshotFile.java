@@ -0,0 +1,133 @@
+package academy.devdojo.wal;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Point-in-time copy of a store in a compact binary file.
+ * <p>
+ * The file is {@code magic | format version | log generation} followed by blocks of about {@link #BLOCK_BYTES}
+ * holding {@code length | row count | rows | crc32c}, and a zero length at the end. The generation is the first
+ * write-ahead log that still has to be replayed on top of the snapshot. A snapshot is written to a temporary file
+ * and moved into place, so readers only ever see a complete one, and is read back through memory-mapped windows.
+ */
+public final class SnapshotFile {
+    private static final int MAGIC = 0x49445853;
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = Integer.BYTES * 2 + Long.BYTES;
+    private static final int BLOCK_HEADER_BYTES = Integer.BYTES * 2;
+    private static final int BLOCK_BYTES = 1 << 20;
+    private static final long MAPPING_WINDOW_BYTES = 1L << 28;
+
+    private SnapshotFile() {
+    }
+
+    public static <T> void write(Path file, long generation, List<T> rows, RowCodec<T> codec) throws IOException {
+        var temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (var channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            var out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(generation);
+            var block = new Block();
+            var blockOut = new DataOutputStream(block);
+            for (var row : rows) {
+                codec.write(row, blockOut);
+                block.rows++;
+                if (block.size() >= BLOCK_BYTES) block.flushTo(out);
+            }
+            if (block.rows > 0) block.flushTo(out);
+            out.writeInt(0);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Hands the rows of {@code file} to {@code blocks} one block at a time and returns the log generation to replay
+     * from, or nothing when there is no snapshot yet.
+     */
+    public static <T> OptionalLong read(Path file, RowCodec<T> codec, Consumer<List<T>> blocks) throws IOException {
+        if (!Files.exists(file)) return OptionalLong.empty();
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var size = channel.size();
+            var window = map(channel, file, 0, HEADER_BYTES, size);
+            if (window.getInt(0) != MAGIC || window.getInt(Integer.BYTES) != FORMAT_VERSION) {
+                throw new IllegalStateException("%s is not a snapshot this version can read".formatted(file));
+            }
+            var generation = window.getLong(Integer.BYTES * 2);
+            var windowStart = 0L;
+            var position = (long) HEADER_BYTES;
+            while (true) {
+                if (position + Integer.BYTES > windowStart + window.capacity()) {
+                    windowStart = position;
+                    window = map(channel, file, position, Integer.BYTES, size);
+                }
+                var length = window.getInt((int) (position - windowStart));
+                if (length == 0) return OptionalLong.of(generation);
+
+                var blockBytes = BLOCK_HEADER_BYTES + length + Integer.BYTES;
+                if (position + blockBytes > windowStart + window.capacity()) {
+                    windowStart = position;
+                    window = map(channel, file, position, blockBytes, size);
+                }
+                var offset = (int) (position - windowStart);
+                var rowCount = window.getInt(offset + Integer.BYTES);
+                var rows = window.slice(offset + BLOCK_HEADER_BYTES, length);
+                var crc = new CRC32C();
+                crc.update(rows.duplicate());
+                if ((int) crc.getValue() != window.getInt(offset + BLOCK_HEADER_BYTES + length)) {
+                    throw new IllegalStateException("%s is corrupted at byte %d".formatted(file, position));
+                }
+
+                var block = new ArrayList<T>(rowCount);
+                for (int i = 0; i < rowCount; i++) block.add(codec.read(rows));
+                blocks.accept(block);
+                position += blockBytes;
+            }
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, Path file, long position, int minimumBytes, long size) throws IOException {
+        if (position + minimumBytes > size) {
+            throw new IllegalStateException("%s is truncated at byte %d".formatted(file, position));
+        }
+        var length = Math.min(size - position, Math.max(MAPPING_WINDOW_BYTES, minimumBytes));
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+    }
+
+    private static final class Block extends ByteArrayOutputStream {
+        private int rows;
+
+        private Block() {
+            super(BLOCK_BYTES + (BLOCK_BYTES >> 2));
+        }
+
+        private void flushTo(DataOutputStream out) throws IOException {
+            var crc = new CRC32C();
+            crc.update(buf, 0, count);
+            out.writeInt(count);
+            out.writeInt(rows);
+            out.write(buf, 0, count);
+            out.writeInt((int) crc.getValue());
+            reset();
+            rows = 0;
+        }
+    }
+}
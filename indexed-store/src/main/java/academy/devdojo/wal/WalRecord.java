@@ -0,0 +1,20 @@
+package academy.devdojo.wal;
+
+/**
+ * A {@link Operation#PUT_ALL} record holds a whole batch in its payload; its id is the number of rows.
+ */
+public record WalRecord(Operation operation, long id, byte[] payload) {
+
+    public enum Operation {
+        PUT, DELETE, PUT_ALL;
+
+        byte code() {
+            return (byte) (ordinal() + 1);
+        }
+
+        static Operation of(byte code) {
+            var operations = values();
+            return code < 1 || code > operations.length ? null : operations[code - 1];
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package academy.devdojo.wal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of row writes kept in one memory-mapped file.
+ * <p>
+ * Records are {@code crc32c | payload length | operation | id | payload}, copied into a mapped segment that is
+ * remapped further down the file once it fills up. Opening a log replays every intact record and cuts the file at
+ * the first zeroed or torn one, so a crash in the middle of an append loses that record only.
+ * <p>
+ * {@link #append(WalRecord)} only copies into the mapping and returns the end position of the record; how long
+ * {@link #awaitDurable(long)} then waits depends on the {@link Durability}. With group commit the first waiting
+ * writer forces everything appended so far while the others wait for it, so a burst of writers shares one force.
+ */
+@Slf4j
+public class WriteAheadLog implements Closeable {
+    static final int HEADER_BYTES = Integer.BYTES + Integer.BYTES + Byte.BYTES + Long.BYTES;
+
+    private final FileChannel channel;
+    private final Durability durability;
+    private final int segmentSize;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock forceLock = new ReentrantLock();
+    private final Condition forced = forceLock.newCondition();
+    private final ScheduledExecutorService flusher;
+    private volatile MappedByteBuffer segment;
+    private long segmentStart;
+    private volatile long endPosition;
+    private long durablePosition;
+    private boolean forcing;
+
+    private WriteAheadLog(FileChannel channel, Durability durability, int segmentSize, long endPosition,
+                          Duration flushInterval) throws IOException {
+        this.channel = channel;
+        this.durability = durability;
+        this.segmentSize = segmentSize;
+        this.endPosition = endPosition;
+        this.durablePosition = endPosition;
+        this.segmentStart = endPosition;
+        this.segment = channel.map(FileChannel.MapMode.READ_WRITE, endPosition, segmentSize);
+        this.flusher = durability == Durability.ASYNC ? startFlusher(flushInterval) : null;
+    }
+
+    /**
+     * Opens or creates the log at {@code file}, handing every intact record to {@code replay} before returning.
+     */
+    public static WriteAheadLog open(Path file, Durability durability, int segmentSize, Duration flushInterval,
+                                     Consumer<WalRecord> replay) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            var endPosition = replay(channel, replay);
+            channel.truncate(endPosition);
+            return new WriteAheadLog(channel, durability, segmentSize, endPosition, flushInterval);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public long append(WalRecord record) {
+        var payload = record.payload();
+        var length = HEADER_BYTES + payload.length;
+        appendLock.lock();
+        try {
+            ensureCapacity(length);
+            var offset = (int) (endPosition - segmentStart);
+            segment.putInt(offset + Integer.BYTES, payload.length)
+                    .put(offset + Integer.BYTES * 2, record.operation().code())
+                    .putLong(offset + Integer.BYTES * 2 + Byte.BYTES, record.id())
+                    .put(offset + HEADER_BYTES, payload)
+                    .putInt(offset, checksum(record));
+            if (durability == Durability.SYNC) segment.force(offset, length);
+            endPosition += length;
+            return endPosition;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until everything up to {@code position} is on disk, or returns at once unless the log uses
+     * {@link Durability#GROUP_COMMIT}; {@link Durability#SYNC} appends are already forced.
+     */
+    public void awaitDurable(long position) {
+        if (durability != Durability.GROUP_COMMIT) return;
+        forceLock.lock();
+        try {
+            while (durablePosition < position) {
+                if (forcing) {
+                    forced.awaitUninterruptibly();
+                    continue;
+                }
+                forcing = true;
+                forceLock.unlock();
+                var forcedPosition = 0L;
+                try {
+                    forcedPosition = force();
+                } finally {
+                    forceLock.lock();
+                    forcing = false;
+                    durablePosition = Math.max(durablePosition, forcedPosition);
+                    forced.signalAll();
+                }
+            }
+        } finally {
+            forceLock.unlock();
+        }
+    }
+
+    /**
+     * Forces everything appended so far whatever the {@link Durability}, and releases writers waiting for it.
+     */
+    public void flush() {
+        var forcedPosition = force();
+        forceLock.lock();
+        try {
+            durablePosition = Math.max(durablePosition, forcedPosition);
+            forced.signalAll();
+        } finally {
+            forceLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (flusher != null) flusher.shutdown();
+        force();
+        channel.close();
+    }
+
+    /**
+     * Does not take {@code appendLock}: appenders hold it while pinned to their carrier inside
+     * {@code ConcurrentHashMap.compute}, so a virtual thread queued behind them could wait for a free carrier forever.
+     * The position is read before the segment, and a segment is forced before it is replaced, so everything up to the
+     * position is on disk once the segment read afterwards is forced.
+     */
+    private long force() {
+        var position = endPosition;
+        segment.force();
+        return position;
+    }
+
+    private void ensureCapacity(int length) throws IOException {
+        if (endPosition + length <= segmentStart + segment.capacity()) return;
+        segment.force();
+        segmentStart = endPosition;
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, segmentStart, Math.max(segmentSize, length));
+    }
+
+    private ScheduledExecutorService startFlusher(Duration flushInterval) {
+        var executor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("wal-flusher").daemon().factory());
+        executor.scheduleWithFixedDelay(() -> {
+            try {
+                force();
+            } catch (UncheckedIOException e) {
+                log.error("Could not force the write-ahead log", e);
+            }
+        }, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        return executor;
+    }
+
+    private static long replay(FileChannel channel, Consumer<WalRecord> replay) throws IOException {
+        var size = channel.size();
+        var header = ByteBuffer.allocate(HEADER_BYTES);
+        var position = 0L;
+        while (position + HEADER_BYTES <= size) {
+            readFully(channel, header.clear(), position);
+            var crc = header.getInt(0);
+            var length = header.getInt(Integer.BYTES);
+            var operation = WalRecord.Operation.of(header.get(Integer.BYTES * 2));
+            var id = header.getLong(Integer.BYTES * 2 + Byte.BYTES);
+            if (operation == null || length < 0 || position + HEADER_BYTES + length > size) break;
+
+            var payload = new byte[length];
+            readFully(channel, ByteBuffer.wrap(payload), position + HEADER_BYTES);
+            var record = new WalRecord(operation, id, payload);
+            if (crc != checksum(record)) break;
+
+            replay.accept(record);
+            position += HEADER_BYTES + length;
+        }
+        return position;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) throw new EOFException();
+        }
+    }
+
+    private static int checksum(WalRecord record) {
+        var crc = new CRC32C();
+        crc.update(ByteBuffer.allocate(HEADER_BYTES - Integer.BYTES)
+                .putInt(record.payload().length)
+                .put(record.operation().code())
+                .putLong(record.id())
+                .flip());
+        crc.update(record.payload());
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,373 @@
+package academy.devdojo.repository;
+
+import academy.devdojo.wal.Durability;
+import academy.devdojo.wal.WriteAheadLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class IndexedStoreTest {
+    private IndexedStore<Row> store;
+
+    @BeforeEach
+    void init() {
+        store = new IndexedStore<>(Row::id);
+        store.addIndex("name", Row::name);
+    }
+
+    @Test
+    @DisplayName("findAll returns rows ordered by id")
+    @Order(1)
+    void findAll_ReturnsRowsOrderedById_WhenSuccessful() {
+        store.save(new Row(3L, "Bleach"));
+        store.save(new Row(1L, "Naruto"));
+        store.save(new Row(2L, "One Piece"));
+
+        Assertions.assertThat(store.findAll())
+                .extracting(Row::id)
+                .containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    @DisplayName("findAll returns a new snapshot after a write")
+    @Order(2)
+    void findAll_ReturnsNewSnapshot_WhenStoreChanges() {
+        store.save(new Row(1L, "Naruto"));
+        var before = store.findAll();
+
+        store.save(new Row(2L, "One Piece"));
+
+        Assertions.assertThat(before).hasSize(1);
+        Assertions.assertThat(store.findAll()).hasSize(2);
+        Assertions.assertThat(store.findAll()).isSameAs(store.findAll());
+    }
+
+    @Test
+    @DisplayName("concurrent saves and deletes keep the store consistent")
+    @Order(3)
+    void save_KeepsStoreConsistent_WhenCalledConcurrently() throws Exception {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var writes = LongStream.rangeClosed(1, 10_000)
+                    .mapToObj(id -> executor.submit(() -> {
+                        var row = new Row(id, "Row " + id);
+                        store.save(row);
+                        if (id % 2 == 0) store.delete(row);
+                    }))
+                    .toList();
+            var reads = LongStream.rangeClosed(1, 100)
+                    .mapToObj(i -> executor.submit(() -> store.findAll().size()))
+                    .toList();
+            for (Future<?> write : writes) write.get();
+            for (Future<?> read : reads) read.get();
+        }
+
+        Assertions.assertThat(store.size()).isEqualTo(5_000);
+        Assertions.assertThat(store.findAll())
+                .hasSize(5_000)
+                .allMatch(row -> row.id() % 2 == 1);
+    }
+
+    @Test
+    @DisplayName("findByIndex follows saves, updates and deletes")
+    @Order(4)
+    void findByIndex_FollowsWrites_WhenRowsChange() {
+        var naruto = new Row(1L, "Naruto");
+        var narutoShippuden = new Row(2L, "NARUTO");
+        store.save(naruto);
+        store.save(narutoShippuden);
+
+        Assertions.assertThat(store.findByIndex("name", "naruto")).containsExactly(naruto, narutoShippuden);
+
+        store.update(new Row(2L, "Naruto Shippuden"));
+        store.delete(naruto);
+
+        Assertions.assertThat(store.findByIndex("name", "naruto")).isEmpty();
+        Assertions.assertThat(store.findByIndex("name", "naruto shippuden"))
+                .extracting(Row::id)
+                .containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("findByIndex finds a row saved while another row with the same key is deleted")
+    @Order(5)
+    void findByIndex_FindsRow_WhenSameKeyIsDeletedConcurrently() throws Exception {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var writes = LongStream.rangeClosed(1, 5_000)
+                    .mapToObj(i -> List.<Future<?>>of(
+                            executor.submit(() -> {
+                                var deleted = new Row(i * 2, "Key " + i);
+                                store.save(deleted);
+                                store.delete(deleted);
+                            }),
+                            executor.submit(() -> store.save(new Row(i * 2 + 1, "Key " + i)))))
+                    .flatMap(List::stream)
+                    .toList();
+            for (Future<?> write : writes) write.get();
+        }
+
+        Assertions.assertThat(LongStream.rangeClosed(1, 5_000))
+                .allMatch(i -> store.findIds("name", "key " + i).equals(Set.of(i * 2 + 1)));
+    }
+
+    @Test
+    @DisplayName("findByIndex throws IllegalArgumentException when index does not exist")
+    @Order(6)
+    void findByIndex_ThrowsIllegalArgumentException_WhenIndexDoesNotExist() {
+        Assertions.assertThatIllegalArgumentException()
+                .isThrownBy(() -> store.findByIndex("unknown", "naruto"));
+    }
+
+    @Test
+    @DisplayName("upsertAll reports created and updated ids")
+    @Order(7)
+    void upsertAll_ReportsStatusPerId_WhenSuccessful() {
+        store.save(new Row(1L, "Naruto"));
+
+        var statuses = store.upsertAll(List.of(
+                new Row(1L, "Naruto Shippuden"),
+                new Row(2L, "Bleach")));
+
+        Assertions.assertThat(statuses)
+                .containsExactly(Map.entry(1L, WriteStatus.UPDATED), Map.entry(2L, WriteStatus.CREATED));
+        Assertions.assertThat(store.findByIndex("name", "naruto")).isEmpty();
+        Assertions.assertThat(store.findAll()).extracting(Row::name).containsExactly("Naruto Shippuden", "Bleach");
+    }
+
+    @Test
+    @DisplayName("upsertAll changes nothing when a row breaks a unique index")
+    @Order(8)
+    void upsertAll_RollsBackBatch_WhenUniqueIndexIsViolated() {
+        var uniqueStore = new IndexedStore<Row>(Row::id);
+        uniqueStore.addUniqueIndex("name", Row::name);
+        var naruto = new Row(1L, "Naruto");
+        var bleach = new Row(2L, "Bleach");
+        uniqueStore.saveAll(List.of(naruto, bleach));
+
+        Assertions.assertThatThrownBy(() -> uniqueStore.upsertAll(List.of(
+                        new Row(2L, "Bleach TYBW"),
+                        new Row(1L, "Bleach"),
+                        new Row(3L, "bleach tybw"))))
+                .isInstanceOf(UniqueConstraintViolationException.class);
+
+        Assertions.assertThat(uniqueStore.findAll()).containsExactly(naruto, bleach);
+        Assertions.assertThat(uniqueStore.findAll()).extracting(Row::name).containsExactly("Naruto", "Bleach");
+        Assertions.assertThat(uniqueStore.findByIndex("name", "bleach")).containsExactly(bleach);
+        Assertions.assertThat(uniqueStore.findByIndex("name", "bleach tybw")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("upsertAll lets rows swap unique keys within one batch")
+    @Order(9)
+    void upsertAll_SwapsUniqueKeys_WhenBatchLeavesThemUnique() {
+        var uniqueStore = new IndexedStore<Row>(Row::id);
+        uniqueStore.addUniqueIndex("name", Row::name);
+        uniqueStore.saveAll(List.of(new Row(1L, "Naruto"), new Row(2L, "Bleach")));
+        var swapped = List.of(new Row(1L, "Bleach"), new Row(2L, "Naruto"));
+
+        var statuses = uniqueStore.upsertAll(swapped);
+
+        Assertions.assertThat(statuses)
+                .containsExactly(Map.entry(1L, WriteStatus.UPDATED), Map.entry(2L, WriteStatus.UPDATED));
+        Assertions.assertThat(uniqueStore.findAll()).containsExactlyElementsOf(swapped);
+        Assertions.assertThat(uniqueStore.findByIndex("name", "bleach")).containsExactly(swapped.getFirst());
+        Assertions.assertThat(uniqueStore.findByIndex("name", "naruto")).containsExactly(swapped.getLast());
+    }
+
+    @Test
+    @DisplayName("upsertAll changes nothing when the journal rejects the batch")
+    @Order(10)
+    void upsertAll_ChangesNothing_WhenJournalFails() {
+        var uniqueStore = new IndexedStore<Row>(Row::id);
+        uniqueStore.addUniqueIndex("name", Row::name);
+        var naruto = new Row(1L, "Naruto");
+        var bleach = new Row(2L, "Bleach");
+        uniqueStore.saveAll(List.of(naruto, bleach));
+        var journal = new RecordingJournal(new AtomicLong());
+        journal.failOnce = new Row(1L, "Bleach");
+        uniqueStore.attachJournal(journal);
+
+        Assertions.assertThatThrownBy(() -> uniqueStore.upsertAll(List.of(new Row(2L, "Naruto"), new Row(1L, "Bleach"))))
+                .isInstanceOf(IllegalStateException.class);
+
+        Assertions.assertThat(uniqueStore.findAll()).containsExactly(naruto, bleach);
+        Assertions.assertThat(uniqueStore.findByIndex("name", "naruto")).containsExactly(naruto);
+        Assertions.assertThat(uniqueStore.findByIndex("name", "bleach")).containsExactly(bleach);
+        Assertions.assertThatThrownBy(() -> uniqueStore.save(new Row(3L, "bleach")))
+                .isInstanceOf(UniqueConstraintViolationException.class);
+    }
+
+    @Test
+    @DisplayName("deleteAllById reports deleted and missing ids")
+    @Order(11)
+    void deleteAllById_ReportsStatusPerId_WhenSuccessful() {
+        store.saveAll(List.of(new Row(1L, "Naruto"), new Row(2L, "Bleach")));
+
+        var statuses = store.deleteAllById(List.of(2L, 42L));
+
+        Assertions.assertThat(statuses)
+                .containsExactly(Map.entry(2L, WriteStatus.DELETED), Map.entry(42L, WriteStatus.NOT_FOUND));
+        Assertions.assertThat(store.findAll()).extracting(Row::id).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("findVersion changes on every write to the row and version changes on every write")
+    @Order(12)
+    void findVersion_Changes_WhenRowIsWritten() {
+        var naruto = new Row(1L, "Naruto");
+        store.save(naruto);
+        store.save(new Row(2L, "Bleach"));
+        var narutoVersion = store.findVersion(1L).orElseThrow();
+        var bleachVersion = store.findVersion(2L).orElseThrow();
+        var storeVersion = store.version();
+
+        store.update(new Row(1L, "Naruto Shippuden"));
+
+        Assertions.assertThat(store.findVersion(1L)).get().isNotEqualTo(narutoVersion);
+        Assertions.assertThat(store.findVersion(2L)).contains(bleachVersion);
+        Assertions.assertThat(store.version()).isGreaterThan(storeVersion);
+
+        store.delete(naruto);
+
+        Assertions.assertThat(store.findVersion(1L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("findAllView is computed once per snapshot and again after a write")
+    @Order(13)
+    void findAllView_IsRebuilt_WhenStoreChanges() {
+        store.save(new Row(1L, "Naruto"));
+        var computations = new AtomicInteger();
+        Function<List<Row>, Integer> countRows = rows -> {
+            computations.incrementAndGet();
+            return rows.size();
+        };
+
+        Assertions.assertThat(store.findAllView("size", countRows)).isEqualTo(1);
+        Assertions.assertThat(store.findAllView("size", countRows)).isEqualTo(1);
+
+        store.save(new Row(2L, "Bleach"));
+
+        Assertions.assertThat(store.findAllView("size", countRows)).isEqualTo(2);
+        Assertions.assertThat(computations).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("a store rebuilt from its write-ahead log holds the same rows")
+    @Order(14)
+    void attachJournal_RebuildsSameRows_WhenLogIsReplayed(@TempDir Path directory) throws IOException {
+        var objectMapper = new ObjectMapper();
+        var file = directory.resolve("rows.wal");
+        try (var log = WriteAheadLog.open(file, Durability.GROUP_COMMIT, 1024, Duration.ofMillis(10), record -> {})) {
+            store.attachJournal(new WalStoreJournal<>(log, objectMapper));
+            store.saveAll(List.of(new Row(1L, "Naruto"), new Row(2L, "Bleach")));
+            store.update(new Row(1L, "Naruto Shippuden"));
+            store.deleteAllById(List.of(2L));
+            store.save(new Row(3L, "One Piece"));
+        }
+
+        var rebuilt = new IndexedStore<>(Row::id);
+        rebuilt.addIndex("name", Row::name);
+        try (var ignored = WriteAheadLog.open(file, Durability.GROUP_COMMIT, 1024, Duration.ofMillis(10),
+                WalStoreJournal.replayInto(rebuilt, Row.class, objectMapper))) {
+            Assertions.assertThat(rebuilt.findAll())
+                    .extracting(Row::id, Row::name)
+                    .containsExactly(Assertions.tuple(1L, "Naruto Shippuden"), Assertions.tuple(3L, "One Piece"));
+            Assertions.assertThat(rebuilt.findByIndex("name", "bleach")).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("writers wait on the journal they appended to when switchJournal runs while they write")
+    @Order(15)
+    void save_AwaitsJournalItAppendedTo_WhenJournalIsSwitchedConcurrently() throws Exception {
+        var positions = new AtomicLong();
+        var journals = new ArrayList<RecordingJournal>(List.of(new RecordingJournal(positions)));
+        store.attachJournal(journals.getFirst());
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var writes = LongStream.rangeClosed(1, 10_000)
+                    .mapToObj(id -> executor.submit(() -> store.save(new Row(id, "Row " + id))))
+                    .toList();
+            for (int i = 0; i < 50; i++) {
+                var next = new RecordingJournal(positions);
+                store.switchJournal(next);
+                journals.add(next);
+            }
+            for (Future<?> write : writes) write.get();
+        }
+
+        Assertions.assertThat(journals).allSatisfy(journal -> Assertions.assertThat(journal.foreignWaits).hasValue(0));
+        Assertions.assertThat(journals.subList(0, journals.size() - 1))
+                .allSatisfy(journal -> Assertions.assertThat(journal.flushed).isTrue());
+        Assertions.assertThat(journals.stream().mapToInt(journal -> journal.appended.size()).sum()).isEqualTo(10_000);
+    }
+
+    record Row(Long id, String name) {
+    }
+
+    /**
+     * Hands out positions unique across journals, so a wait on a position another journal issued is detected.
+     */
+    private static final class RecordingJournal implements StoreJournal<Row> {
+        private final Set<Long> appended = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger foreignWaits = new AtomicInteger();
+        private final AtomicLong positions;
+        private volatile boolean flushed;
+        private volatile Row failOnce;
+
+        RecordingJournal(AtomicLong positions) {
+            this.positions = positions;
+        }
+
+        @Override
+        public long put(Long id, Row row) {
+            if (row != null && row.equals(failOnce)) {
+                failOnce = null;
+                throw new IllegalStateException("Journal is unavailable");
+            }
+            var position = positions.incrementAndGet();
+            appended.add(position);
+            return position;
+        }
+
+        @Override
+        public long putAll(Map<Long, Row> rows) {
+            if (rows.containsValue(failOnce)) {
+                failOnce = null;
+                throw new IllegalStateException("Journal is unavailable");
+            }
+            return put(null, null);
+        }
+
+        @Override
+        public long remove(Long id) {
+            return put(id, null);
+        }
+
+        @Override
+        public void awaitDurable(long position) {
+            if (!appended.contains(position)) foreignWaits.incrementAndGet();
+        }
+
+        @Override
+        public void flush() {
+            flushed = true;
+        }
+    }
+}
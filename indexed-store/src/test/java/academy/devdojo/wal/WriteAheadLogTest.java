@@ -0,0 +1,108 @@
+package academy.devdojo.wal;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class WriteAheadLogTest {
+    private static final Duration FLUSH_INTERVAL = Duration.ofMillis(10);
+
+    @TempDir
+    private Path directory;
+
+    private Path file;
+
+    @BeforeEach
+    void init() {
+        file = directory.resolve("rows.wal");
+    }
+
+    @Test
+    @DisplayName("open replays every appended record in order")
+    @Order(1)
+    void open_ReplaysRecordsInOrder_WhenLogWasClosed() throws IOException {
+        try (var log = WriteAheadLog.open(file, Durability.SYNC, 1024, FLUSH_INTERVAL, record -> {})) {
+            log.append(put(1, "Naruto"));
+            log.append(put(2, "Bleach"));
+            log.append(new WalRecord(WalRecord.Operation.DELETE, 1, new byte[0]));
+        }
+
+        Assertions.assertThat(replay(Durability.SYNC))
+                .containsExactly("PUT 1 Naruto", "PUT 2 Bleach", "DELETE 1 ");
+    }
+
+    @Test
+    @DisplayName("open maps a new segment when a record does not fit in the current one")
+    @Order(2)
+    void append_MapsNewSegment_WhenSegmentIsFull() throws IOException {
+        try (var log = WriteAheadLog.open(file, Durability.ASYNC, 64, FLUSH_INTERVAL, record -> {})) {
+            LongStream.rangeClosed(1, 10).forEach(id -> log.append(put(id, "Row " + id)));
+            log.append(put(11, "A name longer than one whole segment of sixty four bytes"));
+        }
+
+        Assertions.assertThat(replay(Durability.ASYNC))
+                .hasSize(11)
+                .endsWith("PUT 11 A name longer than one whole segment of sixty four bytes");
+    }
+
+    @Test
+    @DisplayName("open stops at a torn record and appends after the last intact one")
+    @Order(3)
+    void open_TruncatesTornTail_WhenLastRecordIsCorrupted() throws IOException {
+        long endOfFirstRecord;
+        try (var log = WriteAheadLog.open(file, Durability.SYNC, 1024, FLUSH_INTERVAL, record -> {})) {
+            endOfFirstRecord = log.append(put(1, "Naruto"));
+            log.append(put(2, "Bleach"));
+        }
+        try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap("x".getBytes(StandardCharsets.UTF_8)), endOfFirstRecord + WriteAheadLog.HEADER_BYTES);
+        }
+
+        try (var log = WriteAheadLog.open(file, Durability.SYNC, 1024, FLUSH_INTERVAL, record -> {})) {
+            log.append(put(3, "One Piece"));
+        }
+
+        Assertions.assertThat(replay(Durability.SYNC)).containsExactly("PUT 1 Naruto", "PUT 3 One Piece");
+    }
+
+    @Test
+    @DisplayName("awaitDurable returns for every concurrent writer under group commit")
+    @Order(4)
+    void awaitDurable_ReturnsForEveryWriter_WhenWritersShareGroupCommit() throws Exception {
+        try (var log = WriteAheadLog.open(file, Durability.GROUP_COMMIT, 4096, FLUSH_INTERVAL, record -> {});
+             var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var writes = LongStream.rangeClosed(1, 1_000)
+                    .mapToObj(id -> executor.submit(() -> log.awaitDurable(log.append(put(id, "Row " + id)))))
+                    .toList();
+            for (Future<?> write : writes) write.get();
+        }
+
+        Assertions.assertThat(replay(Durability.GROUP_COMMIT)).hasSize(1_000);
+    }
+
+    private List<String> replay(Durability durability) throws IOException {
+        var replayed = new ArrayList<String>();
+        try (var ignored = WriteAheadLog.open(file, durability, 1024, FLUSH_INTERVAL, record -> replayed.add(
+                "%s %d %s".formatted(record.operation(), record.id(), new String(record.payload(), StandardCharsets.UTF_8))))) {
+            return replayed;
+        }
+    }
+
+    private static WalRecord put(long id, String name) {
+        return new WalRecord(WalRecord.Operation.PUT, id, name.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,11 +1,18 @@
 package academy.devdojo;
 
+import academy.devdojo.config.AdmissionControlConfigurationProperties;
+import academy.devdojo.config.ConnectionConfigurationProperties;
+import academy.devdojo.config.IdGeneratorConfigurationProperties;
+import academy.devdojo.config.RequestLoggingConfigurationProperties;
+import academy.devdojo.config.WalConfigurationProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.ComponentScan;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 
 @SpringBootApplication
-
+@EnableConfigurationProperties({AdmissionControlConfigurationProperties.class, ConnectionConfigurationProperties.class,
+        IdGeneratorConfigurationProperties.class, RequestLoggingConfigurationProperties.class,
+        WalConfigurationProperties.class})
 public class
 UserServiceApplication {
 
@@ -0,0 +1,51 @@
+package academy.devdojo.admission;
+
+/**
+ * A concurrency limit that follows latency, after the gradient algorithm of Netflix's concurrency-limits.
+ * <p>
+ * Each sample compares a request's round trip with a slow moving average of past round trips. While requests take
+ * no longer than {@code tolerance} times that average, the limit grows by a queue allowance of {@code sqrt(limit)};
+ * beyond it the limit shrinks in proportion, by at most half per sample before smoothing. Samples taken while less
+ * than half the limit is in use do not grow it, and the average is pulled down when latency has dropped for good so
+ * an old spike does not keep the limit high.
+ */
+class GradientLimit {
+    private static final int WARMUP_SAMPLES = 10;
+    private static final double LONG_WINDOW_ALPHA = 2.0 / (600 + 1);
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private volatile int limit;
+    private double estimatedLimit;
+    private double longRtt;
+    private long samples;
+
+    GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    synchronized void onSample(long rttNanos, int inflight) {
+        var rtt = Math.max(1, rttNanos);
+        samples++;
+        longRtt += (rtt - longRtt) / (samples <= WARMUP_SAMPLES ? samples : 1 / LONG_WINDOW_ALPHA);
+        if (longRtt / rtt > 2) longRtt *= 0.95;
+        if (inflight < estimatedLimit / 2) return;
+
+        var gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / rtt));
+        var newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,29 @@
+package academy.devdojo.config;
+
+import academy.devdojo.admission.AdmissionControlInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(name = "admission-control.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class AdmissionControlBeanConfiguration implements WebMvcConfigurer {
+    private final AdmissionControlConfigurationProperties configurationProperties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Bean
+    public AdmissionControlInterceptor admissionControlInterceptor() {
+        return new AdmissionControlInterceptor(configurationProperties, meterRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(admissionControlInterceptor()).addPathPatterns("/v1/**");
+    }
+}
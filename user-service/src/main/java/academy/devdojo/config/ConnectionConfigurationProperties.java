@@ -0,0 +1,14 @@
+package academy.devdojo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+/**
+ * {@code dataSourceProperties} are handed to the JDBC driver as they are, e.g. {@code cachePrepStmts} and
+ * {@code rewriteBatchedStatements} for MySQL.
+ */
+@ConfigurationProperties(prefix = "database")
+public record ConnectionConfigurationProperties(String url, String username, String password,
+                                                Map<String, String> dataSourceProperties) {
+}
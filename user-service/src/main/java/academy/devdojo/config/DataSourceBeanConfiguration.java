@@ -0,0 +1,28 @@
+package academy.devdojo.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("jdbc")
+@RequiredArgsConstructor
+public class DataSourceBeanConfiguration {
+    private final ConnectionConfigurationProperties configurationProperties;
+
+    @Bean
+    public HikariDataSource dataSource() {
+        var hikariConfig = new HikariConfig();
+        hikariConfig.setPoolName("user-service");
+        hikariConfig.setJdbcUrl(configurationProperties.url());
+        hikariConfig.setUsername(configurationProperties.username());
+        hikariConfig.setPassword(configurationProperties.password());
+        if (configurationProperties.dataSourceProperties() != null) {
+            configurationProperties.dataSourceProperties().forEach(hikariConfig::addDataSourceProperty);
+        }
+        return new HikariDataSource(hikariConfig);
+    }
+}
@@ -0,0 +1,18 @@
+package academy.devdojo.config;
+
+import academy.devdojo.id.IdGenerator;
+import academy.devdojo.id.SnowflakeIdGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@RequiredArgsConstructor
+public class IdGeneratorBeanConfiguration {
+    private final IdGeneratorConfigurationProperties configurationProperties;
+
+    @Bean
+    public IdGenerator idGenerator() {
+        return new SnowflakeIdGenerator(configurationProperties.nodeId());
+    }
+}
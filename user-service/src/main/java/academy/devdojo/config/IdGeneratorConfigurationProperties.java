@@ -0,0 +1,7 @@
+package academy.devdojo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "id-generator")
+public record IdGeneratorConfigurationProperties(long nodeId) {
+}
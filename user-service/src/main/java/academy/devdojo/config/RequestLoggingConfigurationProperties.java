@@ -0,0 +1,14 @@
+package academy.devdojo.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+/**
+ * {@code sampleRates} are keyed by {@code "<METHOD> <route>"}, e.g. {@code "GET /v1/users/{id}"}, and override
+ * {@code sampleRate} for that endpoint; rates go from 0 (never logged) to 1 (always logged).
+ */
+@ConfigurationProperties(prefix = "request-logging")
+public record RequestLoggingConfigurationProperties(String debugHeader, double sampleRate,
+                                                    Map<String, Double> sampleRates) {
+}
@@ -0,0 +1,29 @@
+package academy.devdojo.config;
+
+import academy.devdojo.domain.User;
+import academy.devdojo.repository.DurableStore;
+import academy.devdojo.repository.UserData;
+import academy.devdojo.repository.UserRowCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Rebuilds the in-memory stores from their snapshots and write-ahead logs on startup and journals every write
+ * after that. Each store writes a last snapshot and closes its log when the context shuts down.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "wal", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class WalBeanConfiguration {
+    private final WalConfigurationProperties configurationProperties;
+    private final ObjectMapper objectMapper;
+
+    @Bean(initMethod = "open")
+    public DurableStore<User> userDurableStore(UserData userData) {
+        return new DurableStore<>("users", userData.getUserStore(), User.class, new UserRowCodec(), objectMapper,
+                configurationProperties);
+    }
+}
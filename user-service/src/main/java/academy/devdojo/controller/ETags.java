@@ -0,0 +1,16 @@
+package academy.devdojo.controller;
+
+/**
+ * Strong ETags built from store versions. Versions restart on every boot, so tags carry the boot time as well,
+ * otherwise a restarted service could answer 304 to a tag handed out for different data.
+ */
+final class ETags {
+    private static final String BOOT_EPOCH = Long.toString(System.currentTimeMillis(), 36);
+
+    private ETags() {
+    }
+
+    static String of(long version) {
+        return "\"%s-%s\"".formatted(BOOT_EPOCH, Long.toString(version, 36));
+    }
+}
@@ -2,6 +2,7 @@ package academy.devdojo.controller;
 
 import academy.devdojo.domain.User;
 import academy.devdojo.mapper.UserMapper;
+import academy.devdojo.repository.WriteStatus;
 import academy.devdojo.request.UserPostRequest;
 import academy.devdojo.request.UserPutRequest;
 import academy.devdojo.response.UserGetResponse;
@@ -11,8 +12,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("v1/users")
@@ -25,17 +28,32 @@ public class UserController {
     public ResponseEntity<List<UserGetResponse>> findAll(
             @RequestParam(required = false) String firstName,
             @RequestParam(required = false) String lastName,
-            @RequestParam(required = false) String email) {
+            @RequestParam(required = false) String email,
+            WebRequest webRequest) {
+        String eTag = ETags.of(service.version());
+        if (webRequest.checkNotModified(eTag)) return null;
         List<User> foundUsers = service.findAll(firstName, lastName, email);
         List<UserGetResponse> response = userMapper.toUserGetResponseList(foundUsers);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(eTag).body(response);
+    }
+
+    @GetMapping("search")
+    public ResponseEntity<List<UserGetResponse>> search(@RequestParam String q,
+                                                        @RequestParam(required = false) Integer limit,
+                                                        WebRequest webRequest) {
+        String eTag = ETags.of(service.version());
+        if (webRequest.checkNotModified(eTag)) return null;
+        List<UserGetResponse> response = userMapper.toUserGetResponseList(service.search(q, limit));
+        return ResponseEntity.ok().eTag(eTag).body(response);
     }
 
     @GetMapping("{id}")
-    public ResponseEntity<UserGetResponse> findByIdOrElseThrowResponseStatusException(@PathVariable Long id) {
+    public ResponseEntity<UserGetResponse> findByIdOrElseThrowResponseStatusException(@PathVariable Long id, WebRequest webRequest) {
+        String eTag = service.findVersion(id).map(ETags::of).orElse(null);
+        if (eTag != null && webRequest.checkNotModified(eTag)) return null;
         User foundUser = service.findByIdOrElseThrowResponseStatusException(id);
         UserGetResponse response = userMapper.toUserGetResponse(foundUser);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(eTag).body(response);
     }
 
     @PostMapping
@@ -45,6 +63,17 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(userMapper.toUserPostResponse(savedUser));
     }
 
+    @PutMapping("batch")
+    public ResponseEntity<Map<Long, WriteStatus>> upsertAll(@RequestBody List<UserPutRequest> requests) {
+        List<User> usersToUpsert = userMapper.toUserList(requests);
+        return ResponseEntity.ok(service.upsertAll(usersToUpsert));
+    }
+
+    @DeleteMapping("batch")
+    public ResponseEntity<Map<Long, WriteStatus>> deleteAll(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(service.deleteAllById(ids));
+    }
+
     @DeleteMapping("{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         service.delete(id);
@@ -0,0 +1,6 @@
+package academy.devdojo.exception;
+
+import java.time.OffsetDateTime;
+
+public record DefaultErrorMessage(OffsetDateTime timestamp, int status, String error, String path) {
+}
@@ -0,0 +1,34 @@
+package academy.devdojo.exception;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Writes 404s and admission control 503s straight from the handler, with the same body Spring Boot's error
+ * controller would render, instead of forwarding to /error.
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    @ExceptionHandler(NotFoundException.class)
+    public ResponseEntity<DefaultErrorMessage> handleNotFoundException(NotFoundException e, HttpServletRequest request) {
+        var status = HttpStatus.NOT_FOUND;
+        var errorMessage = new DefaultErrorMessage(OffsetDateTime.now(), status.value(), status.getReasonPhrase(), request.getRequestURI());
+        return ResponseEntity.status(status).body(errorMessage);
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<DefaultErrorMessage> handleServiceOverloadedException(ServiceOverloadedException e, HttpServletRequest request) {
+        var status = HttpStatus.SERVICE_UNAVAILABLE;
+        var errorMessage = new DefaultErrorMessage(OffsetDateTime.now(), status.value(), status.getReasonPhrase(), request.getRequestURI());
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                .body(errorMessage);
+    }
+}
@@ -0,0 +1,19 @@
+package academy.devdojo.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * A 404 without a stack trace. Misses are expected and frequent, so capturing the stack on every one is pure cost.
+ */
+public class NotFoundException extends ResponseStatusException {
+
+    public NotFoundException(String reason) {
+        super(HttpStatus.NOT_FOUND, reason);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,44 @@
+package academy.devdojo.id;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Snowflake-style ids: 41 bits of milliseconds since {@link #EPOCH}, 10 bits of node id and a 12 bit sequence.
+ * <p>
+ * The last allocated timestamp and sequence live in one {@link AtomicLong}, so allocating is a single CAS and never
+ * blocks. When a millisecond runs out of sequence numbers, or the clock goes backwards, the generator keeps counting
+ * into the next millisecond instead of waiting, so ids stay unique and strictly increasing per node.
+ */
+public class SnowflakeIdGenerator implements IdGenerator {
+    public static final Instant EPOCH = Instant.parse("2025-01-01T00:00:00Z");
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final AtomicLong lastTimestampAndSequence = new AtomicLong();
+    private final long nodeBits;
+    private final LongSupplier clock;
+
+    public SnowflakeIdGenerator(long nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and %d".formatted(MAX_NODE_ID));
+        }
+        this.nodeBits = nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    @Override
+    public long nextId() {
+        var now = (clock.getAsLong() - EPOCH.toEpochMilli()) << SEQUENCE_BITS;
+        var next = lastTimestampAndSequence.accumulateAndGet(now, (last, current) -> Math.max(last + 1, current));
+        var timestamp = next >>> SEQUENCE_BITS;
+        return timestamp << (NODE_BITS + SEQUENCE_BITS) | nodeBits | next & SEQUENCE_MASK;
+    }
+}
@@ -0,0 +1,83 @@
+package academy.devdojo.logging;
+
+import academy.devdojo.config.RequestLoggingConfigurationProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logs one structured event per request for a sample of each endpoint's traffic. Server errors and requests
+ * carrying the debug header are always logged; the header also turns on debug logging for the rest of that request
+ * through {@link DebugHeaderTurboFilter}.
+ * <p>
+ * Requests left out of the sample cost a map lookup and a random number; nothing is formatted for them.
+ */
+@Slf4j(topic = "academy.devdojo.request")
+@Component
+public class RequestLoggingFilter extends OncePerRequestFilter {
+    private final String debugHeader;
+    private final double sampleRate;
+    private final Map<String, Map<String, Double>> sampleRatesByRoute = new HashMap<>();
+
+    public RequestLoggingFilter(RequestLoggingConfigurationProperties configurationProperties) {
+        this.debugHeader = configurationProperties.debugHeader();
+        this.sampleRate = configurationProperties.sampleRate();
+        if (configurationProperties.sampleRates() == null) return;
+        configurationProperties.sampleRates().forEach((endpoint, rate) -> {
+            var separator = endpoint.indexOf(' ');
+            if (separator < 0) throw new IllegalArgumentException("Expected '<METHOD> <route>' but got '%s'".formatted(endpoint));
+            sampleRatesByRoute.computeIfAbsent(endpoint.substring(separator + 1).trim(), route -> new HashMap<>())
+                    .put(endpoint.substring(0, separator), rate);
+        });
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var debug = Boolean.parseBoolean(request.getHeader(debugHeader));
+        if (debug) MDC.put(DebugHeaderTurboFilter.MDC_KEY, "true");
+        var start = System.nanoTime();
+        var failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            var status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+            var route = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            var rate = sampleRate(request.getMethod(), route);
+            if (debug || status >= HttpServletResponse.SC_INTERNAL_SERVER_ERROR || sampled(rate)) {
+                log.atInfo()
+                        .addKeyValue("http.request.method", request.getMethod())
+                        .addKeyValue("http.route", route)
+                        .addKeyValue("url.path", request.getRequestURI())
+                        .addKeyValue("http.response.status_code", status)
+                        .addKeyValue("event.duration", System.nanoTime() - start)
+                        .addKeyValue("sample.rate", rate)
+                        .log("Request completed");
+            }
+            if (debug) MDC.remove(DebugHeaderTurboFilter.MDC_KEY);
+        }
+    }
+
+    private double sampleRate(String method, String route) {
+        if (route == null) return sampleRate;
+        var rates = sampleRatesByRoute.get(route);
+        if (rates == null) return sampleRate;
+        return rates.getOrDefault(method, sampleRate);
+    }
+
+    private static boolean sampled(double rate) {
+        return rate >= 1 || rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+}
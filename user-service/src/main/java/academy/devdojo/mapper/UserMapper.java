@@ -1,6 +1,7 @@
 package academy.devdojo.mapper;
 
 import academy.devdojo.domain.User;
+import academy.devdojo.id.IdGenerator;
 import academy.devdojo.request.UserPostRequest;
 import academy.devdojo.request.UserPutRequest;
 import academy.devdojo.response.UserGetResponse;
@@ -8,22 +9,25 @@ import academy.devdojo.response.UserPostResponse;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
-import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
 
 import java.util.List;
 
 @Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
-public interface UserMapper {
-    UserMapper INSTANCE = Mappers.getMapper(UserMapper.class);
+public abstract class UserMapper {
+    @Autowired
+    protected IdGenerator idGenerator;
 
-    UserGetResponse toUserGetResponse(User user);
+    public abstract UserGetResponse toUserGetResponse(User user);
 
-    List<UserGetResponse> toUserGetResponseList(List<User> users);
+    public abstract List<UserGetResponse> toUserGetResponseList(List<User> users);
 
-    @Mapping(target = "id", expression = "java(java.util.concurrent.ThreadLocalRandom.current().nextLong(1000))")
-    User toUser(UserPostRequest userPostRequest);
+    @Mapping(target = "id", expression = "java(idGenerator.nextId())")
+    public abstract User toUser(UserPostRequest userPostRequest);
 
-    UserPostResponse toUserPostResponse(User user);
+    public abstract UserPostResponse toUserPostResponse(User user);
 
-    User toUser(UserPutRequest request);
+    public abstract User toUser(UserPutRequest request);
+
+    public abstract List<User> toUserList(List<UserPutRequest> requests);
 }
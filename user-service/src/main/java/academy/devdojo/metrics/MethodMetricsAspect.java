@@ -0,0 +1,105 @@
+package academy.devdojo.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Repository;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the {@code @Service} and {@code @Repository} beans as {@value #METHOD_TIMER}, tagged
+ * with {@code layer}, {@code class}, {@code method} and {@code exception}, and records the size of collection
+ * results as {@value #RESULT_SIZE}. Both publish percentile histograms.
+ * <p>
+ * Meters are resolved once per method and kept, so a call pays for two clock reads and a histogram update. Runs
+ * outside the caching and transaction advice, so cache hits are timed as callers see them.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class MethodMetricsAspect {
+    public static final String METHOD_TIMER = "method.timed";
+    public static final String RESULT_SIZE = "method.result.size";
+    private static final double MAXIMUM_EXPECTED_SIZE = 1_000_000;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Map<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    @Around("@within(org.springframework.stereotype.Service) || @within(org.springframework.stereotype.Repository)")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        var method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        var methodMeters = meters.computeIfAbsent(method, this::newMethodMeters);
+        if (methodMeters == MethodMeters.NONE) return joinPoint.proceed();
+
+        var start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            methodMeters.failed(e, System.nanoTime() - start);
+            throw e;
+        }
+        methodMeters.succeeded(result, System.nanoTime() - start);
+        return result;
+    }
+
+    private MethodMeters newMethodMeters(Method method) {
+        var registry = meterRegistry.getIfAvailable();
+        if (registry == null) return MethodMeters.NONE;
+
+        var declaringClass = method.getDeclaringClass();
+        var layer = AnnotatedElementUtils.hasAnnotation(declaringClass, Repository.class) ? "repository" : "service";
+        var tags = Tags.of("layer", layer, "class", declaringClass.getSimpleName(), "method", method.getName());
+        var returnType = method.getReturnType();
+        var resultSize = Collection.class.isAssignableFrom(returnType) || Map.class.isAssignableFrom(returnType)
+                ? DistributionSummary.builder(RESULT_SIZE)
+                .tags(tags)
+                .baseUnit("rows")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(MAXIMUM_EXPECTED_SIZE)
+                .register(registry)
+                : null;
+        return new MethodMeters(registry, tags, timer(registry, tags, "none"), resultSize);
+    }
+
+    private static Timer timer(MeterRegistry registry, Tags tags, String exception) {
+        return Timer.builder(METHOD_TIMER)
+                .tags(tags)
+                .tag("exception", exception)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private record MethodMeters(MeterRegistry registry, Tags tags, Timer timer, DistributionSummary resultSize) {
+        static final MethodMeters NONE = new MethodMeters(null, Tags.empty(), null, null);
+
+        void succeeded(Object result, long nanos) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+            if (resultSize == null) return;
+            if (result instanceof Collection<?> collection) resultSize.record(collection.size());
+            else if (result instanceof Map<?, ?> map) resultSize.record(map.size());
+        }
+
+        void failed(Throwable e, long nanos) {
+            MethodMetricsAspect.timer(registry, tags, e.getClass().getSimpleName()).record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package academy.devdojo.metrics;
+
+import academy.devdojo.repository.IndexedStore;
+import academy.devdojo.repository.UserData;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the row count of each in-memory store as {@value #STORE_ROWS}, tagged with {@code store}.
+ */
+@Component
+@Profile("!jdbc")
+@RequiredArgsConstructor
+public class StoreMetrics implements MeterBinder {
+    public static final String STORE_ROWS = "store.rows";
+
+    private final UserData userData;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bind(registry, "users", userData.getUserStore());
+    }
+
+    private static void bind(MeterRegistry registry, String name, IndexedStore<?> store) {
+        Gauge.builder(STORE_ROWS, store, IndexedStore::size)
+                .tag("store", name)
+                .baseUnit("rows")
+                .register(registry);
+    }
+}
@@ -0,0 +1,58 @@
+package academy.devdojo.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Per-table write counters in {@code data_versions}, the JDBC counterpart of {@link IndexedStore#version()}.
+ * <p>
+ * {@link #next(String)} bumps the counter inside the writing transaction, so the new version only becomes visible
+ * together with the rows it covers, whichever instance wrote them. Writers of one table queue on that counter row
+ * for the length of their transaction, which batches amortize.
+ */
+@Component
+@Profile("jdbc")
+@RequiredArgsConstructor
+public class DataVersions {
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, View> views = new ConcurrentHashMap<>();
+
+    public long current(String table) {
+        return jdbcTemplate.queryForObject("SELECT version FROM data_versions WHERE name = ?", Long.class, table);
+    }
+
+    /**
+     * Must run inside the transaction that writes to {@code table}.
+     */
+    public long next(String table) {
+        jdbcTemplate.update("UPDATE data_versions SET version = version + 1 WHERE name = ?", table);
+        return current(table);
+    }
+
+    /**
+     * Computes {@code view} over {@code rows} at most once per version of {@code table}. The version is read before
+     * the rows, so a view may be newer than the version it is cached under but never older.
+     */
+    @SuppressWarnings("unchecked")
+    public <T, R> R view(String table, String viewName, Supplier<List<T>> rows, Function<List<T>, R> view) {
+        var version = current(table);
+        var key = table + '/' + viewName;
+        var cached = views.get(key);
+        if (cached != null && cached.version() == version) return (R) cached.value();
+
+        var value = view.apply(rows.get());
+        views.merge(key, new View(version, value), (previous, computed) -> previous.version() > computed.version() ? previous : computed);
+        return value;
+    }
+
+    private record View(long version, Object value) {
+    }
+}
@@ -0,0 +1,229 @@
+package academy.devdojo.repository;
+
+import academy.devdojo.domain.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.stream.Stream;
+
+/**
+ * Batched writes go through {@link JdbcTemplate#batchUpdate} in chunks of {@value #BATCH_SIZE}, and the ids they
+ * touch are looked up with one {@code IN} query per chunk instead of a query per row.
+ */
+@Repository
+@Profile("jdbc")
+@RequiredArgsConstructor
+public class JdbcUserRepository implements UserRepository {
+    static final String TABLE = "users";
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_SEARCH_CANDIDATES = 1_000;
+    private static final String SELECT = "SELECT id, first_name, last_name, email FROM users";
+    private static final String INSERT = "INSERT INTO users (id, first_name, last_name, email, version) VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE users SET first_name = ?, last_name = ?, email = ?, version = ? WHERE id = ?";
+    private static final RowMapper<User> ROW_MAPPER = (resultSet, rowNum) -> User.builder()
+            .id(resultSet.getLong("id"))
+            .firstName(resultSet.getString("first_name"))
+            .lastName(resultSet.getString("last_name"))
+            .email(resultSet.getString("email"))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataVersions dataVersions;
+
+    @Override
+    public List<User> findAll() {
+        return jdbcTemplate.query(SELECT + " ORDER BY id", ROW_MAPPER);
+    }
+
+    @Override
+    public List<User> findByName(String firstName, String lastName) {
+        return jdbcTemplate.query(SELECT + " WHERE first_name_key = LOWER(?) OR last_name_key = LOWER(?) ORDER BY id",
+                ROW_MAPPER, firstName, lastName);
+    }
+
+    @Override
+    public List<User> findByEmail(String email) {
+        return jdbcTemplate.query(SELECT + " WHERE email_key = LOWER(?)", ROW_MAPPER, email);
+    }
+
+    /**
+     * H2 has no edit distance, so the candidates are the first {@value #MAX_SEARCH_CANDIDATES} users whose first or
+     * last name sounds like a query term, by SOUNDEX over indexed columns, or whose email starts with the term's
+     * first two letters. They are ranked like {@link TrigramIndex} does, so a typo in the first letter of a name is
+     * only found through the email.
+     */
+    @Override
+    public List<User> search(String query, int limit) {
+        var queryTerms = TrigramIndex.terms(query == null ? "" : query);
+        if (queryTerms.length == 0 || limit <= 0) return List.of();
+
+        var where = new StringJoiner(" OR ", " WHERE ", " ORDER BY id LIMIT ?");
+        var args = new ArrayList<Object>(queryTerms.length * 3 + 1);
+        for (var term : queryTerms) {
+            where.add("first_name_sound = SOUNDEX(?) OR last_name_sound = SOUNDEX(?) OR email_key LIKE ?");
+            args.add(term);
+            args.add(term);
+            args.add(term.substring(0, Math.min(2, term.length())) + "%");
+        }
+        args.add(MAX_SEARCH_CANDIDATES);
+
+        var distances = new HashMap<User, Integer>();
+        for (var user : jdbcTemplate.query(SELECT + where, ROW_MAPPER, args.toArray())) {
+            var distance = TrigramIndex.editDistance(queryTerms, rowTerms(user));
+            if (distance >= 0) distances.put(user, distance);
+        }
+        return distances.keySet().stream()
+                .sorted(Comparator.comparing((User user) -> distances.get(user)).thenComparing(User::getId))
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public Optional<User> findById(Long id) {
+        return jdbcTemplate.query(SELECT + " WHERE id = ?", ROW_MAPPER, id).stream().findFirst();
+    }
+
+    @Override
+    public Optional<Long> findVersion(Long id) {
+        return jdbcTemplate.queryForList("SELECT version FROM users WHERE id = ?", Long.class, id).stream().findFirst();
+    }
+
+    @Override
+    public long version() {
+        return dataVersions.current(TABLE);
+    }
+
+    @Override
+    @Transactional
+    public User save(User user) {
+        var version = dataVersions.next(TABLE);
+        try {
+            jdbcTemplate.update(INSERT, user.getId(), user.getFirstName(), user.getLastName(), user.getEmail(), version);
+        } catch (DuplicateKeyException e) {
+            throw new UniqueConstraintViolationException(UserData.EMAIL_INDEX, user.getEmail());
+        }
+        return user;
+    }
+
+    @Override
+    @Transactional
+    public void delete(User userToDelete) {
+        dataVersions.next(TABLE);
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userToDelete.getId());
+    }
+
+    @Override
+    @Transactional
+    public boolean update(User userToUpdate) {
+        var version = dataVersions.next(TABLE);
+        try {
+            return jdbcTemplate.update(UPDATE, userToUpdate.getFirstName(), userToUpdate.getLastName(),
+                    userToUpdate.getEmail(), version, userToUpdate.getId()) > 0;
+        } catch (DuplicateKeyException e) {
+            throw new UniqueConstraintViolationException(UserData.EMAIL_INDEX, userToUpdate.getEmail());
+        }
+    }
+
+    /**
+     * Repeated ids keep their last row, as if the batch had been applied one row at a time. Updated rows drop their
+     * email first, so the unique index only sees the emails the whole batch leaves behind and rows may swap them.
+     */
+    @Override
+    @Transactional
+    public Map<Long, WriteStatus> upsertAll(List<User> usersToUpsert) {
+        var version = dataVersions.next(TABLE);
+        var lastRows = new LinkedHashMap<Long, User>();
+        usersToUpsert.forEach(user -> lastRows.put(user.getId(), user));
+        var existing = findExistingIds(lastRows.keySet());
+
+        var statuses = new LinkedHashMap<Long, WriteStatus>();
+        var inserts = new ArrayList<User>();
+        var updates = new ArrayList<User>();
+        lastRows.forEach((id, user) -> {
+            var exists = existing.contains(id);
+            statuses.put(id, exists ? WriteStatus.UPDATED : WriteStatus.CREATED);
+            (exists ? updates : inserts).add(user);
+        });
+
+        try {
+            jdbcTemplate.batchUpdate("UPDATE users SET email = NULL WHERE id = ?", updates, BATCH_SIZE,
+                    (statement, user) -> statement.setLong(1, user.getId()));
+            jdbcTemplate.batchUpdate(UPDATE, updates, BATCH_SIZE, (statement, user) -> {
+                statement.setString(1, user.getFirstName());
+                statement.setString(2, user.getLastName());
+                statement.setString(3, user.getEmail());
+                statement.setLong(4, version);
+                statement.setLong(5, user.getId());
+            });
+            jdbcTemplate.batchUpdate(INSERT, inserts, BATCH_SIZE, (statement, user) -> {
+                statement.setLong(1, user.getId());
+                statement.setString(2, user.getFirstName());
+                statement.setString(3, user.getLastName());
+                statement.setString(4, user.getEmail());
+                statement.setLong(5, version);
+            });
+        } catch (DuplicateKeyException e) {
+            throw new UniqueConstraintViolationException(UserData.EMAIL_INDEX, e);
+        }
+        return statuses;
+    }
+
+    @Override
+    @Transactional
+    public Map<Long, WriteStatus> deleteAllById(Collection<Long> ids) {
+        dataVersions.next(TABLE);
+        var distinctIds = new LinkedHashSet<>(ids);
+        var existing = findExistingIds(distinctIds);
+
+        var statuses = new LinkedHashMap<Long, WriteStatus>();
+        distinctIds.forEach(id -> statuses.put(id, existing.contains(id) ? WriteStatus.DELETED : WriteStatus.NOT_FOUND));
+        jdbcTemplate.batchUpdate("DELETE FROM users WHERE id = ?", List.copyOf(existing), BATCH_SIZE,
+                (statement, id) -> statement.setLong(1, id));
+        return statuses;
+    }
+
+    private static String[] rowTerms(User user) {
+        return Stream.of(user.getFirstName(), user.getLastName(), user.getEmail())
+                .filter(Objects::nonNull)
+                .flatMap(text -> Stream.of(TrigramIndex.terms(text)))
+                .toArray(String[]::new);
+    }
+
+    private Set<Long> findExistingIds(Collection<Long> ids) {
+        var existing = new HashSet<Long>();
+        var chunk = new ArrayList<Long>(BATCH_SIZE);
+        for (var id : ids) {
+            chunk.add(id);
+            if (chunk.size() == BATCH_SIZE) {
+                existing.addAll(selectIds(chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) existing.addAll(selectIds(chunk));
+        return existing;
+    }
+
+    private List<Long> selectIds(List<Long> ids) {
+        var placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        return jdbcTemplate.queryForList("SELECT id FROM users WHERE id IN (" + placeholders + ")", Long.class, ids.toArray());
+    }
+}
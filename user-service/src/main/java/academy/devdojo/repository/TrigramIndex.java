@@ -0,0 +1,354 @@
+package academy.devdojo.repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Typo-tolerant index over one or more String attributes, answering {@link #search(String, int)} with the ids of
+ * the rows that have a term within a few edits of every query term, fewest edits first, then by id.
+ * <p>
+ * Text is accent-folded, lower-cased and split into terms on anything that is not a letter or a digit, so an email
+ * contributes its local part and domain labels as terms of their own. A query term tolerates
+ * {@link #maxDistance(String)} edits: none up to two characters, one up to five and two beyond. Distinct terms are
+ * indexed by their trigrams, the term padded with two {@code $} on each side, and by their length. Each edit
+ * breaks at most three trigrams, so a term within {@code k} edits shares all but {@code 3k} of the query term's
+ * trigrams and has to appear under at least one of the {@code 3k + 1} rarest of them, among the terms at most
+ * {@code k} characters longer or shorter; only those get their Levenshtein distance computed, and at most
+ * {@link #MAX_CANDIDATE_TERMS} of them.
+ * <p>
+ * Rows are then walked from the matched terms of the query term with the fewest rows, closest terms first, each
+ * scored by the sum of the edits of its closest term per query term. The walk stops as soon as no row left can
+ * beat the ones it has, or after {@link #MAX_CANDIDATES} rows, so among rows with the same distance the first ones
+ * met win, and the cost is bounded by the results and not by how many users there are.
+ */
+public class TrigramIndex<T> implements SearchIndex<T> {
+    static final int MAX_CANDIDATES = 10_000;
+    static final int MAX_CANDIDATE_TERMS = 10_000;
+    private static final int GRAM_LENGTH = 3;
+    private static final int MAX_TERM_LENGTH = 32;
+    private static final String PADDING = "$$";
+    private static final Pattern TERM_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final String[] NO_TERMS = new String[0];
+    private static final Comparator<Match> WORST_FIRST = Comparator.comparingInt(Match::distance)
+            .thenComparingLong(Match::id)
+            .reversed();
+
+    private final ConcurrentHashMap<String, GramTerms> termsByGram = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<Long>> idsByTerm = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, String[]> termsById = new ConcurrentHashMap<>();
+    private final List<Function<T, String>> textExtractors;
+
+    public TrigramIndex(List<Function<T, String>> textExtractors) {
+        this.textExtractors = List.copyOf(textExtractors);
+    }
+
+    @Override
+    public List<Long> search(String query, int limit) {
+        var queryTerms = query == null ? NO_TERMS : terms(query);
+        if (queryTerms.length == 0 || limit <= 0) return List.of();
+
+        var matches = new ArrayList<Map<String, Integer>>(queryTerms.length);
+        var driver = 0;
+        var driverRows = Long.MAX_VALUE;
+        var otherMinimum = 0;
+        for (int i = 0; i < queryTerms.length; i++) {
+            var termMatches = matchTerms(queryTerms[i]);
+            if (termMatches.isEmpty()) return List.of();
+            matches.add(termMatches);
+            otherMinimum += minimum(termMatches);
+            var rows = termMatches.keySet().stream().mapToLong(this::rowCount).sum();
+            if (rows < driverRows) {
+                driver = i;
+                driverRows = rows;
+            }
+        }
+        otherMinimum -= minimum(matches.get(driver));
+
+        var driverTerms = new ArrayList<>(matches.get(driver).entrySet());
+        driverTerms.sort(Map.Entry.comparingByValue());
+        var top = new PriorityQueue<Match>(limit + 1, WORST_FIRST);
+        var seen = new HashSet<Long>();
+        for (var driverTerm : driverTerms) {
+            var bound = driverTerm.getValue() + otherMinimum;
+            if (cannotBeat(top, limit, bound)) break;
+            var ids = idsByTerm.get(driverTerm.getKey());
+            if (ids == null) continue;
+            for (var id : ids) {
+                if (cannotBeat(top, limit, bound)) break;
+                if (!seen.add(id)) continue;
+                if (seen.size() > MAX_CANDIDATES) return ranked(top);
+                var distance = distance(matches, termsById.get(id));
+                if (distance < 0 || cannotBeat(top, limit, distance)) continue;
+
+                top.offer(new Match(id, distance));
+                if (top.size() > limit) top.poll();
+            }
+        }
+        return ranked(top);
+    }
+
+    @Override
+    public void put(Long id, T row) {
+        var rowTerms = rowTerms(row);
+        var previousTerms = rowTerms.length == 0 ? termsById.remove(id) : termsById.put(id, rowTerms);
+        var previous = previousTerms == null ? Set.<String>of() : Set.of(previousTerms);
+        var current = Set.of(rowTerms);
+
+        for (var term : previous) {
+            if (!current.contains(term)) removeTerm(term, id);
+        }
+        for (var term : current) {
+            if (!previous.contains(term)) addTerm(term, id);
+        }
+    }
+
+    @Override
+    public void remove(Long id) {
+        var previousTerms = termsById.remove(id);
+        if (previousTerms == null) return;
+        for (var term : previousTerms) removeTerm(term, id);
+    }
+
+    public int termCount() {
+        return idsByTerm.size();
+    }
+
+    /**
+     * Distinct folded terms of {@code text}, in the order they first appear.
+     */
+    static String[] terms(String text) {
+        var folded = TextFolding.fold(text);
+        var terms = new LinkedHashSet<String>();
+        for (var term : TERM_SEPARATORS.split(folded)) {
+            if (!term.isEmpty()) terms.add(term);
+        }
+        return terms.toArray(NO_TERMS);
+    }
+
+    static int maxDistance(String term) {
+        if (term.length() <= 2) return 0;
+        return term.length() <= 5 ? 1 : 2;
+    }
+
+    /**
+     * Levenshtein distance between {@code left} and {@code right}, or {@code max + 1} as soon as every cell of a row
+     * is larger than {@code max}.
+     */
+    static int editDistance(String left, String right, int max) {
+        if (Math.abs(left.length() - right.length()) > max) return max + 1;
+        var previous = new int[right.length() + 1];
+        var current = new int[right.length() + 1];
+        for (int j = 0; j <= right.length(); j++) previous[j] = j;
+
+        for (int i = 1; i <= left.length(); i++) {
+            current[0] = i;
+            var rowMinimum = i;
+            for (int j = 1; j <= right.length(); j++) {
+                var substitution = previous[j - 1] + (left.charAt(i - 1) == right.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > max) return max + 1;
+            var swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[right.length()], max + 1);
+    }
+
+    /**
+     * Sum of the edits of the closest of {@code rowTerms} per query term, or -1 when a query term is further than
+     * {@link #maxDistance(String)} from all of them.
+     */
+    static int editDistance(String[] queryTerms, String[] rowTerms) {
+        var distance = 0;
+        for (var queryTerm : queryTerms) {
+            var max = maxDistance(queryTerm);
+            var closest = max + 1;
+            for (var rowTerm : rowTerms) closest = Math.min(closest, editDistance(queryTerm, rowTerm, max));
+            if (closest > max) return -1;
+            distance += closest;
+        }
+        return distance;
+    }
+
+    /**
+     * Indexed terms within {@link #maxDistance(String)} edits of {@code queryTerm}, with their distance.
+     */
+    private Map<String, Integer> matchTerms(String queryTerm) {
+        var max = maxDistance(queryTerm);
+        var matches = new HashMap<String, Integer>();
+        if (max == 0) {
+            if (idsByTerm.containsKey(queryTerm)) matches.put(queryTerm, 0);
+            return matches;
+        }
+
+        var shortest = bucket(queryTerm.length() - max);
+        var longest = bucket(queryTerm.length() + max);
+        var grams = new ArrayList<>(grams(queryTerm));
+        grams.sort(Comparator.comparingInt(gram -> termCount(gram, shortest, longest)));
+        var checked = new HashSet<String>();
+        for (var gram : grams.subList(0, Math.min(grams.size(), GRAM_LENGTH * max + 1))) {
+            var gramTerms = termsByGram.get(gram);
+            if (gramTerms == null) continue;
+            for (int length = shortest; length <= longest; length++) {
+                var terms = gramTerms.terms(length);
+                if (terms == null) continue;
+                for (var term : terms) {
+                    if (!checked.add(term)) continue;
+                    if (checked.size() > MAX_CANDIDATE_TERMS) return matches;
+                    var distance = editDistance(queryTerm, term, max);
+                    if (distance <= max) matches.put(term, distance);
+                }
+            }
+        }
+        return matches;
+    }
+
+    private static Set<String> grams(String term) {
+        var padded = PADDING + term + PADDING;
+        var grams = new LinkedHashSet<String>();
+        for (int i = 0; i + GRAM_LENGTH <= padded.length(); i++) grams.add(padded.substring(i, i + GRAM_LENGTH));
+        return grams;
+    }
+
+    /**
+     * Length bucket of a term of {@code length} characters, the last one holding every term of
+     * {@link #MAX_TERM_LENGTH} or more.
+     */
+    private static int bucket(int length) {
+        return Math.min(length, MAX_TERM_LENGTH);
+    }
+
+    private int termCount(String gram, int shortest, int longest) {
+        var gramTerms = termsByGram.get(gram);
+        if (gramTerms == null) return 0;
+        var count = 0;
+        for (int length = shortest; length <= longest; length++) {
+            var terms = gramTerms.terms(length);
+            if (terms != null) count += terms.size();
+        }
+        return count;
+    }
+
+    private long rowCount(String term) {
+        var ids = idsByTerm.get(term);
+        return ids == null ? 0 : ids.size();
+    }
+
+    /**
+     * Sum of the edits of the closest row term per query term, or -1 when a query term matches none of them.
+     */
+    private static int distance(List<Map<String, Integer>> matches, String[] rowTerms) {
+        if (rowTerms == null) return -1;
+        var distance = 0;
+        for (var termMatches : matches) {
+            var closest = Integer.MAX_VALUE;
+            for (var rowTerm : rowTerms) {
+                var termDistance = termMatches.get(rowTerm);
+                if (termDistance != null) closest = Math.min(closest, termDistance);
+            }
+            if (closest == Integer.MAX_VALUE) return -1;
+            distance += closest;
+        }
+        return distance;
+    }
+
+    private static int minimum(Map<String, Integer> termMatches) {
+        return termMatches.values().stream().mapToInt(Integer::intValue).min().orElse(0);
+    }
+
+    private static boolean cannotBeat(PriorityQueue<Match> top, int limit, int distance) {
+        return top.size() == limit && top.peek().distance() <= distance;
+    }
+
+    private static List<Long> ranked(PriorityQueue<Match> top) {
+        var ranked = new ArrayList<Long>(top.size());
+        while (!top.isEmpty()) ranked.add(top.poll().id());
+        return ranked.reversed();
+    }
+
+    private String[] rowTerms(T row) {
+        var terms = new LinkedHashSet<String>();
+        for (var textExtractor : textExtractors) {
+            var text = textExtractor.apply(row);
+            if (text != null) terms.addAll(List.of(terms(text)));
+        }
+        return terms.toArray(NO_TERMS);
+    }
+
+    private void addTerm(String term, Long id) {
+        idsByTerm.compute(term, (key, ids) -> {
+            var updated = ids;
+            if (updated == null) {
+                updated = ConcurrentHashMap.newKeySet();
+                for (var gram : grams(key)) {
+                    termsByGram.compute(gram, (ignored, gramTerms) -> {
+                        var updatedTerms = gramTerms == null ? new GramTerms() : gramTerms;
+                        updatedTerms.add(key);
+                        return updatedTerms;
+                    });
+                }
+            }
+            updated.add(id);
+            return updated;
+        });
+    }
+
+    private void removeTerm(String term, Long id) {
+        idsByTerm.computeIfPresent(term, (key, ids) -> {
+            ids.remove(id);
+            if (!ids.isEmpty()) return ids;
+            for (var gram : grams(key)) {
+                termsByGram.computeIfPresent(gram, (ignored, gramTerms) -> gramTerms.remove(key) ? null : gramTerms);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Terms of one trigram bucketed by length, the last bucket holding every longer term. Only changed inside
+     * {@link ConcurrentHashMap#compute} for the trigram.
+     */
+    private static final class GramTerms {
+        private final AtomicReferenceArray<Set<String>> termsByLength = new AtomicReferenceArray<>(MAX_TERM_LENGTH + 1);
+        private int size;
+
+        Set<String> terms(int length) {
+            return termsByLength.get(length);
+        }
+
+        void add(String term) {
+            var bucket = bucket(term.length());
+            var terms = termsByLength.get(bucket);
+            if (terms == null) {
+                terms = ConcurrentHashMap.newKeySet();
+                termsByLength.set(bucket, terms);
+            }
+            if (terms.add(term)) size++;
+        }
+
+        /**
+         * Returns whether the trigram has no terms left.
+         */
+        boolean remove(String term) {
+            var terms = termsByLength.get(bucket(term.length()));
+            if (terms != null && terms.remove(term)) size--;
+            return size == 0;
+        }
+    }
+
+    private record Match(long id, int distance) {
+    }
+}
@@ -4,20 +4,32 @@ import academy.devdojo.domain.User;
 import lombok.Getter;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
 import java.util.List;
 
 @Component
 public class UserData {
+    public static final String FIRST_NAME_INDEX = "firstName";
+    public static final String LAST_NAME_INDEX = "lastName";
+    public static final String EMAIL_INDEX = "email";
+    public static final String SEARCH_INDEX = "search";
+
     @Getter
-    private final List<User> userList = new ArrayList<>();
+    private final IndexedStore<User> userStore = newUserStore();
 
     {
         User user1 = User.builder().id(1L).firstName("Marcelo").lastName("Sem dente").email("marcelosemdente@example.com").build();
         User user2 = User.builder().id(2L).firstName("William").lastName("Suane").email("williamsuane@example.com").build();
         User user3 = User.builder().id(3L).firstName("Rezende").lastName("Evil").email("rezendeevil@example.com").build();
-        userList.addAll(List.of(user1, user2, user3));
+        List.of(user1, user2, user3).forEach(userStore::save);
     }
 
+    public static IndexedStore<User> newUserStore() {
+        var userStore = new IndexedStore<>(User::getId);
+        userStore.addIndex(FIRST_NAME_INDEX, User::getFirstName);
+        userStore.addIndex(LAST_NAME_INDEX, User::getLastName);
+        userStore.addUniqueIndex(EMAIL_INDEX, User::getEmail);
+        userStore.addSearchIndex(SEARCH_INDEX, new TrigramIndex<>(List.of(User::getFirstName, User::getLastName, User::getEmail)));
+        return userStore;
+    }
 
 }
@@ -2,49 +2,81 @@ package academy.devdojo.repository;
 
 import academy.devdojo.domain.User;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
+@Profile("!jdbc")
 @RequiredArgsConstructor
-public class UserHardCodedRepository {
+public class UserHardCodedRepository implements UserRepository {
     private final UserData userData;
 
+    @Override
     public List<User> findAll() {
-        return userData.getUserList();
+        return userData.getUserStore().findAll();
     }
 
+    @Override
     public List<User> findByName(String firstName, String lastName) {
-        return userData.getUserList().stream()
-                .filter(user -> user.getFirstName().equalsIgnoreCase(firstName) || user.getLastName().equalsIgnoreCase(lastName))
-                .toList();
+        var userStore = userData.getUserStore();
+        var ids = new HashSet<>(userStore.findIds(UserData.FIRST_NAME_INDEX, firstName));
+        ids.addAll(userStore.findIds(UserData.LAST_NAME_INDEX, lastName));
+        return userStore.findAllById(ids);
     }
 
+    @Override
     public List<User> findByEmail(String email) {
-        return userData.getUserList().stream()
-                .filter(user -> user.getEmail().equalsIgnoreCase(email))
-                .toList();
+        return userData.getUserStore().findByIndex(UserData.EMAIL_INDEX, email);
     }
 
+    @Override
+    public List<User> search(String query, int limit) {
+        return userData.getUserStore().search(UserData.SEARCH_INDEX, query, limit);
+    }
+
+    @Override
     public Optional<User> findById(Long id) {
-        return userData.getUserList().stream()
-                .filter(user -> user.getId().equals(id))
-                .findFirst();
+        return userData.getUserStore().findById(id);
+    }
+
+    @Override
+    public Optional<Long> findVersion(Long id) {
+        return userData.getUserStore().findVersion(id);
+    }
+
+    @Override
+    public long version() {
+        return userData.getUserStore().version();
     }
 
+    @Override
     public User save(User user) {
-        userData.getUserList().add(user);
-        return user;
+        return userData.getUserStore().save(user);
     }
 
+    @Override
     public void delete(User userToDelete) {
-        userData.getUserList().remove(userToDelete);
+        userData.getUserStore().delete(userToDelete);
+    }
+
+    @Override
+    public boolean update(User userToUpdate) {
+        return userData.getUserStore().update(userToUpdate);
+    }
+
+    @Override
+    public Map<Long, WriteStatus> upsertAll(List<User> usersToUpsert) {
+        return userData.getUserStore().upsertAll(usersToUpsert);
     }
 
-    public void update(User userToUpdate) {
-        delete(userToUpdate);
-        userData.getUserList().add(userToUpdate);
+    @Override
+    public Map<Long, WriteStatus> deleteAllById(Collection<Long> ids) {
+        return userData.getUserStore().deleteAllById(ids);
     }
 }
@@ -0,0 +1,55 @@
+package academy.devdojo.repository;
+
+import academy.devdojo.domain.User;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface UserRepository {
+
+    List<User> findAll();
+
+    /**
+     * Users whose first name or last name matches, ignoring case.
+     */
+    List<User> findByName(String firstName, String lastName);
+
+    List<User> findByEmail(String email);
+
+    /**
+     * Users with a first name, last name or email term within a few typos of every term of {@code query}, fewest
+     * typos first.
+     */
+    List<User> search(String query, int limit);
+
+    Optional<User> findById(Long id);
+
+    Optional<Long> findVersion(Long id);
+
+    long version();
+
+    /**
+     * @throws UniqueConstraintViolationException when the email is already in use
+     */
+    User save(User user);
+
+    void delete(User userToDelete);
+
+    /**
+     * @return false when there is no user with that id
+     * @throws UniqueConstraintViolationException when the email is already in use
+     */
+    boolean update(User userToUpdate);
+
+    /**
+     * Applies the whole batch or nothing, checking emails against the rows the batch leaves behind, so users may swap
+     * emails. Concurrent readers may see the batch half-applied.
+     *
+     * @throws UniqueConstraintViolationException when an email is already in use
+     */
+    Map<Long, WriteStatus> upsertAll(List<User> usersToUpsert);
+
+    Map<Long, WriteStatus> deleteAllById(Collection<Long> ids);
+}
@@ -0,0 +1,29 @@
+package academy.devdojo.repository;
+
+import academy.devdojo.domain.User;
+import academy.devdojo.wal.RowCodec;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public class UserRowCodec implements RowCodec<User> {
+
+    @Override
+    public void write(User user, DataOutput out) throws IOException {
+        out.writeLong(user.getId());
+        RowCodec.writeString(out, user.getFirstName());
+        RowCodec.writeString(out, user.getLastName());
+        RowCodec.writeString(out, user.getEmail());
+    }
+
+    @Override
+    public User read(ByteBuffer in) {
+        return User.builder()
+                .id(in.getLong())
+                .firstName(RowCodec.readString(in))
+                .lastName(RowCodec.readString(in))
+                .email(RowCodec.readString(in))
+                .build();
+    }
+}
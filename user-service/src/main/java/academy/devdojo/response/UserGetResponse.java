@@ -1,12 +1,16 @@
 package academy.devdojo.response;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.Builder;
 import lombok.Data;
 
 @Data
 @Builder
-
 public class UserGetResponse {
+    /**
+     * Snowflake ids exceed 2^53, which JavaScript numbers cannot hold exactly.
+     */
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
     private Long id;
     private String firstName;
     private String lastName;
@@ -1,7 +1,10 @@
 package academy.devdojo.service;
 
 import academy.devdojo.domain.User;
-import academy.devdojo.repository.UserHardCodedRepository;
+import academy.devdojo.exception.NotFoundException;
+import academy.devdojo.repository.UniqueConstraintViolationException;
+import academy.devdojo.repository.UserRepository;
+import academy.devdojo.repository.WriteStatus;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.lang.Nullable;
@@ -9,11 +12,17 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
-    public final UserHardCodedRepository repository;
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    public static final int MAX_SEARCH_LIMIT = 100;
+
+    public final UserRepository repository;
 
     public List<User> findAll(@Nullable String firstName, @Nullable String lastName, @Nullable String email) {
         if (firstName != null || lastName != null) return repository.findByName(firstName, lastName);
@@ -21,12 +30,28 @@ public class UserService {
         return repository.findAll();
     }
 
+    public List<User> search(String query, Integer limit) {
+        return repository.search(query, Math.clamp(limit == null ? DEFAULT_SEARCH_LIMIT : limit, 1, MAX_SEARCH_LIMIT));
+    }
+
     public User findByIdOrElseThrowResponseStatusException(Long id) {
-        return repository.findById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        return repository.findById(id).orElseThrow(() -> new NotFoundException("User not found"));
+    }
+
+    public Optional<Long> findVersion(Long id) {
+        return repository.findVersion(id);
+    }
+
+    public long version() {
+        return repository.version();
     }
 
     public User save(User user) {
-        return repository.save(user);
+        try {
+            return repository.save(user);
+        } catch (UniqueConstraintViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Email already in use");
+        }
     }
 
     public void delete(Long id) {
@@ -35,8 +60,29 @@ public class UserService {
     }
 
     public void update(User userToUpdate) {
-        User foundUser = findByIdOrElseThrowResponseStatusException(userToUpdate.getId());
-        repository.update(userToUpdate);
+        boolean updated;
+        try {
+            updated = repository.update(userToUpdate);
+        } catch (UniqueConstraintViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Email already in use");
+        }
+        if (!updated) throw new NotFoundException("User not found");
+    }
+
+    public Map<Long, WriteStatus> upsertAll(List<User> usersToUpsert) {
+        if (usersToUpsert.stream().anyMatch(user -> user.getId() == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Every user in the batch needs an id");
+        }
+        try {
+            return repository.upsertAll(usersToUpsert);
+        } catch (UniqueConstraintViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Email already in use");
+        }
+    }
+
+    public Map<Long, WriteStatus> deleteAllById(List<Long> ids) {
+        if (ids.stream().anyMatch(Objects::isNull)) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Ids must not be null");
+        return repository.deleteAllById(ids);
     }
 
 }
@@ -0,0 +1,30 @@
+CREATE TABLE IF NOT EXISTS data_versions
+(
+    name    VARCHAR(64) PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+INSERT INTO data_versions (name, version)
+SELECT 'users', 0 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM data_versions WHERE name = 'users');
+
+CREATE TABLE IF NOT EXISTS users
+(
+    id             BIGINT PRIMARY KEY,
+    first_name     VARCHAR(255),
+    last_name      VARCHAR(255),
+    email          VARCHAR(255),
+    first_name_key VARCHAR(255) GENERATED ALWAYS AS (LOWER(first_name)),
+    last_name_key  VARCHAR(255) GENERATED ALWAYS AS (LOWER(last_name)),
+    email_key      VARCHAR(255) GENERATED ALWAYS AS (LOWER(email)),
+    version        BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS users_first_name_key ON users (first_name_key);
+CREATE INDEX IF NOT EXISTS users_last_name_key ON users (last_name_key);
+CREATE UNIQUE INDEX IF NOT EXISTS users_email_key ON users (email_key);
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS first_name_sound VARCHAR(4) GENERATED ALWAYS AS (SOUNDEX(first_name));
+ALTER TABLE users ADD COLUMN IF NOT EXISTS last_name_sound VARCHAR(4) GENERATED ALWAYS AS (SOUNDEX(last_name));
+
+CREATE INDEX IF NOT EXISTS users_first_name_sound ON users (first_name_sound);
+CREATE INDEX IF NOT EXISTS users_last_name_sound ON users (last_name_sound);
@@ -1,6 +1,8 @@
 package academy.devdojo.commons;
 
 import academy.devdojo.domain.User;
+import academy.devdojo.repository.IndexedStore;
+import academy.devdojo.repository.UserData;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -15,6 +17,12 @@ public class UserUtils {
         return new ArrayList<>(List.of(user1, user2, user3));
     }
 
+    public IndexedStore<User> newUserStore(List<User> users) {
+        var userStore = UserData.newUserStore();
+        users.forEach(userStore::save);
+        return userStore;
+    }
+
     public User newUserToCreate(){
         return User.builder().id(99L).firstName("Weaver").lastName("Daemon").email("weaverdaemon@example.com").build();
     }
@@ -5,15 +5,18 @@ import academy.devdojo.commons.UserUtils;
 import academy.devdojo.domain.User;
 import academy.devdojo.repository.UserData;
 import academy.devdojo.repository.UserHardCodedRepository;
+import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.*;
 import org.mockito.ArgumentMatchers;
 import org.mockito.BDDMockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.json.JsonCompareMode;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
@@ -55,7 +58,7 @@ class UserControllerTest {
     @DisplayName("GET v1/users returns a list with all users when all arguments are null")
     @Order(1)
     void findAll_ReturnsAllUsers_WhenAllArgumentsAreNull() throws Exception {
-        BDDMockito.when(userData.getUserList()).thenReturn(userList);
+        BDDMockito.when(userData.getUserStore()).thenReturn(userUtils.newUserStore(userList));
         var response = fileUtils.readSourceFile("users/get-users-200.json");
         mockMvc.perform(MockMvcRequestBuilders.get(URL))
                 .andDo(MockMvcResultHandlers.print())
@@ -68,7 +71,7 @@ class UserControllerTest {
     @Order(2)
     void findAll_returnsFoundUser_whenFirstNameExists() throws Exception {
         var firstName = userList.getFirst().getFirstName();
-        BDDMockito.when(userData.getUserList()).thenReturn(userList);
+        BDDMockito.when(userData.getUserStore()).thenReturn(userUtils.newUserStore(userList));
         var response = fileUtils.readSourceFile("users/get-users-firstName-sunless-200.json");
         mockMvc.perform(MockMvcRequestBuilders.get(URL).param("firstName", firstName))
                 .andDo(MockMvcResultHandlers.print())
@@ -81,7 +84,7 @@ class UserControllerTest {
     @DisplayName("GET v1/users?firstName=not-found returns empty list when firstName is not found")
     void findAll_returnsEmptyList_whenFirstNameIsNotFound() throws Exception {
         var firstName = "not-found";
-        BDDMockito.when(userData.getUserList()).thenReturn(userList);
+        BDDMockito.when(userData.getUserStore()).thenReturn(userUtils.newUserStore(userList));
         var response = fileUtils.readSourceFile("users/get-users-firstName-notFound-x-200.json");
         mockMvc.perform(MockMvcRequestBuilders.get(URL).param("firstName", firstName))
                 .andDo(MockMvcResultHandlers.print())
@@ -94,7 +97,7 @@ class UserControllerTest {
     @DisplayName("GET v1/users?lastName=Shadow returns a list with found user when lastName exists")
     void findAll_returnsFoundUser_whenLastNameExists() throws Exception{
         String lastName = userList.getFirst().getLastName();
-        BDDMockito.when(userData.getUserList()).thenReturn(userList);
+        BDDMockito.when(userData.getUserStore()).thenReturn(userUtils.newUserStore(userList));
         String response = fileUtils.readSourceFile("users/get-users-lastName-shadow-200.json");
         mockMvc.perform(MockMvcRequestBuilders.get(URL).param("lastName", lastName))
                 .andDo(MockMvcResultHandlers.print())
@@ -107,7 +110,7 @@ class UserControllerTest {
     @DisplayName("GET v1/users?lastName=not-found returns empty list when lastName is not found")
     void findAll_ReturnsEmptyList_WhenLastNameNotFound() throws Exception {
         String lastName = "not-found";
-        BDDMockito.when(userData.getUserList()).thenReturn(userList);
+        BDDMockito.when(userData.getUserStore()).thenReturn(userUtils.newUserStore(userList));
         String response = fileUtils.readSourceFile("users/get-users-lastName-notFound-x-200.json");
         mockMvc.perform(MockMvcRequestBuilders.get(URL).param("lastName", lastName))
                 .andDo(MockMvcResultHandlers.print())
@@ -119,7 +122,7 @@ class UserControllerTest {
     @Order(6)
     @DisplayName("GET v1/users?firstName=Sunless&lastName=Shadow returns a list with found user when firstname and lastName exists")
     void findAll_returnsFoundUser_whenFirstNameAndLastNameExists() throws Exception {
-        BDDMockito.when(userData.getUserList()).thenReturn(userList);
+        BDDMockito.when(userData.getUserStore()).thenReturn(userUtils.newUserStore(userList));
         User expectedUser = userList.getFirst();
         String firstName = expectedUser.getFirstName();
         String lastName = expectedUser.getLastName();
@@ -135,7 +138,7 @@ class UserControllerTest {
     @Order(7)
     @DisplayName("GET v1/users?firstName=not-found&lastName=not-found returns a empty list when firstName and lastName are not found")
     void findAll_returnsEmptyList_whenFirstNameAndLastNameAreNotFound() throws Exception {
-        BDDMockito.when(userData.getUserList()).thenReturn(Collections.emptyList());
+        BDDMockito.when(userData.getUserStore()).thenReturn(userUtils.newUserStore(Collections.emptyList()));
         String firstName = "not-found";
         String lastName = "not-found";
         String response = fileUtils.readSourceFile("users/get-users-firstName-notFound-lastName-notFound-200.json");
@@ -151,7 +154,7 @@ class UserControllerTest {
     @DisplayName("GET v1/users?email=shadowslave@example.com returns found user when email exists")
     void findAll_returnsFoundUser_whenEmailExists() throws Exception {
         User expectedUser = userList.getFirst();
-        BDDMockito.when(userData.getUserList()).thenReturn(Collections.singletonList(expectedUser));
+        BDDMockito.when(userData.getUserStore()).thenReturn(userUtils.newUserStore(Collections.singletonList(expectedUser)));
         String email = expectedUser.getEmail();
         String response = fileUtils.readSourceFile("users/get-users-email-shadowslave@example.com-200.json");
         mockMvc.perform(MockMvcRequestBuilders.get(URL).param("email", email))
@@ -164,7 +167,7 @@ class UserControllerTest {
     @Order(9)
     @DisplayName("GET v1/users?email=not-found returns empty list when email is not found")
     void findAll_returnsEmptyList_whenEmailIsNotFound() throws Exception {
-        BDDMockito.when(userData.getUserList()).thenReturn(userList);
+        BDDMockito.when(userData.getUserStore()).thenReturn(userUtils.newUserStore(userList));
         String notFound = "not-found";
         String response = fileUtils.readSourceFile("users/get-users-email-notfound-200.json");
         mockMvc.perform(MockMvcRequestBuilders.get(URL).param("email", notFound))
@@ -178,7 +181,7 @@ class UserControllerTest {
     @DisplayName("GET v1/users?firstName=Sunless&lastName=Shadow&email=shadowslave@example.com returns foundUser when firstName, lastName and email exists")
     void findAll_returnsFoundUser_WhenFirstNameLastNameAndEmailExists() throws Exception {
         User expectedUser = userList.getFirst();
-        BDDMockito.when(userData.getUserList()).thenReturn(Collections.singletonList(expectedUser));
+        BDDMockito.when(userData.getUserStore()).thenReturn(userUtils.newUserStore(Collections.singletonList(expectedUser)));
         String response = fileUtils.readSourceFile("users/get-users-firstname-sunless-lastname-shadow-email-shadowslave@example.com-200.json");
         String firstName = expectedUser.getFirstName();
         String lastName = expectedUser.getLastName();
@@ -194,7 +197,7 @@ class UserControllerTest {
     @Order(11)
     @DisplayName("GET v1/users?firstName=not-found&lastName=not-found&email=not-found returns empty list when firstName, lastName and email are not found")
     void findAll_returnsEmptyList_WhenFirstNameLastNameAndEmailAreNotFound() throws Exception {
-        BDDMockito.when(userData.getUserList()).thenReturn(Collections.emptyList());
+        BDDMockito.when(userData.getUserStore()).thenReturn(userUtils.newUserStore(Collections.emptyList()));
         String response = fileUtils.readSourceFile("users/get-users-firstName-notFound-lastName-notFound-200.json");
         String firstName = "not-found";
         String lastName = "not-found";
@@ -210,7 +213,7 @@ class UserControllerTest {
     @Order(12)
     @DisplayName("GET v1/users/1 returns user when successful")
     void findById_returnsUserWhenSuccessful() throws Exception {
-        BDDMockito.when(userData.getUserList()).thenReturn(userList);
+        BDDMockito.when(userData.getUserStore()).thenReturn(userUtils.newUserStore(userList));
         Long expectedId = userList.getFirst().getId();
         String response = fileUtils.readSourceFile("users/get-users-by-id-1-200.json");
         mockMvc.perform(MockMvcRequestBuilders.get(URL + "/{id}", expectedId))
@@ -223,12 +226,13 @@ class UserControllerTest {
     @Order(13)
     @DisplayName("GET v1/users/99 throws ResponseStatusException 404 when user is not found")
     void findById_throwsResponseStatusException_WhenAnimeIsNotFound() throws Exception {
-        BDDMockito.when(userData.getUserList()).thenReturn(userList);
+        BDDMockito.when(userData.getUserStore()).thenReturn(userUtils.newUserStore(userList));
         Long expectedId = 99L;
+        var response = fileUtils.readSourceFile("users/get-users-by-id-99-404.json");
         mockMvc.perform(MockMvcRequestBuilders.get(URL + "/{id}", expectedId))
                 .andDo(MockMvcResultHandlers.print())
                 .andExpect(MockMvcResultMatchers.status().isNotFound())
-                .andExpect(MockMvcResultMatchers.status().reason("User not found"));
+                .andExpect(MockMvcResultMatchers.content().json(response));
     }
 
     @Test
@@ -239,7 +243,7 @@ class UserControllerTest {
         String response = fileUtils.readSourceFile("users/post-response-user-201.json");
 
         User userToSave = userUtils.newUserToCreate();
-        BDDMockito.when(repository.save(ArgumentMatchers.any())).thenReturn(userToSave);
+        BDDMockito.doReturn(userToSave).when(repository).save(ArgumentMatchers.any());
 
         mockMvc.perform(MockMvcRequestBuilders
                         .post(URL)
@@ -256,7 +260,7 @@ class UserControllerTest {
     @Order(15)
     @DisplayName("DELETE v1/users/1 deletes an user when user exists")
     void delete_deletesAnUser_whenUserExists() throws Exception {
-        BDDMockito.when(userData.getUserList()).thenReturn(userList);
+        BDDMockito.when(userData.getUserStore()).thenReturn(userUtils.newUserStore(userList));
         Long userIdToDelete = userList.getFirst().getId();
         mockMvc.perform(MockMvcRequestBuilders.delete(URL + "/{id}", userIdToDelete))
                 .andDo(MockMvcResultHandlers.print())
@@ -267,19 +271,20 @@ class UserControllerTest {
     @Order(16)
     @DisplayName("DELETE v1/users/1 throws ResponseStatusException 404 when user is not found")
     void delete_throwsResponseStatusException_whenUserIsNotFound() throws Exception {
-        BDDMockito.when(userData.getUserList()).thenReturn(userList);
+        BDDMockito.when(userData.getUserStore()).thenReturn(userUtils.newUserStore(userList));
         Long userIdToDelete = 99L;
+        var response = fileUtils.readSourceFile("users/get-users-by-id-99-404.json");
         mockMvc.perform(MockMvcRequestBuilders.delete(URL + "/{id}", userIdToDelete))
                 .andDo(MockMvcResultHandlers.print())
                 .andExpect(MockMvcResultMatchers.status().isNotFound())
-                .andExpect(MockMvcResultMatchers.status().reason("User not found"));
+                .andExpect(MockMvcResultMatchers.content().json(response));
     }
 
     @Test
     @Order(17)
     @DisplayName("PUT v1/users/1 updates an User")
     void update_updatesAnUser_WhenSuccessful() throws Exception {
-        BDDMockito.when(userData.getUserList()).thenReturn(userList);
+        BDDMockito.when(userData.getUserStore()).thenReturn(userUtils.newUserStore(userList));
         Long userIdToUpdate = userList.getFirst().getId();
         String request = fileUtils.readSourceFile("users/put-request-user-200.json");
         mockMvc.perform(MockMvcRequestBuilders.put(URL + "/{id}", userIdToUpdate)
@@ -290,5 +295,133 @@ class UserControllerTest {
                 .andExpect(MockMvcResultMatchers.status().reason("User not found"));
     }
 
+    @Test
+    @Order(18)
+    @DisplayName("PUT v1/users/batch creates and updates users in one batch")
+    void upsertAll_createsAndUpdatesUsers_WhenSuccessful() throws Exception {
+        BDDMockito.when(userData.getUserStore()).thenReturn(userUtils.newUserStore(userList));
+        String request = fileUtils.readSourceFile("users/put-request-user-batch-200.json");
+        String response = fileUtils.readSourceFile("users/put-response-user-batch-200.json");
+        mockMvc.perform(MockMvcRequestBuilders.put(URL + "/batch")
+                        .content(request)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().json(response, JsonCompareMode.STRICT));
+    }
+
+    @Test
+    @Order(19)
+    @DisplayName("PUT v1/users/batch throws ResponseStatusException 409 and changes nothing when an email is already in use")
+    void upsertAll_throwsResponseStatusException_WhenEmailIsAlreadyInUse() throws Exception {
+        var userStore = userUtils.newUserStore(userList);
+        BDDMockito.when(userData.getUserStore()).thenReturn(userStore);
+        String request = fileUtils.readSourceFile("users/put-request-user-batch-409.json");
+        mockMvc.perform(MockMvcRequestBuilders.put(URL + "/batch")
+                        .content(request)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isConflict())
+                .andExpect(MockMvcResultMatchers.status().reason("Email already in use"));
+
+        Assertions.assertThat(userStore.findAll())
+                .hasSize(userList.size())
+                .extracting(User::getFirstName)
+                .containsExactly("Sunless", "Kai", "Nephis");
+    }
+
+    @Test
+    @Order(20)
+    @DisplayName("DELETE v1/users/batch deletes the users that exist")
+    void deleteAll_deletesExistingUsers_WhenSuccessful() throws Exception {
+        BDDMockito.when(userData.getUserStore()).thenReturn(userUtils.newUserStore(userList));
+        mockMvc.perform(MockMvcRequestBuilders.delete(URL + "/batch")
+                        .content("[1, 3, 99]")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().json("""
+                        {"1": "DELETED", "3": "DELETED", "99": "NOT_FOUND"}
+                        """, JsonCompareMode.STRICT));
+    }
+
+    @Test
+    @Order(21)
+    @DisplayName("GET v1/users/1 returns 304 without a body when If-None-Match matches the ETag")
+    void findById_returnsNotModified_WhenETagMatches() throws Exception {
+        BDDMockito.when(userData.getUserStore()).thenReturn(userUtils.newUserStore(userList));
+        Long id = userList.getFirst().getId();
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get(URL + "/{id}", id))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get(URL + "/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andExpect(MockMvcResultMatchers.content().string(""));
+    }
+
+    @Test
+    @Order(22)
+    @DisplayName("GET v1/users returns the users again when they changed after the ETag was issued")
+    void findAll_returnsUsers_WhenETagIsStale() throws Exception {
+        BDDMockito.when(userData.getUserStore()).thenReturn(userUtils.newUserStore(userList));
+        String eTag = mockMvc.perform(MockMvcRequestBuilders.get(URL))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get(URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(MockMvcResultMatchers.status().isNotModified());
+
+        mockMvc.perform(MockMvcRequestBuilders.delete(URL + "/{id}", userList.getFirst().getId()))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+
+        mockMvc.perform(MockMvcRequestBuilders.get(URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(userList.size() - 1));
+    }
+
+    @Test
+    @Order(23)
+    @DisplayName("GET v1/users/search?q=sunles shadwo returns the user despite the typos")
+    void search_ReturnsUser_WhenQueryHasTypos() throws Exception {
+        BDDMockito.when(userData.getUserStore()).thenReturn(userUtils.newUserStore(userList));
+        var response = fileUtils.readSourceFile("users/get-users-firstName-sunless-200.json");
+        mockMvc.perform(MockMvcRequestBuilders.get(URL + "/search").param("q", "sunles shadwo"))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.ETAG))
+                .andExpect(MockMvcResultMatchers.content().json(response, JsonCompareMode.STRICT));
+    }
 
-}
\ No newline at end of file
+    @Test
+    @Order(24)
+    @DisplayName("GET v1/users/search?q=weaver returns an empty list when no user is close enough")
+    void search_ReturnsEmptyList_WhenNoUserIsCloseEnough() throws Exception {
+        BDDMockito.when(userData.getUserStore()).thenReturn(userUtils.newUserStore(userList));
+        mockMvc.perform(MockMvcRequestBuilders.get(URL + "/search").param("q", "weaver"))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().json("[]", JsonCompareMode.STRICT));
+    }
+
+    @Test
+    @Order(25)
+    @DisplayName("POST v1/users returns the id as a string so ids above 2^53 keep every digit")
+    void save_ReturnsIdAsString_WhenIdExceedsJavaScriptPrecision() throws Exception {
+        String request = fileUtils.readSourceFile("users/post-request-user-200.json");
+        User userToSave = userUtils.newUserToCreate();
+        userToSave.setId((1L << 53) + 1);
+        BDDMockito.doReturn(userToSave).when(repository).save(ArgumentMatchers.any());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .post(URL)
+                        .content(request)
+                        .contentType(MediaType.APPLICATION_JSON)
+                )
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id").value("9007199254740993"));
+    }
+}
@@ -0,0 +1,133 @@
+package academy.devdojo.repository;
+
+import academy.devdojo.commons.UserUtils;
+import academy.devdojo.domain.User;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "database.url=jdbc:h2:mem:user-repository;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("jdbc")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class JdbcUserRepositoryTest {
+    @Autowired
+    private UserRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UserUtils userUtils = new UserUtils();
+
+    private List<User> userList;
+
+    @BeforeEach
+    void init() {
+        jdbcTemplate.update("DELETE FROM users");
+        userList = userUtils.newUserList();
+        userList.forEach(repository::save);
+    }
+
+    @Test
+    @DisplayName("findByName matches first or last name ignoring case")
+    @Order(1)
+    void findByName_ReturnsUsers_WhenFirstOrLastNameMatches() {
+        var users = repository.findByName("sunless", "ANVIL");
+
+        Assertions.assertThat(users).containsExactly(userList.getFirst(), userList.get(2));
+    }
+
+    @Test
+    @DisplayName("save throws UniqueConstraintViolationException when the email is in use")
+    @Order(2)
+    void save_ThrowsUniqueConstraintViolationException_WhenEmailIsInUse() {
+        var userToSave = userUtils.newUserToCreate();
+        userToSave.setEmail(userList.getFirst().getEmail().toUpperCase());
+
+        Assertions.assertThatException()
+                .isThrownBy(() -> repository.save(userToSave))
+                .isInstanceOf(UniqueConstraintViolationException.class);
+        Assertions.assertThat(repository.findById(userToSave.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("upsertAll creates and updates users in one batch")
+    @Order(3)
+    void upsertAll_CreatesAndUpdatesUsers_WhenSuccessful() {
+        var userToUpdate = User.builder().id(1L).firstName("Sunny").lastName("Shadow").email("sunny@example.com").build();
+        var userToCreate = userUtils.newUserToCreate();
+
+        var statuses = repository.upsertAll(List.of(userToUpdate, userToCreate));
+
+        Assertions.assertThat(statuses)
+                .containsExactly(Map.entry(1L, WriteStatus.UPDATED), Map.entry(99L, WriteStatus.CREATED));
+        Assertions.assertThat(repository.findById(1L)).hasValueSatisfying(user ->
+                Assertions.assertThat(user.getFirstName()).isEqualTo("Sunny"));
+        Assertions.assertThat(repository.findAll()).hasSize(userList.size() + 1);
+    }
+
+    @Test
+    @DisplayName("upsertAll writes nothing when an email is already in use")
+    @Order(4)
+    void upsertAll_WritesNothing_WhenEmailIsInUse() {
+        var userToCreate = userUtils.newUserToCreate();
+        var userWithTakenEmail = User.builder().id(100L).firstName("Cassie").lastName("Blind")
+                .email(userList.get(1).getEmail()).build();
+        var version = repository.version();
+
+        Assertions.assertThatException()
+                .isThrownBy(() -> repository.upsertAll(List.of(userToCreate, userWithTakenEmail)))
+                .isInstanceOf(UniqueConstraintViolationException.class);
+
+        Assertions.assertThat(repository.findAll()).containsExactlyElementsOf(userList);
+        Assertions.assertThat(repository.version()).isEqualTo(version);
+    }
+
+    @Test
+    @DisplayName("upsertAll lets users swap emails within one batch")
+    @Order(5)
+    void upsertAll_SwapsEmails_WhenBatchLeavesThemUnique() {
+        var first = userList.getFirst();
+        var second = userList.get(1);
+        var firstWithSecondEmail = User.builder().id(first.getId()).firstName(first.getFirstName())
+                .lastName(first.getLastName()).email(second.getEmail()).build();
+        var secondWithFirstEmail = User.builder().id(second.getId()).firstName(second.getFirstName())
+                .lastName(second.getLastName()).email(first.getEmail()).build();
+
+        var statuses = repository.upsertAll(List.of(firstWithSecondEmail, secondWithFirstEmail));
+
+        Assertions.assertThat(statuses).containsOnly(
+                Map.entry(first.getId(), WriteStatus.UPDATED), Map.entry(second.getId(), WriteStatus.UPDATED));
+        Assertions.assertThat(repository.findById(first.getId())).hasValueSatisfying(user ->
+                Assertions.assertThat(user.getEmail()).isEqualTo(second.getEmail()));
+        Assertions.assertThat(repository.findById(second.getId())).hasValueSatisfying(user ->
+                Assertions.assertThat(user.getEmail()).isEqualTo(first.getEmail()));
+    }
+
+    @Test
+    @DisplayName("deleteAllById reports which ids were found")
+    @Order(6)
+    void deleteAllById_ReportsStatuses_WhenSomeIdsAreMissing() {
+        var statuses = repository.deleteAllById(List.of(1L, 42L));
+
+        Assertions.assertThat(statuses)
+                .containsExactly(Map.entry(1L, WriteStatus.DELETED), Map.entry(42L, WriteStatus.NOT_FOUND));
+        Assertions.assertThat(repository.findAll()).containsExactly(userList.get(1), userList.get(2));
+    }
+
+    @Test
+    @DisplayName("search finds users by names that sound alike and email prefixes, fewest typos first")
+    @Order(7)
+    void search_ReturnsClosestUsers_WhenQueryHasTypos() {
+        Assertions.assertThat(repository.search("Nephys", 10)).containsExactly(userList.get(2));
+        Assertions.assertThat(repository.search("kainightingal", 10)).containsExactly(userList.get(1));
+        Assertions.assertThat(repository.search("shadwo", 10)).containsExactly(userList.getFirst());
+        Assertions.assertThat(repository.search("weaver", 10)).isEmpty();
+    }
+}
@@ -0,0 +1,141 @@
+package academy.devdojo.repository;
+
+import academy.devdojo.domain.User;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class TrigramIndexTest {
+    private static final String SEARCH_INDEX = "search";
+    private static final List<Function<User, String>> FIELDS = List.of(User::getFirstName, User::getLastName, User::getEmail);
+
+    private IndexedStore<User> store;
+    private TrigramIndex<User> index;
+
+    @BeforeEach
+    void init() {
+        store = new IndexedStore<>(User::getId);
+        index = new TrigramIndex<>(FIELDS);
+        store.addSearchIndex(SEARCH_INDEX, index);
+    }
+
+    @Test
+    @DisplayName("terms folds accents and case and splits emails into their parts")
+    @Order(1)
+    void terms_SplitsEmails_WhenTextHasPunctuation() {
+        Assertions.assertThat(TrigramIndex.terms("Zoë.Nightingale@Example.com"))
+                .containsExactly("zoe", "nightingale", "example", "com");
+        Assertions.assertThat(TrigramIndex.terms(" @. ")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("editDistance counts edits up to the maximum")
+    @Order(2)
+    void editDistance_CountsEdits_WhenWithinMaximum() {
+        Assertions.assertThat(TrigramIndex.editDistance("sunless", "sunless", 2)).isZero();
+        Assertions.assertThat(TrigramIndex.editDistance("sunles", "sunless", 2)).isEqualTo(1);
+        Assertions.assertThat(TrigramIndex.editDistance("shadwo", "shadow", 2)).isEqualTo(2);
+        Assertions.assertThat(TrigramIndex.editDistance("kitten", "sitting", 2)).isEqualTo(3);
+        Assertions.assertThat(TrigramIndex.editDistance("nephis", "anvil", 2)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("search ranks users by the typos needed to match every query term")
+    @Order(3)
+    void search_RanksByEditDistance_WhenQueryHasTypos() {
+        save(1L, "Sunless", "Shadow", "shadowslave@example.com");
+        save(2L, "Sunny", "Shade", "sunny@example.com");
+        save(3L, "Kai", "Nightingale", "kainightingale@example.com");
+        save(4L, "Sunles", "Shadow", "sunles@example.com");
+
+        Assertions.assertThat(store.search(SEARCH_INDEX, "Sunles Shadwo", 10))
+                .extracting(User::getId)
+                .containsExactly(4L, 1L);
+        Assertions.assertThat(store.search(SEARCH_INDEX, "nightengale", 10))
+                .extracting(User::getId)
+                .containsExactly(3L);
+        Assertions.assertThat(store.search(SEARCH_INDEX, "shadow", 1))
+                .extracting(User::getId)
+                .containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("search tolerates no typo in terms of up to two letters")
+    @Order(4)
+    void search_MatchesShortTermsExactly_WhenQueryTermIsShort() {
+        save(1L, "Kai", "Nightingale", "kai@example.com");
+
+        Assertions.assertThat(store.search(SEARCH_INDEX, "ka", 10)).isEmpty();
+        Assertions.assertThat(store.search(SEARCH_INDEX, "kay", 10))
+                .extracting(User::getId)
+                .containsExactly(1L);
+        Assertions.assertThat(index.search(null, 10)).isEmpty();
+        Assertions.assertThat(index.search("kai", 0)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("search follows updates and deletes and drops terms no user has anymore")
+    @Order(5)
+    void search_FollowsWrites_WhenUsersChange() {
+        save(1L, "Nephis", "Anvil", "nephis@example.com");
+        save(2L, "Cassie", "Blind", "cassie@example.com");
+
+        store.update(User.builder().id(1L).firstName("Changing").lastName("Star").email("star@example.com").build());
+        store.delete(User.builder().id(2L).build());
+
+        Assertions.assertThat(store.search(SEARCH_INDEX, "nephis", 10)).isEmpty();
+        Assertions.assertThat(store.search(SEARCH_INDEX, "changin star", 10))
+                .extracting(User::getId)
+                .containsExactly(1L);
+        Assertions.assertThat(index.termCount()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("concurrent saves and deletes leave only the surviving users searchable")
+    @Order(6)
+    void search_KeepsPostingsConsistent_WhenWrittenConcurrently() throws Exception {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var writes = LongStream.rangeClosed(1, 2_000)
+                    .mapToObj(id -> executor.submit(() -> {
+                        var user = User.builder().id(id).firstName(id % 2 == 0 ? "Even" : "Odd").lastName("User")
+                                .email("user" + id + "@example.com").build();
+                        store.save(user);
+                        if (id % 2 == 0) store.delete(user);
+                    }))
+                    .toList();
+            for (var write : writes) write.get();
+        }
+
+        Assertions.assertThat(store.search(SEARCH_INDEX, "even", 10)).isEmpty();
+        Assertions.assertThat(store.search(SEARCH_INDEX, "odd usr", 5)).hasSize(5);
+        Assertions.assertThat(index.termCount()).isEqualTo(1_000 + 4);
+    }
+
+    @Test
+    @DisplayName("search tolerates typos in terms longer than the last length bucket")
+    @Order(7)
+    void search_MatchesLongTerms_WhenQueryTermIsLongerThanBuckets() {
+        save(1L, "Kai", "Nightingale", "kai.nightingale.of.the.bastion.and.the.dream.realm@example.com");
+        save(2L, "Wolfeschlegelsteinhausenbergerdorffwelchevoralternwaren", "Senior", "senior@example.com");
+
+        Assertions.assertThat(store.search(SEARCH_INDEX, "Wolfeschlegelsteinhausenbergerdorffwelchevoralternwaren", 10))
+                .extracting(User::getId)
+                .containsExactly(2L);
+        Assertions.assertThat(store.search(SEARCH_INDEX, "Wolfeschlegelsteinhausenbergerdorfwelchevoralternwaren", 10))
+                .extracting(User::getId)
+                .containsExactly(2L);
+        Assertions.assertThat(store.search(SEARCH_INDEX, "Wolfeschlegelsteinhausenbergerdorffwelchevoralternwarne", 10))
+                .extracting(User::getId)
+                .containsExactly(2L);
+        Assertions.assertThat(store.search(SEARCH_INDEX, "abcdefghijklmnopqrstuvwxyzabcdefgh", 10)).isEmpty();
+    }
+
+    private void save(Long id, String firstName, String lastName, String email) {
+        store.save(User.builder().id(id).firstName(firstName).lastName(lastName).email(email).build());
+    }
+}
@@ -21,6 +21,8 @@ class UserHardCodedRepositoryTest {
 
     private List<User> userList;
 
+    private IndexedStore<User> userStore;
+
     @InjectMocks
     private UserHardCodedRepository repository;
 
@@ -33,13 +35,14 @@ class UserHardCodedRepositoryTest {
     @BeforeEach
     void init() {
         userList = userUtils.newUserList();
+        userStore = userUtils.newUserStore(userList);
     }
 
     @Test
     @DisplayName("findAll returns a list with all users when successful")
     @Order(1)
     void findAll_ReturnsAllUsers_WhenSuccessful() {
-        BDDMockito.when(userData.getUserList()).thenReturn(userList);
+        BDDMockito.when(userData.getUserStore()).thenReturn(userStore);
         List<User> users = repository.findAll();
         Assertions.assertThat(users)
                 .isNotNull()
@@ -53,7 +56,7 @@ class UserHardCodedRepositoryTest {
     @Order(2)
     void findByName_ReturnsFoundUsersInList_WhenBothNamesFound() {
         var expectedProducer = userList.getFirst();
-        BDDMockito.when(userData.getUserList()).thenReturn(userList);
+        BDDMockito.when(userData.getUserStore()).thenReturn(userStore);
         List<User> users = repository.findByName(expectedProducer.getFirstName(), expectedProducer.getLastName());
 
         Assertions.assertThat(users)
@@ -68,7 +71,7 @@ class UserHardCodedRepositoryTest {
     @Order(3)
     void findByName_ReturnsFoundUsersInList_WhenOnlyLastNameIsNull() {
         var expectedProducer = userList.getFirst();
-        BDDMockito.when(userData.getUserList()).thenReturn(userList);
+        BDDMockito.when(userData.getUserStore()).thenReturn(userStore);
         List<User> users = repository.findByName(null, expectedProducer.getLastName());
 
         Assertions.assertThat(users)
@@ -83,7 +86,7 @@ class UserHardCodedRepositoryTest {
     @Order(4)
     void findByName_ReturnsFoundUsersInList_WhenOnlyFirstNameIsNull() {
         var expectedProducer = userList.getFirst();
-        BDDMockito.when(userData.getUserList()).thenReturn(userList);
+        BDDMockito.when(userData.getUserStore()).thenReturn(userStore);
         List<User> users = repository.findByName(expectedProducer.getFirstName(), null);
 
         Assertions.assertThat(users)
@@ -97,7 +100,7 @@ class UserHardCodedRepositoryTest {
     @DisplayName("findByName returns empty list when both names are null")
     @Order(5)
     void findByName_ReturnsEmptyList_WhenBothNamesAreNull() {
-        BDDMockito.when(userData.getUserList()).thenReturn(userList);
+        BDDMockito.when(userData.getUserStore()).thenReturn(userStore);
         List<User> users = repository.findByName(null, null);
 
         Assertions.assertThat(users)
@@ -110,7 +113,7 @@ class UserHardCodedRepositoryTest {
     @Order(6)
     void findByEmail_ReturnsUser_WhenEmailExists() {
         var expectedProducer = userList.getFirst();
-        BDDMockito.when(userData.getUserList()).thenReturn(userList);
+        BDDMockito.when(userData.getUserStore()).thenReturn(userStore);
         List<User> users = repository.findByEmail(expectedProducer.getEmail());
 
         Assertions.assertThat(users)
@@ -124,7 +127,7 @@ class UserHardCodedRepositoryTest {
     @DisplayName("findByEmail returns empty list when email is not found ")
     @Order(7)
     void findByEmail_ReturnsEmptyList_WhenEmailIsNull() {
-        BDDMockito.when(userData.getUserList()).thenReturn(userList);
+        BDDMockito.when(userData.getUserStore()).thenReturn(userStore);
         List<User> users = repository.findByEmail(null);
 
         Assertions.assertThat(users)
@@ -137,7 +140,7 @@ class UserHardCodedRepositoryTest {
     @Order(8)
     void findById_ReturnsUser_WhenSuccessful() {
         var expectedUser = userList.getFirst();
-        BDDMockito.when(userData.getUserList()).thenReturn(userList);
+        BDDMockito.when(userData.getUserStore()).thenReturn(userStore);
         var foundUser = repository.findById(expectedUser.getId());
         log.info(foundUser);
         Assertions.assertThat(foundUser)
@@ -151,7 +154,7 @@ class UserHardCodedRepositoryTest {
     @Order(9)
     void save_CreateAnUser_WhenSuccessful() {
         var userToSave = userUtils.newUserToCreate();
-        BDDMockito.when(userData.getUserList()).thenReturn(userList);
+        BDDMockito.when(userData.getUserStore()).thenReturn(userStore);
         User savedUser = repository.save(userToSave);
         log.info(savedUser);
 
@@ -172,12 +175,12 @@ class UserHardCodedRepositoryTest {
     @Order(9)
     void delete_removesAnUser_WhenSuccessful() {
         var userToDelete = userList.getFirst();
-        BDDMockito.when(userData.getUserList()).thenReturn(userList);
+        BDDMockito.when(userData.getUserStore()).thenReturn(userStore);
         repository.delete(userToDelete);
         Assertions.assertThatNoException()
                 .isThrownBy(() -> repository.delete(userToDelete));
 
-        Assertions.assertThat(this.userList)
+        Assertions.assertThat(this.userStore.findAll())
                 .isNotEmpty()
                 .doesNotContain(userToDelete);
 
@@ -192,12 +195,12 @@ class UserHardCodedRepositoryTest {
     @DisplayName("update update an user")
     @Order(10)
     void update_UpdateAnUser_WhenSuccessful() {
-        BDDMockito.when(userData.getUserList()).thenReturn(userList);
+        BDDMockito.when(userData.getUserStore()).thenReturn(userStore);
         var userToUpdate = userList.getFirst();
         userToUpdate.setFirstName("Sunny");
         repository.update(userToUpdate);
 
-        Assertions.assertThat(this.userList)
+        Assertions.assertThat(this.userStore.findAll())
                 .contains(userToUpdate);
 
         Optional<User> userUpdateOptional = repository.findById(userToUpdate.getId());
@@ -207,4 +210,52 @@ class UserHardCodedRepositoryTest {
         Assertions.assertThat(userUpdateOptional.get().getFirstName())
                 .isEqualTo(userToUpdate.getFirstName());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("findByName returns users matching either firstName or lastName")
+    @Order(11)
+    void findByName_ReturnsUnionOfMatches_WhenNamesBelongToDifferentUsers() {
+        BDDMockito.when(userData.getUserStore()).thenReturn(userStore);
+        var firstUser = userList.getFirst();
+        var lastUser = userList.getLast();
+
+        List<User> users = repository.findByName(firstUser.getFirstName().toLowerCase(), lastUser.getLastName());
+
+        Assertions.assertThat(users)
+                .containsExactly(firstUser, lastUser);
+    }
+
+    @Test
+    @DisplayName("save throws UniqueConstraintViolationException when email is already in use")
+    @Order(12)
+    void save_ThrowsUniqueConstraintViolationException_WhenEmailIsAlreadyInUse() {
+        BDDMockito.when(userData.getUserStore()).thenReturn(userStore);
+        var userToSave = userUtils.newUserToCreate();
+        userToSave.setEmail(userList.getFirst().getEmail().toUpperCase());
+
+        Assertions.assertThatExceptionOfType(UniqueConstraintViolationException.class)
+                .isThrownBy(() -> repository.save(userToSave));
+
+        Assertions.assertThat(repository.findById(userToSave.getId())).isEmpty();
+        Assertions.assertThat(repository.findByEmail(userToSave.getEmail()))
+                .containsExactly(userList.getFirst());
+    }
+
+    @Test
+    @DisplayName("update keeps the old email indexed when the new email is already in use")
+    @Order(13)
+    void update_KeepsOldEmail_WhenNewEmailIsAlreadyInUse() {
+        BDDMockito.when(userData.getUserStore()).thenReturn(userStore);
+        var firstUser = userList.getFirst();
+        var userToUpdate = User.builder().id(firstUser.getId()).firstName(firstUser.getFirstName())
+                .lastName(firstUser.getLastName()).email(userList.getLast().getEmail()).build();
+
+        Assertions.assertThatExceptionOfType(UniqueConstraintViolationException.class)
+                .isThrownBy(() -> repository.update(userToUpdate));
+
+        Assertions.assertThat(repository.findByEmail(firstUser.getEmail()))
+                .containsExactly(firstUser);
+        Assertions.assertThat(repository.findByEmail(userList.getLast().getEmail()))
+                .containsExactly(userList.getLast());
+    }
+}
@@ -2,7 +2,10 @@ package academy.devdojo.service;
 
 import academy.devdojo.commons.UserUtils;
 import academy.devdojo.domain.User;
+import academy.devdojo.repository.UniqueConstraintViolationException;
+import academy.devdojo.repository.UserData;
 import academy.devdojo.repository.UserHardCodedRepository;
+import academy.devdojo.repository.WriteStatus;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,6 +18,7 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @ExtendWith(MockitoExtension.class)
@@ -194,6 +198,19 @@ class UserServiceTest {
                 .hasNoNullFieldsOrProperties();
     }
 
+    @Test
+    @Order(12)
+    @DisplayName("save throws ResponseStatusException when email is already in use")
+    void save_ThrowsResponseStatusException_WhenEmailIsAlreadyInUse() {
+        var userToCreate = userUtils.newUserToCreate();
+        BDDMockito.when(repository.save(userToCreate))
+                .thenThrow(new UniqueConstraintViolationException(UserData.EMAIL_INDEX, userToCreate.getEmail()));
+        Assertions.assertThatException()
+                .isThrownBy(() -> service.save(userToCreate))
+                .isInstanceOf(ResponseStatusException.class)
+                .withMessageContaining("409");
+    }
+
     @Test
     @Order(13)
     @DisplayName("delete removes an user")
@@ -224,10 +241,8 @@ class UserServiceTest {
     @DisplayName("update updates an User")
     void update_UpdateUser_WhenSuccessful() {
         var expectedUserToUpdate = userList.getFirst();
-        BDDMockito.when(repository.findById(ArgumentMatchers.anyLong())).thenReturn(Optional.of(expectedUserToUpdate));
         expectedUserToUpdate.setFirstName("Sunny");
-        BDDMockito.doNothing().when(repository).update(expectedUserToUpdate);
-        service.update(expectedUserToUpdate);
+        BDDMockito.when(repository.update(expectedUserToUpdate)).thenReturn(true);
         Assertions.assertThatNoException()
                 .isThrownBy(() -> service.update(expectedUserToUpdate));
     }
@@ -237,11 +252,62 @@ class UserServiceTest {
     @DisplayName("update throws ResponseStatusException when user is not found")
     void update_ThrowsResponseStatusException_WhenUserNotFound() {
         var expectedUserToUpdate = userList.getFirst();
-        BDDMockito.when(repository.findById(ArgumentMatchers.anyLong())).thenReturn(Optional.empty());
+        BDDMockito.when(repository.update(expectedUserToUpdate)).thenReturn(false);
 
         Assertions.assertThatException()
                 .isThrownBy(() -> service.update(expectedUserToUpdate))
-                .isInstanceOf(ResponseStatusException.class);
+                .isInstanceOf(ResponseStatusException.class)
+                .withMessageContaining("404");
+    }
+
+    @Test
+    @Order(17)
+    @DisplayName("upsertAll returns the status of every id")
+    void upsertAll_ReturnsStatusPerId_WhenSuccessful() {
+        var usersToUpsert = List.of(userList.getFirst(), userUtils.newUserToCreate());
+        var expectedStatuses = Map.of(1L, WriteStatus.UPDATED, 99L, WriteStatus.CREATED);
+        BDDMockito.when(repository.upsertAll(usersToUpsert)).thenReturn(expectedStatuses);
+
+        Assertions.assertThat(service.upsertAll(usersToUpsert)).isEqualTo(expectedStatuses);
+    }
+
+    @Test
+    @Order(18)
+    @DisplayName("upsertAll throws ResponseStatusException when a user has no id")
+    void upsertAll_ThrowsResponseStatusException_WhenUserHasNoId() {
+        var userWithoutId = userUtils.newUserToCreate();
+        userWithoutId.setId(null);
+
+        Assertions.assertThatException()
+                .isThrownBy(() -> service.upsertAll(List.of(userList.getFirst(), userWithoutId)))
+                .isInstanceOf(ResponseStatusException.class)
+                .withMessageContaining("400");
+        BDDMockito.verifyNoInteractions(repository);
+    }
+
+    @Test
+    @Order(19)
+    @DisplayName("upsertAll throws ResponseStatusException when an email is already in use")
+    void upsertAll_ThrowsResponseStatusException_WhenEmailIsAlreadyInUse() {
+        var usersToUpsert = List.of(userUtils.newUserToCreate());
+        BDDMockito.when(repository.upsertAll(usersToUpsert))
+                .thenThrow(new UniqueConstraintViolationException(UserData.EMAIL_INDEX, usersToUpsert.getFirst().getEmail()));
+
+        Assertions.assertThatException()
+                .isThrownBy(() -> service.upsertAll(usersToUpsert))
+                .isInstanceOf(ResponseStatusException.class)
+                .withMessageContaining("409");
+    }
+
+    @Test
+    @Order(20)
+    @DisplayName("deleteAllById returns the status of every id")
+    void deleteAllById_ReturnsStatusPerId_WhenSuccessful() {
+        var ids = List.of(1L, 42L);
+        var expectedStatuses = Map.of(1L, WriteStatus.DELETED, 42L, WriteStatus.NOT_FOUND);
+        BDDMockito.when(repository.deleteAllById(ids)).thenReturn(expectedStatuses);
+
+        Assertions.assertThat(service.deleteAllById(ids)).isEqualTo(expectedStatuses);
     }
 
 }
\ No newline at end of file